@@ -0,0 +1,217 @@
+package io.github.nucleuspowered.nucleus.annotationprocessor;
+
+import com.google.auto.service.AutoService;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a <code>DataModuleBinding</code> for each data module that has <code>DataKey</code> fields, so that the
+ * fields can be loaded and saved without reflection.
+ *
+ * <p>The data key annotation lives in the main project, so it is referred to by name. Modules that cannot be bound
+ * (nested or abstract classes, those with private or final data key fields, or those that override how values are
+ * read or written) are skipped, and will be bound by reflection at runtime.</p>
+ */
+@AutoService(Processor.class)
+@SupportedSourceVersion(SourceVersion.RELEASE_8)
+@SupportedAnnotationTypes(DataKeyProcessor.DATA_KEY)
+public class DataKeyProcessor extends AbstractProcessor {
+
+    static final String DATA_KEY = "io.github.nucleuspowered.nucleus.dataservices.modular.DataKey";
+    private static final String MODULAR_PACKAGE = "io.github.nucleuspowered.nucleus.dataservices.modular";
+    private static final String DATA_MODULE = MODULAR_PACKAGE + ".DataModule";
+    private static final String SUFFIX = "_Binding";
+
+    // A generated binding goes straight to the type serializers, so modules that override these are left to reflection.
+    private static final List<String> SERIALIZATION_OVERRIDES = Arrays.asList("getValue", "saveNode");
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement dataKey = this.processingEnv.getElementUtils().getTypeElement(DATA_KEY);
+        if (dataKey == null) {
+            return false;
+        }
+
+        // Group the fields by the module they are in, keeping the order they are declared in.
+        Map<TypeElement, List<VariableElement>> modules = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(dataKey)) {
+            if (element.getKind() == ElementKind.FIELD && element.getEnclosingElement() instanceof TypeElement) {
+                modules.computeIfAbsent((TypeElement) element.getEnclosingElement(), x -> new ArrayList<>()).add((VariableElement) element);
+            }
+        }
+
+        for (Map.Entry<TypeElement, List<VariableElement>> entry : modules.entrySet()) {
+            if (canBind(entry.getKey(), entry.getValue())) {
+                write(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return false;
+    }
+
+    private boolean canBind(TypeElement module, List<VariableElement> fields) {
+        if (module.getNestingKind() != NestingKind.TOP_LEVEL || module.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+
+        if (overridesSerialization(module)) {
+            return false;
+        }
+
+        for (VariableElement field : fields) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Data key fields must not be private, final or static to be bound without reflection.", field);
+                return false;
+            }
+
+            if (field.asType().getKind() == TypeKind.TYPEVAR || getPath(field) == null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean overridesSerialization(TypeElement module) {
+        TypeElement type = module;
+        while (type != null && !type.getQualifiedName().contentEquals(DATA_MODULE)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (SERIALIZATION_OVERRIDES.contains(method.getSimpleName().toString())) {
+                    return true;
+                }
+            }
+
+            TypeMirror superclass = type.getSuperclass();
+            type = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        return false;
+    }
+
+    @Nullable
+    private String getPath(VariableElement field) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(DATA_KEY)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : mirror.getElementValues().entrySet()) {
+                    if (value.getKey().getSimpleName().contentEquals("value")) {
+                        return String.valueOf(value.getValue().getValue());
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private void write(TypeElement module, List<VariableElement> fields) {
+        PackageElement pe = this.processingEnv.getElementUtils().getPackageOf(module);
+        String packageName = pe.getQualifiedName().toString();
+        String moduleName = module.getSimpleName().toString();
+        String bindingName = moduleName + SUFFIX;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(packageName).append(";\n\n")
+                .append("import com.google.common.reflect.TypeToken;\n")
+                .append("import ").append(MODULAR_PACKAGE).append(".BoundDataKey;\n")
+                .append("import ").append(MODULAR_PACKAGE).append(".DataModuleBinding;\n")
+                .append("import ninja.leaping.configurate.ConfigurationNode;\n\n")
+                .append("/**\n * Generated by the Nucleus annotation processor from the data keys in {@link ").append(moduleName)
+                .append("}. Do not edit.\n */\n")
+                .append("public final class ").append(bindingName).append(" implements DataModuleBinding<").append(moduleName).append("> {\n\n");
+
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            String boxed = getBoxedTypeName(field.asType());
+            sb.append("    private static final BoundDataKey<").append(boxed).append("> key").append(i)
+                    .append(" =\n            new BoundDataKey<>(\"").append(escape(getPath(field))).append("\", ")
+                    .append(getTypeToken(field.asType(), boxed)).append(");\n");
+        }
+
+        sb.append("\n    @Override public void load(").append(moduleName).append(" module, ConfigurationNode node) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            if (i > 0) {
+                sb.append("\n");
+            }
+
+            sb.append("        ").append(getBoxedTypeName(field.asType())).append(" value").append(i).append(" = key").append(i)
+                    .append(".load(node);\n")
+                    .append("        if (value").append(i).append(" != null) {\n")
+                    .append("            module.").append(field.getSimpleName()).append(" = value").append(i).append(";\n")
+                    .append("        }\n");
+        }
+
+        sb.append("    }\n\n    @Override public void save(").append(moduleName).append(" module, ConfigurationNode node) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            sb.append("        key").append(i).append(".save(node, module.").append(fields.get(i).getSimpleName()).append(");\n");
+        }
+
+        sb.append("    }\n}\n");
+
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(packageName + "." + bindingName, module);
+            try (Writer writer = file.openWriter()) {
+                writer.write(sb.toString());
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + bindingName + ": " + e.getMessage(), module);
+        }
+    }
+
+    private String getBoxedTypeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return this.processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+
+        return type.toString();
+    }
+
+    private String getTypeToken(TypeMirror type, String boxed) {
+        if (type.getKind().isPrimitive()) {
+            // Match what reflection would give for the field.
+            return "TypeToken.of(" + type.toString() + ".class)";
+        } else if (type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).getTypeArguments().isEmpty()) {
+            return "TypeToken.of(" + boxed + ".class)";
+        }
+
+        return "new TypeToken<" + boxed + ">() {}";
+    }
+
+    private static String escape(@Nullable String path) {
+        return path == null ? "" : path.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -244,5 +244,49 @@ public interface NucleusMessageTokenService {
          */
         @Nonnull
         Optional<Text> parse(String tokenInput, CommandSource source, Map<String, Object> variables);
+
+        /**
+         * Gets how often the value of the given token can change, so that the token service can reuse values rather
+         * than calling {@link #parse(String, CommandSource, Map)} every time.
+         *
+         * <p>Values are only ever reused for tokens that have been given no variables. By default, tokens are
+         * {@link Volatility#ALWAYS} volatile, and so values are never reused.</p>
+         *
+         * @param tokenInput The identifier for the token.
+         * @return The {@link Volatility}.
+         */
+        default Volatility getVolatility(String tokenInput) {
+            return Volatility.ALWAYS;
+        }
+    }
+
+    /**
+     * How often the value of a token can change.
+     */
+    enum Volatility {
+
+        /**
+         * The value never changes, and does not depend on the {@link CommandSource}.
+         */
+        CONSTANT,
+
+        /**
+         * The value does not depend on the {@link CommandSource}, and can change from one server tick to the next.
+         */
+        TICK,
+
+        /**
+         * The value depends on the {@link CommandSource}, and can be reused for that source until the token service
+         * decides it should be refreshed (for example, after a reload, or when a player leaves the server).
+         *
+         * <p>There is no event for changes to a source's permissions or options, so a value that depends on them
+         * may be out of date for a few seconds after they change.</p>
+         */
+        PLAYER,
+
+        /**
+         * The value can change every time the token is used.
+         */
+        ALWAYS
     }
 }
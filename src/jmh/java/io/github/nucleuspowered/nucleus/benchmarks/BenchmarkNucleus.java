@@ -0,0 +1,273 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks;
+
+import io.github.nucleuspowered.nucleus.NameUtil;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
+import io.github.nucleuspowered.nucleus.config.CommandsConfig;
+import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
+import io.github.nucleuspowered.nucleus.dataservices.KitService;
+import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
+import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
+import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
+import io.github.nucleuspowered.nucleus.internal.EconHelper;
+import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
+import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
+import io.github.nucleuspowered.nucleus.internal.TextFileController;
+import io.github.nucleuspowered.nucleus.internal.docgen.DocGenCache;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.qsml.NucleusConfigAdapter;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownService;
+import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
+import io.github.nucleuspowered.nucleus.internal.teleport.NucleusTeleportHandler;
+import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
+import io.github.nucleuspowered.nucleus.modules.core.config.WarmupConfig;
+import org.slf4j.Logger;
+import org.spongepowered.api.asset.Asset;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.text.Text;
+import uk.co.drnaylor.quickstart.modulecontainers.DiscoveryModuleContainer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Nucleus} that provides only what the chat and template paths need, so that they can be benchmarked without
+ * a server.
+ */
+final class BenchmarkNucleus extends Nucleus {
+
+    private final MessageProvider messageProvider;
+    private final PermissionRegistry permissionRegistry = new PermissionRegistry();
+    private final TextParsingUtils textParsingUtils;
+    @Nullable private NucleusMessageTokenService messageTokenService;
+
+    BenchmarkNucleus(MessageProvider messageProvider, TextParsingUtils textParsingUtils) {
+        this.messageProvider = messageProvider;
+        this.textParsingUtils = textParsingUtils;
+    }
+
+    void setMessageTokenService(NucleusMessageTokenService messageTokenService) {
+        this.messageTokenService = messageTokenService;
+    }
+
+    @Override
+    public void addX(List<Text> messages, int spacing) {
+        // NOOP
+    }
+
+    @Override
+    public void saveData() {
+
+    }
+
+    @Override
+    public Logger getLogger() {
+        return null;
+    }
+
+    @Override public Path getConfigDirPath() {
+        return null;
+    }
+
+    @Override public Path getDataPath() {
+        return null;
+    }
+
+    @Override public Supplier<Path> getDataPathSupplier() {
+        return null;
+    }
+
+    @Override
+    public UserDataManager getUserDataManager() {
+        return null;
+    }
+
+    @Override
+    public WorldDataManager getWorldDataManager() {
+        return null;
+    }
+
+    @Override public UserCacheService getUserCacheService() {
+        return null;
+    }
+
+    @Override
+    public void saveSystemConfig() throws IOException {
+
+    }
+
+    @Override
+    public boolean reload() {
+        return true;
+    }
+
+    @Override public boolean reloadMessages() {
+        return true;
+    }
+
+    @Override
+    public WarmupManager getWarmupManager() {
+        return null;
+    }
+
+    @Override
+    public CooldownService getCooldownService() {
+        return null;
+    }
+
+    @Override public WarmupConfig getWarmupConfig() {
+        return null;
+    }
+
+    @Override
+    public EconHelper getEconHelper() {
+        return null;
+    }
+
+    @Override
+    public PermissionRegistry getPermissionRegistry() {
+        return permissionRegistry;
+    }
+
+    @Override
+    public DiscoveryModuleContainer getModuleContainer() {
+        return null;
+    }
+
+    @Override public boolean isModuleLoaded(String moduleId) {
+        return true;
+    }
+
+    @Override public <T extends NucleusConfigAdapter<?>> Optional<T> getConfigAdapter(String id, Class<T> configAdapterClass) {
+        return Optional.empty();
+    }
+
+    @Override
+    public InternalServiceManager getInternalServiceManager() {
+        return null;
+    }
+
+    @Override public Optional<Instant> getGameStartedTime() {
+        return Optional.empty();
+    }
+
+    @Override
+    public ModularGeneralService getGeneralService() {
+        return null;
+    }
+
+    @Override
+    public ItemDataService getItemDataService() {
+        return null;
+    }
+
+    @Override
+    public NameUtil getNameUtil() {
+        return null;
+    }
+
+    @Override
+    public TextParsingUtils getTextParsingUtils() {
+        return textParsingUtils;
+    }
+
+    @Override
+    public MessageProvider getMessageProvider() {
+        return messageProvider;
+    }
+
+    @Override
+    public MessageProvider getCommandMessageProvider() {
+        return null;
+    }
+
+    @Override public int traceUserCreations() {
+        return 0;
+    }
+
+    @Override public Optional<TextFileController> getTextFileController(String getController) {
+        return Optional.empty();
+    }
+
+    @Override public void addTextFileController(String id, Asset asset, Path file) throws IOException {
+
+    }
+
+    @Override public void registerReloadable(Reloadable reloadable) {
+
+    }
+
+    @Override public Optional<DocGenCache> getDocGenCache() {
+        return Optional.empty();
+    }
+
+    @Override
+    public NucleusTeleportHandler getTeleportHandler() {
+        return null;
+    }
+
+    @Override public NucleusMessageTokenService getMessageTokenService() {
+        return messageTokenService;
+    }
+
+    @Override public boolean isDebugMode() {
+        return false;
+    }
+
+    @Override public void printStackTraceIfDebugMode(Throwable throwable) {
+
+    }
+
+    @Override public KitService getKitService() {
+        return null;
+    }
+
+    @Override public NameBanService getNameBanService() {
+        return null;
+    }
+
+    @Override public CommandsConfig getCommandsConfig() {
+        return null;
+    }
+
+    @Override public PluginContainer getPluginContainer() {
+        return null;
+    }
+
+    @Override public boolean isSessionDebug() {
+        return false;
+    }
+
+    @Override public void setSessionDebug(boolean debug) {
+        // NOOP
+    }
+
+    @Override protected void registerPermissions() {
+
+    }
+
+    @Override public boolean isServer() {
+        return true;
+    }
+
+    @Override public void addStartupMessage(Text message) {
+        // NOOP
+    }
+
+    @Override public boolean isPrintingSavesAndLoads() {
+        return false;
+    }
+}
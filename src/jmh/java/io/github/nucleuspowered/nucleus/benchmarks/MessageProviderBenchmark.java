@@ -0,0 +1,51 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.text.Text;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks getting a message from the message bundle, with and without arguments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageProviderBenchmark {
+
+    private MessageProvider messageProvider;
+
+    @Setup
+    public void setup() throws Exception {
+        Stubs.setup();
+        this.messageProvider = Nucleus.getNucleus().getMessageProvider();
+    }
+
+    @Benchmark
+    public Text getTextMessageWithFormat() {
+        return this.messageProvider.getTextMessageWithFormat("command.staffchat.on");
+    }
+
+    @Benchmark
+    public Text getTextMessageWithFormatAndArgs() {
+        return this.messageProvider.getTextMessageWithFormat("command.commandspy.success", "enabled");
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.internal.messages.ResourceMessageProvider;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTokenServiceImpl;
+import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
+import org.mockito.Mockito;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.text.LiteralText;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.serializer.FormattingCodeTextSerializer;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Sets up just enough of Nucleus and Sponge to run the chat and template paths outside of a server.
+ *
+ * <p>Sponge's text serialisers are only available on a server, so anything that is benchmarked is handed
+ * {@link #serializer()} instead, which does the least it can. The benchmarks therefore measure the work that Nucleus
+ * does, not the work that Sponge does.</p>
+ */
+public final class Stubs {
+
+    private static final FormattingCodeTextSerializer serializer = new MinimalSerializer();
+    private static boolean isSetup = false;
+
+    private Stubs() {}
+
+    public static synchronized void setup() throws Exception {
+        if (isSetup) {
+            return;
+        }
+
+        BenchmarkNucleus nucleus = new BenchmarkNucleus(new ResourceMessageProvider(ResourceMessageProvider.messagesBundle) {
+            @Override protected FormattingCodeTextSerializer getSerializer() {
+                return serializer;
+            }
+        }, new TextParsingUtils(null) {
+            @Override protected FormattingCodeTextSerializer getSerializer() {
+                return serializer;
+            }
+        });
+
+        Method m = Nucleus.class.getDeclaredMethod("setNucleus", Nucleus.class);
+        m.setAccessible(true);
+        m.invoke(null, nucleus);
+
+        // The token service is real, the plugin is only asked for its container when the service is created.
+        PluginContainer container = Mockito.mock(PluginContainer.class);
+        Mockito.when(container.getId()).thenReturn("nucleus");
+        NucleusPlugin plugin = Mockito.mock(NucleusPlugin.class);
+        Mockito.when(plugin.getPluginContainer()).thenReturn(container);
+        nucleus.setMessageTokenService(new NucleusTokenServiceImpl(plugin));
+        isSetup = true;
+    }
+
+    /**
+     * Gets the serialiser to use in place of Sponge's formatting code serialiser.
+     *
+     * @return The {@link FormattingCodeTextSerializer}.
+     */
+    public static FormattingCodeTextSerializer serializer() {
+        return serializer;
+    }
+
+    /**
+     * Creates a {@link CommandSource} with a fixed set of permissions and options. Anything else that is asked of it
+     * throws an {@link UnsupportedOperationException}.
+     *
+     * @param name The name and identifier of the source.
+     * @param permissions The permissions the source has.
+     * @param options The options the source has.
+     * @return The {@link CommandSource}.
+     */
+    public static CommandSource source(String name, Set<String> permissions, Map<String, String> options) {
+        Set<String> p = ImmutableSet.copyOf(permissions);
+        Map<String, String> o = ImmutableMap.copyOf(options);
+        return (CommandSource) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[] { CommandSource.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                case "getIdentifier":
+                    return name;
+                case "hasPermission":
+                    return p.contains((String) args[args.length - 1]);
+                case "getOption":
+                    return Optional.ofNullable(o.get((String) args[args.length - 1]));
+                case "getActiveContexts":
+                    return ImmutableSet.of();
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return name;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static final class MinimalSerializer implements FormattingCodeTextSerializer {
+
+        @Override public char getCharacter() {
+            return '&';
+        }
+
+        @Override public String stripCodes(String text) {
+            return text;
+        }
+
+        @Override public String replaceCodes(String text, char to) {
+            return text;
+        }
+
+        @Override public String serialize(Text text) {
+            StringBuilder sb = new StringBuilder();
+            text.withChildren().forEach(x -> {
+                if (x instanceof LiteralText) {
+                    sb.append(((LiteralText) x).getContent());
+                }
+            });
+            return sb.toString();
+        }
+
+        @Override public Text deserialize(String input) {
+            return Text.of(input);
+        }
+
+        @Override public String getId() {
+            return "nucleus:benchmark";
+        }
+
+        @Override public String getName() {
+            return "Benchmark";
+        }
+    }
+}
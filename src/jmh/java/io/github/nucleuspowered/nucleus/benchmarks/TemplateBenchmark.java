@@ -0,0 +1,69 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateFactory;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTokenServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.text.Text;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks filling in a prefix and suffix template for a source, both when the token values are already known and
+ * when they have to be worked out again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+
+    @Param({
+            "{{prefix}} {{subject}}{{suffix}}",
+            "&7[&f{{prefix}}&7] &r{{subject}} &7{{suffix}}&r: "
+    })
+    public String template;
+
+    private NucleusTextTemplateImpl textTemplate;
+    private NucleusTokenServiceImpl tokenService;
+    private CommandSource source;
+
+    @Setup
+    public void setup() throws Exception {
+        Stubs.setup();
+        this.tokenService = (NucleusTokenServiceImpl) Nucleus.getNucleus().getMessageTokenService();
+        this.textTemplate = NucleusTextTemplateFactory.createFromAmpersandString(this.template);
+        this.source = Stubs.source("player", ImmutableSet.of(), ImmutableMap.of("prefix", "&c[Admin]", "suffix", "&7*"));
+    }
+
+    @Benchmark
+    public Text getForCommandSource() {
+        return this.textTemplate.getForCommandSource(this.source);
+    }
+
+    @Benchmark
+    public Text getForCommandSourceInvalidated() {
+        this.tokenService.invalidate(this.source);
+        return this.textTemplate.getForCommandSource(this.source);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.listeners;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.benchmarks.Stubs;
+import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.format.TextStyles;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the steps that a chat message goes through in the chat listener.
+ *
+ * <p>The {@link ChatMessageFormatter} is set up with the same permissions as the chat listener's. A staff member may
+ * use every code and URLs, a user may only use colours.</p>
+ *
+ * <p>{@link ChatListener} itself can't be loaded outside of a server, so the permissions are rebuilt here. Turning the
+ * chat colour and style options into Sponge's types needs the game registry, so that step is left out.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatBenchmark {
+
+    private static final String prefix = "nucleus.chat.";
+    private static final String colours = "0123456789abcdef";
+    private static final String[] colourNames = { "black", "dark_blue", "dark_green", "dark_aqua", "dark_red", "dark_purple",
+            "gold", "gray", "dark_gray", "blue", "green", "aqua", "red", "light_purple", "yellow", "white" };
+    private static final String styles = "lmnor";
+    private static final String[] styleNames = { "bold", "strikethrough", "underline", "italic", "reset" };
+
+    @Param({
+            "hello there, how is everyone doing today?",
+            "&chello &lthere&r, how is &aeveryone &kdoing&r today?",
+            "hello, please visit &khttp://nucleuspowered.org/docs &rtoday, or https://github.com/NucleusPowered"
+    })
+    public String message;
+
+    private ChatMessageFormatter formatter;
+    private ChatTemplateConfig template;
+    private CommandSource staff;
+    private CommandSource user;
+    private Text rawMessage;
+
+    @Setup
+    public void setup() throws Exception {
+        Stubs.setup();
+        Map<Character, String[]> t = new HashMap<>();
+        ImmutableSet.Builder<String> staffPermissions = ImmutableSet.builder();
+        ImmutableSet.Builder<String> userPermissions = ImmutableSet.builder();
+        for (int i = 0; i < colourNames.length; i++) {
+            t.put(colours.charAt(i), new String[] { prefix + "colour." + colourNames[i], prefix + "color." + colourNames[i] });
+            staffPermissions.add(prefix + "colour." + colourNames[i]);
+            userPermissions.add(prefix + "color." + colourNames[i]);
+        }
+
+        for (int i = 0; i < styleNames.length; i++) {
+            t.put(styles.charAt(i), new String[] { prefix + "style." + styleNames[i] });
+            staffPermissions.add(prefix + "style." + styleNames[i]);
+        }
+
+        t.put('k', new String[] { prefix + "magic" });
+        this.formatter = new ChatMessageFormatter(t, Stubs.serializer(), prefix + "url", x -> TextColors.NONE, x -> TextStyles.NONE);
+        this.template = new ChatTemplateConfig();
+
+        staffPermissions.add(prefix + "magic", prefix + "url");
+        this.staff = Stubs.source("staff", staffPermissions.build(), ImmutableMap.of("chatcolour", "a"));
+        this.user = Stubs.source("user", userPermissions.build(), ImmutableMap.of());
+        this.rawMessage = Text.of(this.message);
+    }
+
+    @Benchmark
+    public String stripPermissionlessStaff() {
+        return this.formatter.stripPermissionless(this.staff, this.message);
+    }
+
+    @Benchmark
+    public String stripPermissionlessUser() {
+        return this.formatter.stripPermissionless(this.user, this.message);
+    }
+
+    @Benchmark
+    public Text addUrls() {
+        return TextParsingUtils.addUrls(this.message, Stubs.serializer());
+    }
+
+    @Benchmark
+    public Text useMessageStaff() {
+        return this.formatter.useMessage(this.staff, this.rawMessage, false, this.template);
+    }
+
+    @Benchmark
+    public Text useMessageUser() {
+        return this.formatter.useMessage(this.user, this.rawMessage, false, this.template);
+    }
+}
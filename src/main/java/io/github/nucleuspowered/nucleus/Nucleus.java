@@ -21,6 +21,7 @@ import io.github.nucleuspowered.nucleus.internal.docgen.DocGenCache;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.qsml.NucleusConfigAdapter;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownService;
 import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.internal.teleport.NucleusTeleportHandler;
 import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
@@ -79,6 +80,8 @@ public abstract class Nucleus {
 
     public abstract WarmupManager getWarmupManager();
 
+    public abstract CooldownService getCooldownService();
+
     public abstract WarmupConfig getWarmupConfig();
 
     public abstract EconHelper getEconHelper();
@@ -27,6 +27,7 @@ import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
 import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.WriteBehindSaveQueue;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
 import io.github.nucleuspowered.nucleus.internal.CatalogTypeFinalStaticProcessor;
@@ -51,6 +52,7 @@ import io.github.nucleuspowered.nucleus.internal.qsml.NucleusConfigAdapter;
 import io.github.nucleuspowered.nucleus.internal.qsml.NucleusLoggerProxy;
 import io.github.nucleuspowered.nucleus.internal.qsml.QuickStartModuleConstructor;
 import io.github.nucleuspowered.nucleus.internal.qsml.event.BaseModuleEvent;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownService;
 import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.internal.teleport.NucleusTeleportHandler;
 import io.github.nucleuspowered.nucleus.internal.text.NucleusTokenServiceImpl;
@@ -108,6 +110,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
@@ -127,8 +131,10 @@ public class NucleusPlugin extends Nucleus {
     private ModularGeneralService generalService;
     private ItemDataService itemDataService;
     private UserCacheService userCacheService;
+    private DataProviders dataProviders;
     private UserDataManager userDataManager;
     private WorldDataManager worldDataManager;
+    private final WriteBehindSaveQueue saveQueue = new WriteBehindSaveQueue(5000);
     private NameBanService nameBanService;
     private KitService kitService;
     private TextParsingUtils textParsingUtils;
@@ -145,6 +151,7 @@ public class NucleusPlugin extends Nucleus {
     private MessageProvider commandMessageProvider = new ResourceMessageProvider(ResourceMessageProvider.commandMessagesBundle);
 
     private WarmupManager warmupManager;
+    private final CooldownService cooldownService = new CooldownService();
     private final EconHelper econHelper = new EconHelper(this);
     private final PermissionRegistry permissionRegistry = new PermissionRegistry();
 
@@ -242,14 +249,15 @@ public class NucleusPlugin extends Nucleus {
             this.commandsConfig = new CommandsConfig(Paths.get(configDir.toString(), "commands.conf"));
 
             DataProviders d = new DataProviders(this);
+            this.dataProviders = d;
             this.generalService = new ModularGeneralService(d.getGeneralDataProvider());
             this.itemDataService = new ItemDataService(d.getItemDataProvider());
             this.itemDataService.loadInternal();
-            this.userDataManager = new UserDataManager(d::getUserFileDataProviders, d::doesUserFileExist);
-            this.worldDataManager = new WorldDataManager(d::getWorldFileDataProvider, d::doesWorldFileExist);
+            this.userDataManager = new UserDataManager(d::getUserFileDataProviders, d::doesUserFileExist, this.saveQueue);
+            this.worldDataManager = new WorldDataManager(d::getWorldFileDataProvider, d::doesWorldFileExist, this.saveQueue);
             this.kitService = new KitService(d.getKitsDataProvider());
             this.nameBanService = new NameBanService(d.getNameBanDataProvider());
-            this.userCacheService = new UserCacheService(d.getUserCacheDataProvider());
+            this.userCacheService = new UserCacheService(d.getUserCacheDataProvider(), d.getUserCacheCheckpointDataProvider());
             this.warmupManager = new WarmupManager();
             this.textParsingUtils = new TextParsingUtils(this);
             this.nameUtil = new NameUtil(this);
@@ -270,6 +278,8 @@ public class NucleusPlugin extends Nucleus {
         game.getServiceManager().setProvider(this, NucleusModuleService.class, new ModuleRegistrationProxyService(this));
         game.getServiceManager().setProvider(this, NucleusWarmupManagerService.class, warmupManager);
         serviceManager.registerService(WarmupManager.class, warmupManager);
+        serviceManager.registerService(CooldownService.class, this.cooldownService);
+        serviceManager.registerService(DataProviders.class, dataProviders);
 
         nucleusChatService = new NucleusTokenServiceImpl(this);
         serviceManager.registerService(NucleusTokenServiceImpl.class, nucleusChatService);
@@ -401,6 +411,7 @@ public class NucleusPlugin extends Nucleus {
             this.isDebugMode = coreConfig.isDebugmode();
             this.isTraceUserCreations = coreConfig.traceUserCreations();
             this.savesandloads = coreConfig.isPrintSaveLoad();
+            applyDataCachePolicies(coreConfig);
         } catch (Throwable construction) {
             logger.info(messageProvider.getMessageWithFormat("startup.modulenotloaded", PluginInfo.NAME));
             construction.printStackTrace();
@@ -412,6 +423,7 @@ public class NucleusPlugin extends Nucleus {
         // Register a reloadable.
         CommandPermissionHandler.onReload();
         registerReloadable(CommandPermissionHandler::onReload);
+        registerReloadable(nucleusChatService);
         getDocGenCache().ifPresent(x -> x.addTokenDocs(nucleusChatService.getNucleusTokenParser().getTokenNames()));
 
         logger.info(messageProvider.getMessageWithFormat("startup.moduleloaded", PluginInfo.NAME));
@@ -543,6 +555,13 @@ public class NucleusPlugin extends Nucleus {
             this.gameStartedTime = null;
             logger.info(messageProvider.getMessageWithFormat("startup.stopped", PluginInfo.NAME));
             saveData();
+
+            // Wait for the user and world data to be written.
+            if (!this.saveQueue.flush(1, TimeUnit.MINUTES)) {
+                logger.error(messageProvider.getMessageWithFormat("startup.savequeue.timeout", String.valueOf(this.saveQueue.size())));
+            }
+
+            this.dataProviders.close();
         }
     }
 
@@ -614,6 +633,7 @@ public class NucleusPlugin extends Nucleus {
             this.isDebugMode = coreConfig.isDebugmode();
             this.isTraceUserCreations = coreConfig.traceUserCreations();
             this.savesandloads = coreConfig.isPrintSaveLoad();
+            applyDataCachePolicies(coreConfig);
 
             for (TextFileController tfc : textFileControllers.values()) {
                 tfc.load();
@@ -633,12 +653,20 @@ public class NucleusPlugin extends Nucleus {
         }
     }
 
+    private void applyDataCachePolicies(CoreConfig coreConfig) {
+        this.userDataManager.setCachePolicy(coreConfig.getUserDataCache().getMaximumSizeKb() * 1024,
+                coreConfig.getUserDataCache().getExpireAfterAccessMinutes(), TimeUnit.MINUTES);
+        this.worldDataManager.setCachePolicy(coreConfig.getWorldDataCache().getMaximumSizeKb() * 1024,
+                coreConfig.getWorldDataCache().getExpireAfterAccessMinutes(), TimeUnit.MINUTES);
+    }
+
     @Override public boolean reloadMessages() {
         boolean r = true;
         if (getConfigValue("core", CoreConfigAdapter.class, CoreConfig::isCustommessages).orElse(false)) {
             try {
                 this.messageProvider = new ConfigMessageProvider(configDir.resolve("messages.conf"), ResourceMessageProvider.messagesBundle);
                 this.commandMessageProvider = new ConfigMessageProvider(configDir.resolve("command-help-messages.conf"), ResourceMessageProvider.commandMessagesBundle);
+                precompileMessages();
                 return true;
             } catch (Throwable exception) {
                 r = false;
@@ -669,14 +697,25 @@ public class NucleusPlugin extends Nucleus {
 
         this.messageProvider = new ResourceMessageProvider(ResourceMessageProvider.messagesBundle);
         this.commandMessageProvider = new ResourceMessageProvider(ResourceMessageProvider.commandMessagesBundle);
+        precompileMessages();
         return r;
     }
 
+    private void precompileMessages() {
+        // Off the main thread, messages that are used before this gets to them are created when they are used.
+        ForkJoinPool.commonPool().execute(this.messageProvider::precompile);
+    }
+
     @Override
     public WarmupManager getWarmupManager() {
         return warmupManager;
     }
 
+    @Override
+    public CooldownService getCooldownService() {
+        return this.cooldownService;
+    }
+
     @Override public WarmupConfig getWarmupConfig() {
         if (this.warmupConfig == null) {
             this.warmupConfig = getConfigValue(CoreModule.ID, CoreConfigAdapter.class, CoreConfig::getWarmupConfig).orElseGet(WarmupConfig::new);
@@ -8,9 +8,13 @@ import com.google.common.collect.Maps;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
+import javax.annotation.Nullable;
+
 @ConfigSerializable
 public class UserCacheVersionNode {
 
@@ -20,6 +24,19 @@ public class UserCacheVersionNode {
     @Setting
     private Map<UUID, UserCacheDataNode> node = Maps.newHashMap();
 
+    // Indexes over the node, so that they don't have to be rebuilt when loading. Null if they have not been saved.
+    @Setting
+    @Nullable
+    private Map<String, List<UUID>> ipIndex = null;
+
+    @Setting
+    @Nullable
+    private Map<String, List<UUID>> jailIndex = null;
+
+    @Setting
+    @Nullable
+    private List<UUID> muted = null;
+
     public int getVersion() {
         return version;
     }
@@ -27,4 +44,22 @@ public class UserCacheVersionNode {
     public Map<UUID, UserCacheDataNode> getNode() {
         return node;
     }
+
+    public Optional<Map<String, List<UUID>>> getIpIndex() {
+        return Optional.ofNullable(this.ipIndex);
+    }
+
+    public Optional<Map<String, List<UUID>>> getJailIndex() {
+        return Optional.ofNullable(this.jailIndex);
+    }
+
+    public Optional<List<UUID>> getMuted() {
+        return Optional.ofNullable(this.muted);
+    }
+
+    public void setIndexes(Map<String, List<UUID>> ipIndex, Map<String, List<UUID>> jailIndex, List<UUID> muted) {
+        this.ipIndex = ipIndex;
+        this.jailIndex = jailIndex;
+        this.muted = muted;
+    }
 }
@@ -62,6 +62,16 @@ public abstract class AbstractService<T> implements Service {
         }
     }
 
+    @Override
+    public boolean isDirty() {
+        return true;
+    }
+
+    @Override
+    public int getEstimatedSize() {
+        return 1;
+    }
+
     @Override
     public void saveInternal() throws Exception {
         if (this.data != null) {
@@ -75,6 +85,20 @@ public abstract class AbstractService<T> implements Service {
         throw new IllegalStateException("Data has not been initialised.");
     }
 
+    /**
+     * Writes the given data, which need not be the data held by this service.
+     *
+     * @param toSave The data to write.
+     * @throws Exception if the data could not be written.
+     */
+    protected final void saveData(T toSave) throws Exception {
+        if (Nucleus.getNucleus().isPrintingSavesAndLoads()) {
+            Nucleus.getNucleus().getLogger().info("Saving: " + serviceName());
+        }
+
+        dataProvider.save(toSave);
+    }
+
     @Override public boolean delete() {
         try {
             if (Nucleus.getNucleus().isPrintingSavesAndLoads()) {
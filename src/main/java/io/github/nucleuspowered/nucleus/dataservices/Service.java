@@ -14,5 +14,38 @@ public interface Service {
 
     void saveInternal() throws Exception;
 
+    /**
+     * Gets what needs to be written on the calling thread, returning an action that writes it and that can be run on
+     * any thread. By default, nothing is done until the action is run.
+     *
+     * @return The {@link SaveAction}.
+     */
+    default SaveAction prepareSave() {
+        return this::saveInternal;
+    }
+
+    /**
+     * Gets whether this service holds changes that have not yet been written.
+     *
+     * @return <code>true</code> if a save would write anything.
+     */
+    boolean isDirty();
+
+    /**
+     * Gets an estimate of the size of this service's data when serialised, in bytes.
+     *
+     * @return The estimated size.
+     */
+    int getEstimatedSize();
+
     boolean delete();
+
+    /**
+     * Writes data that was prepared by {@link #prepareSave()}.
+     */
+    @FunctionalInterface
+    interface SaveAction {
+
+        void write() throws Exception;
+    }
 }
@@ -4,71 +4,133 @@
  */
 package io.github.nucleuspowered.nucleus.dataservices;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheVersionNode;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.util.Identifiable;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
+import javax.annotation.concurrent.GuardedBy;
+
 public class UserCacheService extends AbstractService<UserCacheVersionNode> {
 
     private static final int expectedVersion = new UserCacheVersionNode().getVersion();
     private boolean isWalking = false;
 
+    private static final int maxWalkThreads = 4;
+    private static final int walkBatchSize = 250;
+    private static final int checkpointInterval = 5000;
+
     private final Object lockingObject = new Object();
+    private final DataProvider.FileChanging<UserCacheVersionNode> checkpointProvider;
+
+    // Secondary indexes over the cache, kept up to date as entries change so that lookups do not scan every entry.
+    private final Object indexLock = new Object();
+    @GuardedBy("indexLock") private final Map<String, Set<UUID>> ipIndex = Maps.newHashMap();
+    @GuardedBy("indexLock") private final Map<String, Set<UUID>> jailIndex = Maps.newHashMap();
+    @GuardedBy("indexLock") private final Set<UUID> muted = Sets.newHashSet();
 
-    public UserCacheService(DataProvider<UserCacheVersionNode> dataProvider) throws Exception {
+    public UserCacheService(DataProvider<UserCacheVersionNode> dataProvider,
+            DataProvider.FileChanging<UserCacheVersionNode> checkpointProvider) throws Exception {
         super(dataProvider);
+        this.checkpointProvider = checkpointProvider;
     }
 
     public List<UUID> getForIp(String ip) {
         updateCacheForOnlinePlayers();
-        String ipToCheck = ip.replace("/", "");
-        return data.getNode().entrySet().stream().filter(x -> x.getValue()
-                .getIpAddress().map(y -> y.equals(ipToCheck)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return copyOf(this.ipIndex.get(ip.replace("/", "")));
+        }
     }
 
     public List<UUID> getJailed() {
         updateCacheForOnlinePlayers();
-        return data.getNode().entrySet().stream().filter(x -> x.getValue().isJailed())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return this.jailIndex.values().stream().flatMap(Set::stream).collect(Collectors.toList());
+        }
     }
 
     public List<UUID> getJailedIn(String name) {
         updateCacheForOnlinePlayers();
-        return data.getNode().entrySet().stream()
-                .filter(x -> x.getValue().getJailName().map(y -> y.equalsIgnoreCase(name)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return copyOf(this.jailIndex.get(name.toLowerCase(Locale.ENGLISH)));
+        }
     }
 
     public List<UUID> getMuted() {
         updateCacheForOnlinePlayers();
-        return data.getNode().entrySet().stream().filter(x -> x.getValue().isMuted())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return ImmutableList.copyOf(this.muted);
+        }
     }
 
     @Override protected String serviceName() {
         return "User Cache";
     }
 
+    @Override public void loadInternal() throws Exception {
+        super.loadInternal();
+        synchronized (this.indexLock) {
+            if (this.data.getIpIndex().isPresent() && this.data.getJailIndex().isPresent() && this.data.getMuted().isPresent()) {
+                this.ipIndex.clear();
+                this.jailIndex.clear();
+                this.muted.clear();
+                this.data.getIpIndex().get().forEach((k, v) -> this.ipIndex.put(k, Sets.newHashSet(v)));
+                this.data.getJailIndex().get().forEach((k, v) -> this.jailIndex.put(k, Sets.newHashSet(v)));
+                this.muted.addAll(this.data.getMuted().get());
+            } else {
+                // The indexes were not saved with this cache, so create them.
+                rebuildIndexes();
+            }
+        }
+    }
+
+    @Override public void saveInternal() throws Exception {
+        synchronized (this.indexLock) {
+            if (this.data != null) {
+                this.data.setIndexes(copyIndex(this.ipIndex), copyIndex(this.jailIndex), Lists.newArrayList(this.muted));
+            }
+        }
+
+        super.saveInternal();
+    }
+
     public void updateCacheForOnlinePlayers() {
-        Nucleus.getNucleus().getUserDataManager().getOnlineUsers().forEach(u ->
-                data.getNode().computeIfAbsent(u.getUniqueId(), x -> new UserCacheDataNode()).set(u));
+        Nucleus.getNucleus().getUserDataManager().getOnlineUsers().forEach(this::updateCacheForPlayer);
     }
 
     public void updateCacheForPlayer(ModularUserService u) {
-        data.getNode().computeIfAbsent(u.getUniqueId(), x -> new UserCacheDataNode()).set(u);
+        UUID uuid = u.getUniqueId();
+        synchronized (this.indexLock) {
+            UserCacheDataNode node = data.getNode().computeIfAbsent(uuid, x -> new UserCacheDataNode());
+            removeFromIndexes(uuid, node);
+            node.set(u);
+            addToIndexes(uuid, node);
+        }
     }
 
     public void updateCacheForPlayer(UUID uuid) {
@@ -85,6 +147,15 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
         return expectedVersion == data.getVersion();
     }
 
+    /**
+     * Rebuilds the cache from the user data files.
+     *
+     * <p>Files are read in parallel, without going through the user data cache, so users that are in use are not
+     * evicted. Progress is saved as the rebuild runs, so a rebuild that does not complete resumes from where it
+     * stopped the next time it is started.</p>
+     *
+     * @return <code>false</code> if a rebuild is already in progress.
+     */
     public boolean fileWalk() {
         synchronized (lockingObject) {
             if (isWalking) {
@@ -94,30 +165,167 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
             isWalking = true;
         }
 
+        Logger logger = Nucleus.getNucleus().getLogger();
+        MessageProvider messageProvider = Nucleus.getNucleus().getMessageProvider();
+        Map<UUID, UserCacheDataNode> data = new ConcurrentHashMap<>();
+        ExecutorService executor = null;
         try {
-            Map<UUID, UserCacheDataNode> data = Maps.newHashMap();
             List<UUID> knownUsers = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll().stream()
                     .map(Identifiable::getUniqueId).collect(Collectors.toList());
 
-            int count = 0;
+            // Pick up where an interrupted rebuild left off.
+            this.checkpointProvider.onChange();
+            data.putAll(loadCheckpoint());
+            if (!data.isEmpty()) {
+                logger.info(messageProvider.getMessageWithFormat("usercache.rebuild.resume", String.valueOf(data.size())));
+            }
+
+            List<UUID> toWalk = knownUsers.stream().filter(x -> !data.containsKey(x)).collect(Collectors.toList());
             UserDataManager manager = Nucleus.getNucleus().getUserDataManager();
-            for (UUID user : knownUsers) {
-                if (manager.has(user)) {
-                    manager.get(user).ifPresent(x -> data.put(user, new UserCacheDataNode(x)));
-                    if (++count >= 10) {
-                        manager.removeOfflinePlayers();
-                        count = 0;
-                    }
+            executor = Executors.newFixedThreadPool(Math.max(1, Math.min(maxWalkThreads, Runtime.getRuntime().availableProcessors() - 1)),
+                    new ThreadFactoryBuilder().setNameFormat("Nucleus User Cache Rebuild Thread #%d").setDaemon(true).build());
+            CompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+            List<List<UUID>> batches = Lists.partition(toWalk, walkBatchSize);
+            batches.forEach(x -> completionService.submit(() -> walk(manager, x, data)));
+
+            long start = System.nanoTime();
+            int walked = 0;
+            int sinceCheckpoint = 0;
+            for (int i = 0; i < batches.size(); i++) {
+                int count = completionService.take().get();
+                walked += count;
+                sinceCheckpoint += count;
+                if (sinceCheckpoint >= checkpointInterval) {
+                    sinceCheckpoint = 0;
+                    saveCheckpoint(data);
+                    logger.info(messageProvider.getMessageWithFormat("usercache.rebuild.progress", String.valueOf(walked),
+                            String.valueOf(toWalk.size()), getRate(walked, start)));
                 }
             }
 
-            this.data = new UserCacheVersionNode();
-            this.data.getNode().putAll(data);
+            synchronized (this.indexLock) {
+                this.data = new UserCacheVersionNode();
+                this.data.getNode().putAll(data);
+                rebuildIndexes();
+            }
+
             save();
+            deleteCheckpoint();
+            logger.info(messageProvider.getMessageWithFormat("usercache.rebuild.complete", String.valueOf(walked), getRate(walked, start)));
+        } catch (InterruptedException | ExecutionException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+
+            saveCheckpoint(data);
+            logger.error(messageProvider.getMessageWithFormat("usercache.rebuild.failed"), e);
         } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+
             isWalking = false;
         }
 
         return true;
     }
+
+    private int walk(UserDataManager manager, List<UUID> users, Map<UUID, UserCacheDataNode> data) {
+        for (UUID user : users) {
+            try {
+                manager.getDetached(user).ifPresent(x -> data.put(user, new UserCacheDataNode(x)));
+            } catch (Exception e) {
+                if (Nucleus.getNucleus().isDebugMode()) {
+                    Nucleus.getNucleus().getLogger().error("Could not read data for " + user.toString() + " when rebuilding the user cache.", e);
+                }
+            }
+        }
+
+        return users.size();
+    }
+
+    private Map<UUID, UserCacheDataNode> loadCheckpoint() {
+        try {
+            if (this.checkpointProvider.has()) {
+                UserCacheVersionNode checkpoint = this.checkpointProvider.load();
+                if (checkpoint.getVersion() == expectedVersion) {
+                    return checkpoint.getNode();
+                }
+            }
+        } catch (Exception e) {
+            Nucleus.getNucleus().getLogger().warn("Could not load the user cache rebuild progress, starting from the beginning.", e);
+        }
+
+        return Maps.newHashMap();
+    }
+
+    private void saveCheckpoint(Map<UUID, UserCacheDataNode> data) {
+        if (data.isEmpty()) {
+            return;
+        }
+
+        try {
+            UserCacheVersionNode checkpoint = new UserCacheVersionNode();
+            checkpoint.getNode().putAll(data);
+            this.checkpointProvider.save(checkpoint);
+        } catch (Exception e) {
+            Nucleus.getNucleus().getLogger().warn("Could not save the user cache rebuild progress.", e);
+        }
+    }
+
+    private void deleteCheckpoint() {
+        try {
+            if (this.checkpointProvider.has()) {
+                this.checkpointProvider.delete();
+            }
+        } catch (Exception e) {
+            Nucleus.getNucleus().getLogger().warn("Could not delete the user cache rebuild progress.", e);
+        }
+    }
+
+    private static String getRate(int count, long startNanos) {
+        double seconds = Math.max(1, System.nanoTime() - startNanos) / 1_000_000_000d;
+        return String.format("%.1f", count / seconds);
+    }
+
+    @GuardedBy("indexLock")
+    private void rebuildIndexes() {
+        this.ipIndex.clear();
+        this.jailIndex.clear();
+        this.muted.clear();
+        this.data.getNode().forEach(this::addToIndexes);
+    }
+
+    @GuardedBy("indexLock")
+    private void addToIndexes(UUID uuid, UserCacheDataNode node) {
+        node.getIpAddress().ifPresent(x -> this.ipIndex.computeIfAbsent(x, k -> Sets.newHashSet()).add(uuid));
+        node.getJailName().ifPresent(x -> this.jailIndex.computeIfAbsent(x.toLowerCase(Locale.ENGLISH), k -> Sets.newHashSet()).add(uuid));
+        if (node.isMuted()) {
+            this.muted.add(uuid);
+        }
+    }
+
+    @GuardedBy("indexLock")
+    private void removeFromIndexes(UUID uuid, UserCacheDataNode node) {
+        node.getIpAddress().ifPresent(x -> removeFromIndex(this.ipIndex, x, uuid));
+        node.getJailName().ifPresent(x -> removeFromIndex(this.jailIndex, x.toLowerCase(Locale.ENGLISH), uuid));
+        this.muted.remove(uuid);
+    }
+
+    private static void removeFromIndex(Map<String, Set<UUID>> index, String key, UUID uuid) {
+        Set<UUID> uuids = index.get(key);
+        if (uuids != null && uuids.remove(uuid) && uuids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static Map<String, List<UUID>> copyIndex(Map<String, Set<UUID>> index) {
+        Map<String, List<UUID>> copy = Maps.newHashMap();
+        index.forEach((k, v) -> copy.put(k, Lists.newArrayList(v)));
+        return copy;
+    }
+
+    private static List<UUID> copyOf(Set<UUID> uuids) {
+        return uuids == null ? ImmutableList.of() : ImmutableList.copyOf(uuids);
+    }
 }
@@ -11,6 +11,9 @@ import io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.ItemDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.KitConfigDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheVersionNode;
+import io.github.nucleuspowered.nucleus.modules.core.CoreModule;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.ConfigurationOptions;
 import ninja.leaping.configurate.gson.GsonConfigurationLoader;
@@ -21,10 +24,18 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
 
 public class DataProviders {
 
@@ -36,14 +47,24 @@ public class DataProviders {
 
     private final String userJson = "userdata%1$s%2$s%1$s%3$s.json";
     private final String worldJson = "worlddata%1$s%2$s%1$s%3$s.json";
+    private final String userDirectory = "userdata";
+    private final String worldDirectory = "worlddata";
+
+    // The single file stores are opened when first required, as the config is not available when this is constructed.
+    @Nullable private Boolean useSingleFileStore = null;
+    @Nullable private StoreHolder userStore = null;
+    @Nullable private StoreHolder worldStore = null;
 
     public DataProviders(NucleusPlugin plugin) {
         this.plugin = plugin;
     }
 
     public DataProvider<ConfigurationNode> getUserFileDataProviders(UUID uuid, boolean create) {
-        // For now, just the Configurate one.
         try {
+            if (isUsingSingleFileStore()) {
+                return getStoreDataProvider(getUserStore(), userJson, uuid, create, true);
+            }
+
             Path p = getFile(userJson, uuid);
             if (create || doesUserFileExist(uuid)) {
                 return new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), p, true, plugin.getLogger());
@@ -57,6 +78,10 @@ public class DataProviders {
 
     public boolean doesUserFileExist(UUID uuid) {
         try {
+            if (isUsingSingleFileStore()) {
+                return doesStoreEntryExist(getUserStore(), userJson, uuid);
+            }
+
             return Files.exists(getFile(userJson, uuid));
         } catch (Exception e) {
             return false;
@@ -64,8 +89,11 @@ public class DataProviders {
     }
 
     public DataProvider<ConfigurationNode> getWorldFileDataProvider(UUID uuid, boolean create) {
-        // For now, just the Configurate one.
         try {
+            if (isUsingSingleFileStore()) {
+                return getStoreDataProvider(getWorldStore(), worldJson, uuid, create, false);
+            }
+
             Path p = getFile(worldJson, uuid);
             if (create || doesWorldFileExist(uuid)) {
                 return new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), p, false, plugin.getLogger());
@@ -79,6 +107,10 @@ public class DataProviders {
 
     public boolean doesWorldFileExist(UUID uuid) {
         try {
+            if (isUsingSingleFileStore()) {
+                return doesStoreEntryExist(getWorldStore(), worldJson, uuid);
+            }
+
             return Files.exists(getFile(worldJson, uuid));
         } catch (Exception e) {
             return false;
@@ -99,6 +131,16 @@ public class DataProviders {
         }
     }
 
+    public DataProvider.FileChanging<UserCacheVersionNode> getUserCacheCheckpointDataProvider() {
+        try {
+            Supplier<Path> p = () -> plugin.getDataPath().resolve("nucleususercache-rebuild.json");
+            return new FileChangingConfigurateDataProvider<>(ttucv,
+                    path -> new LazyConfigurationLoader<>(() -> getGsonBuilder().setPath(path).build()), p, plugin.getLogger());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     public DataProvider.FileChanging<UserCacheVersionNode> getUserCacheDataProvider() {
         try {
             Supplier<Path> p = () -> plugin.getDataPath().resolve("nucleususercache.json");
@@ -148,6 +190,150 @@ public class DataProviders {
         }
     }
 
+    /**
+     * Gets whether user and world data is held in single file stores, rather than one JSON file per user or world.
+     *
+     * @return <code>true</code> if single file stores are in use.
+     */
+    public synchronized boolean isUsingSingleFileStore() {
+        if (this.useSingleFileStore == null) {
+            this.useSingleFileStore = plugin.getConfigValue(CoreModule.ID, CoreConfigAdapter.class, CoreConfig::isSingleFileDataStore).orElse(false);
+        }
+
+        return this.useSingleFileStore;
+    }
+
+    /**
+     * Copies any user and world JSON files that are not yet in the single file stores into them. If every file
+     * was imported, the JSON directories are renamed so that they are no longer checked.
+     *
+     * @return The number of files imported.
+     * @throws IllegalStateException if single file stores are not in use.
+     * @throws IOException if the stores could not be opened.
+     */
+    public int importJsonFilesToStores() throws IOException {
+        Preconditions.checkState(isUsingSingleFileStore(), "The single file data store is not enabled.");
+        return importJsonFiles(getUserStore(), userDirectory, true) + importJsonFiles(getWorldStore(), worldDirectory, false);
+    }
+
+    /**
+     * Closes the single file stores, if they are open.
+     */
+    public synchronized void close() {
+        for (StoreHolder holder : new StoreHolder[] { this.userStore, this.worldStore }) {
+            if (holder != null) {
+                try {
+                    holder.store.close();
+                } catch (IOException e) {
+                    plugin.getLogger().error("Could not close data store", e);
+                }
+            }
+        }
+
+        this.userStore = null;
+        this.worldStore = null;
+        this.useSingleFileStore = null;
+    }
+
+    @Nullable
+    private DataProvider<ConfigurationNode> getStoreDataProvider(StoreHolder holder, String template, UUID uuid, boolean create,
+            boolean requiresChildren) throws Exception {
+        if (holder.store.contains(uuid)) {
+            return new SingleFileStoreDataProvider(holder.store, uuid, this::getGsonBuilder, requiresChildren);
+        }
+
+        // Not imported yet - read the JSON file if there is one, the next save will put it in the store.
+        if (holder.legacyFilesPresent) {
+            Path p = getFile(template, uuid);
+            if (Files.exists(p)) {
+                return new SingleFileStoreDataProvider(holder.store, uuid, this::getGsonBuilder, requiresChildren,
+                        new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), p, requiresChildren, plugin.getLogger()),
+                        holder.importLock.readLock());
+            }
+        }
+
+        if (create) {
+            return new SingleFileStoreDataProvider(holder.store, uuid, this::getGsonBuilder, requiresChildren);
+        }
+
+        return null;
+    }
+
+    private boolean doesStoreEntryExist(StoreHolder holder, String template, UUID uuid) throws Exception {
+        return holder.store.contains(uuid) || (holder.legacyFilesPresent && Files.exists(getFile(template, uuid)));
+    }
+
+    private synchronized StoreHolder getUserStore() throws IOException {
+        if (this.userStore == null) {
+            this.userStore = new StoreHolder(userDirectory, "userdata.store");
+        }
+
+        return this.userStore;
+    }
+
+    private synchronized StoreHolder getWorldStore() throws IOException {
+        if (this.worldStore == null) {
+            this.worldStore = new StoreHolder(worldDirectory, "worlddata.store");
+        }
+
+        return this.worldStore;
+    }
+
+    private int importJsonFiles(StoreHolder holder, String directory, boolean requiresChildren) throws IOException {
+        Path root = plugin.getDataPath().resolve(directory);
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream.filter(x -> x.getFileName().toString().endsWith(".json")).collect(Collectors.toList());
+        }
+
+        int imported = 0;
+        boolean failed = false;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(name.substring(0, name.length() - 5));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+
+            // Anything already in the store is newer than the file. This is checked again when the node is written, as a
+            // save may go to the store while the file is being read.
+            if (holder.store.contains(uuid)) {
+                continue;
+            }
+
+            try {
+                ConfigurationNode node =
+                        new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), file, false, plugin.getLogger()).load();
+                if (!node.isVirtual() && (node.hasMapChildren() || node.hasListChildren())
+                        && new SingleFileStoreDataProvider(holder.store, uuid, this::getGsonBuilder, requiresChildren).saveIfAbsent(node)) {
+                    imported++;
+                }
+            } catch (Exception e) {
+                failed = true;
+                plugin.getLogger().error("Could not import " + file.toString() + " into the data store.", e);
+            }
+        }
+
+        if (!failed) {
+            // Wait for anything that is reading a file to finish. Everything that is read afterwards is in the store.
+            holder.importLock.writeLock().lock();
+            try {
+                Files.move(root, root.resolveSibling(directory + "-imported"), StandardCopyOption.ATOMIC_MOVE);
+                holder.legacyFilesPresent = false;
+            } finally {
+                holder.importLock.writeLock().unlock();
+            }
+        }
+
+        return imported;
+    }
+
     private Path getFile(String template, UUID uuid) throws Exception {
         String u = uuid.toString();
         String f = u.substring(0, 2);
@@ -172,6 +358,22 @@ public class DataProviders {
         return gsb.setDefaultOptions(ConfigurateHelper.setOptions(gsb.getDefaultOptions()));
     }
 
+    private final class StoreHolder {
+
+        private final SingleFileDataStore store;
+
+        // Only look for JSON files that have not been imported if there are any.
+        private volatile boolean legacyFilesPresent;
+
+        // Held for reading while a JSON file that has not been imported is read, and for writing while they are moved.
+        private final ReadWriteLock importLock = new ReentrantReadWriteLock();
+
+        private StoreHolder(String legacyDirectory, String file) throws IOException {
+            this.store = new SingleFileDataStore(plugin.getDataPath().resolve(file), plugin.getLogger());
+            this.legacyFilesPresent = Files.isDirectory(plugin.getDataPath().resolve(legacyDirectory));
+        }
+    }
+
     /**
      * Only performs the loading when required.
      * @param <T> The type of node that this lazy loaded loader will load.
@@ -0,0 +1,391 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * An append-only store that holds many records, keyed by {@link UUID}, in one file.
+ *
+ * <p>Every write appends a new record to the end of the file, and an in-memory index maps each key to its latest
+ * record, so a lookup is a single positional read. Deleting a key appends a tombstone. The index is rebuilt by
+ * scanning the file when the store is opened - a partially written record at the end of the file (from a crash
+ * during a write) is discarded. When more than half of the file is taken up by superseded records, the live
+ * records are copied to a new file which then replaces the old one.</p>
+ *
+ * <p>Record layout: most and least significant bits of the key (2 longs), type (byte), payload length (int),
+ * payload (UTF-8), CRC32 of everything before it (int).</p>
+ */
+public final class SingleFileDataStore implements Closeable {
+
+    private static final byte[] MAGIC = "NUCSTORE".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_LENGTH = MAGIC.length + 4;
+    private static final int RECORD_HEADER_LENGTH = 8 + 8 + 1 + 4;
+    private static final int RECORD_OVERHEAD = RECORD_HEADER_LENGTH + 4;
+    private static final byte TYPE_PUT = 0;
+    private static final byte TYPE_DELETE = 1;
+
+    // Don't bother compacting small files.
+    private static final long MINIMUM_COMPACTION_SIZE = 4 * 1024 * 1024;
+
+    private final Path file;
+    private final Logger logger;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Entry> index = new ConcurrentHashMap<>();
+
+    @GuardedBy("lock") private FileChannel channel;
+    @GuardedBy("lock") private long end;
+    @GuardedBy("lock") private long liveBytes;
+    @GuardedBy("lock") private long compactAfter = MINIMUM_COMPACTION_SIZE;
+
+    public SingleFileDataStore(Path file, Logger logger) throws IOException {
+        this.file = Preconditions.checkNotNull(file);
+        this.logger = logger;
+        if (Files.notExists(file.getParent())) {
+            Files.createDirectories(file.getParent());
+        }
+
+        open();
+    }
+
+    private void open() throws IOException {
+        this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.index.clear();
+        this.liveBytes = 0;
+        if (this.channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_LENGTH);
+            header.put(MAGIC).putInt(VERSION).flip();
+            writeFully(header, 0);
+            this.end = FILE_HEADER_LENGTH;
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_LENGTH);
+        readFully(header, 0);
+        header.flip();
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, MAGIC) || header.getInt() != VERSION) {
+            this.channel.close();
+            throw new IOException("The file " + this.file.toString() + " is not a Nucleus data store.");
+        }
+
+        scan();
+    }
+
+    private void scan() throws IOException {
+        long position = FILE_HEADER_LENGTH;
+        long size = this.channel.size();
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+        while (position + RECORD_OVERHEAD <= size) {
+            recordHeader.clear();
+            readFully(recordHeader, position);
+            recordHeader.flip();
+            UUID key = new UUID(recordHeader.getLong(), recordHeader.getLong());
+            byte type = recordHeader.get();
+            int length = recordHeader.getInt();
+            if (length < 0 || position + RECORD_OVERHEAD + length > size) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length + 4);
+            readFully(payload, position + RECORD_HEADER_LENGTH);
+            payload.flip();
+            byte[] bytes = new byte[length];
+            payload.get(bytes);
+            if (payload.getInt() != checksum(key, type, bytes)) {
+                break;
+            }
+
+            Entry previous;
+            if (type == TYPE_PUT) {
+                Entry entry = new Entry(position, length);
+                previous = this.index.put(key, entry);
+                this.liveBytes += entry.size();
+            } else {
+                previous = this.index.remove(key);
+            }
+
+            if (previous != null) {
+                this.liveBytes -= previous.size();
+            }
+
+            position += RECORD_OVERHEAD + length;
+        }
+
+        if (position != size) {
+            this.logger.warn("The data store " + this.file.toString() + " ended with an incomplete record, which has been discarded.");
+            this.channel.truncate(position);
+        }
+
+        this.end = position;
+    }
+
+    /**
+     * Gets whether the store contains the given key.
+     *
+     * @param key The key.
+     * @return <code>true</code> if so.
+     */
+    public boolean contains(UUID key) {
+        this.lock.readLock().lock();
+        try {
+            return this.index.containsKey(key);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the keys in this store.
+     *
+     * @return The keys.
+     */
+    public Set<UUID> keys() {
+        this.lock.readLock().lock();
+        try {
+            return ImmutableSet.copyOf(this.index.keySet());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the latest value for the given key.
+     *
+     * @param key The key.
+     * @return The value, if there is one.
+     * @throws IOException if the store could not be read.
+     */
+    public Optional<String> get(UUID key) throws IOException {
+        this.lock.readLock().lock();
+        try {
+            Entry entry = this.index.get(key);
+            if (entry == null) {
+                return Optional.empty();
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(entry.length);
+            readFully(payload, entry.position + RECORD_HEADER_LENGTH);
+            return Optional.of(new String(payload.array(), StandardCharsets.UTF_8));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the value for the given key.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @throws IOException if the store could not be written to.
+     */
+    public void put(UUID key, String value) throws IOException {
+        Preconditions.checkNotNull(value);
+        append(key, TYPE_PUT, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sets the value for the given key, unless the key is already in the store. The check and the write are done
+     * together, so a concurrent {@link #put(UUID, String)} is never overwritten.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return <code>true</code> if the value was written.
+     * @throws IOException if the store could not be written to.
+     */
+    public boolean putIfAbsent(UUID key, String value) throws IOException {
+        Preconditions.checkNotNull(value);
+        this.lock.writeLock().lock();
+        try {
+            if (this.index.containsKey(key)) {
+                return false;
+            }
+
+            append(key, TYPE_PUT, value.getBytes(StandardCharsets.UTF_8));
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the given key.
+     *
+     * @param key The key.
+     * @throws IOException if the store could not be written to.
+     */
+    public void delete(UUID key) throws IOException {
+        if (contains(key)) {
+            append(key, TYPE_DELETE, new byte[0]);
+        }
+    }
+
+    private void append(UUID key, byte type, byte[] payload) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + payload.length);
+        record.putLong(key.getMostSignificantBits())
+                .putLong(key.getLeastSignificantBits())
+                .put(type)
+                .putInt(payload.length)
+                .put(payload)
+                .putInt(checksum(key, type, payload))
+                .flip();
+
+        this.lock.writeLock().lock();
+        try {
+            long position = this.end;
+            writeFully(record, position);
+            this.end += RECORD_OVERHEAD + payload.length;
+
+            Entry previous;
+            if (type == TYPE_PUT) {
+                Entry entry = new Entry(position, payload.length);
+                previous = this.index.put(key, entry);
+                this.liveBytes += entry.size();
+            } else {
+                previous = this.index.remove(key);
+            }
+
+            if (previous != null) {
+                this.liveBytes -= previous.size();
+            }
+
+            if (this.end > this.compactAfter && this.liveBytes * 2 < this.end) {
+                compact();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private void compact() throws IOException {
+        Path temp = Paths.get(this.file.toAbsolutePath().toString() + ".compact");
+        try {
+            try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_LENGTH);
+                header.put(MAGIC).putInt(VERSION).flip();
+                while (header.hasRemaining()) {
+                    target.write(header);
+                }
+
+                for (Entry entry : this.index.values()) {
+                    long position = entry.position;
+                    long remaining = entry.size();
+                    while (remaining > 0) {
+                        long transferred = this.channel.transferTo(position, remaining, target);
+                        position += transferred;
+                        remaining -= transferred;
+                    }
+                }
+
+                target.force(true);
+            }
+
+            // Some platforms will not replace a file that is open.
+            this.channel.close();
+            Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.compactAfter = MINIMUM_COMPACTION_SIZE;
+        } catch (IOException e) {
+            // The record that triggered this has already been written, so keep using the file as it is, and don't try
+            // again until it has doubled in size.
+            this.logger.warn("Could not compact the data store " + this.file.toString() + ": " + e.getMessage());
+            this.compactAfter = this.end * 2;
+            if (!this.channel.isOpen()) {
+                open();
+            }
+
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ex) {
+                // It will be overwritten by the next attempt.
+            }
+
+            return;
+        }
+
+        open();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = this.channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of data store " + this.file.toString());
+            }
+
+            position += read;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += this.channel.write(buffer, position);
+        }
+    }
+
+    private static int checksum(UUID key, byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+        header.putLong(key.getMostSignificantBits()).putLong(key.getLeastSignificantBits()).put(type).putInt(payload.length);
+        crc.update(header.array());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            if (this.channel.isOpen()) {
+                this.channel.force(true);
+                this.channel.close();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private static final class Entry {
+
+        private final long position;
+        private final int length;
+
+        private Entry(long position, int length) {
+            this.position = position;
+            this.length = length;
+        }
+
+        private long size() {
+            return RECORD_OVERHEAD + this.length;
+        }
+    }
+}
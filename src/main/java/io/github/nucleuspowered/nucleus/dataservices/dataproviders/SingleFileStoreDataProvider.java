@@ -0,0 +1,133 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import static io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper.setOptions;
+
+import com.google.common.base.Preconditions;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+import ninja.leaping.configurate.loader.ConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataProvider} that stores its node as JSON in a {@link SingleFileDataStore}, rather than in a file of its own.
+ *
+ * <p>If the key is not in the store, a fallback {@link DataProvider} can be supplied to load the data from, so that
+ * data that has not been imported into the store yet can still be read. Saves always go to the store. The fallback
+ * is read under a lock that the import takes before it moves the files away.</p>
+ */
+public class SingleFileStoreDataProvider implements DataProvider<ConfigurationNode> {
+
+    private final SingleFileDataStore store;
+    private final UUID key;
+    private final Supplier<GsonConfigurationLoader.Builder> builderSupplier;
+    private final boolean requiresChildren;
+    @Nullable private final DataProvider<ConfigurationNode> fallback;
+    @Nullable private final Lock fallbackLock;
+
+    SingleFileStoreDataProvider(SingleFileDataStore store, UUID key, Supplier<GsonConfigurationLoader.Builder> builderSupplier,
+            boolean requiresChildren) {
+        this.fallback = null;
+        this.fallbackLock = null;
+        this.store = Preconditions.checkNotNull(store);
+        this.key = Preconditions.checkNotNull(key);
+        this.builderSupplier = builderSupplier;
+        this.requiresChildren = requiresChildren;
+    }
+
+    SingleFileStoreDataProvider(SingleFileDataStore store, UUID key, Supplier<GsonConfigurationLoader.Builder> builderSupplier,
+            boolean requiresChildren, DataProvider<ConfigurationNode> fallback, Lock fallbackLock) {
+        this.fallback = Preconditions.checkNotNull(fallback);
+        this.fallbackLock = Preconditions.checkNotNull(fallbackLock);
+        this.store = Preconditions.checkNotNull(store);
+        this.key = Preconditions.checkNotNull(key);
+        this.builderSupplier = builderSupplier;
+        this.requiresChildren = requiresChildren;
+    }
+
+    @Override public boolean has() {
+        return this.store.contains(this.key) || (this.fallback != null && this.fallback.has());
+    }
+
+    @Override public ConfigurationNode load() throws Exception {
+        if (this.fallback == null) {
+            return loadFromStore();
+        }
+
+        // Hold off any import while we look in both places, else the file could be moved after we have found that
+        // the key is not in the store, but before we have read the file.
+        this.fallbackLock.lock();
+        try {
+            if (!this.store.contains(this.key) && this.fallback.has()) {
+                return this.fallback.load();
+            }
+
+            return loadFromStore();
+        } finally {
+            this.fallbackLock.unlock();
+        }
+    }
+
+    private ConfigurationNode loadFromStore() throws Exception {
+        Optional<String> json = this.store.get(this.key);
+        if (json.isPresent()) {
+            ConfigurationLoader<?> loader = this.builderSupplier.get().setSource(() -> new BufferedReader(new StringReader(json.get()))).build();
+            return loader.load(setOptions(loader.getDefaultOptions()));
+        }
+
+        ConfigurationLoader<?> loader = this.builderSupplier.get().build();
+        return loader.createEmptyNode(setOptions(loader.getDefaultOptions()));
+    }
+
+    @Override public void save(ConfigurationNode info) throws Exception {
+        this.store.put(this.key, serialise(info));
+    }
+
+    /**
+     * Saves the node, unless the key is already in the store.
+     *
+     * @param info The node to save.
+     * @return <code>true</code> if the node was saved.
+     * @throws Exception if the node could not be saved.
+     */
+    boolean saveIfAbsent(ConfigurationNode info) throws Exception {
+        return this.store.putIfAbsent(this.key, serialise(info));
+    }
+
+    @Override public void delete() throws Exception {
+        this.store.delete(this.key);
+        if (this.fallback != null && this.fallback.has()) {
+            this.fallback.delete();
+        }
+    }
+
+    private String serialise(ConfigurationNode info) throws Exception {
+        Preconditions.checkNotNull(info);
+        if (info.isVirtual()) {
+            throw getException("Configuration Node is virtual.");
+        } else if (this.requiresChildren && (!info.hasMapChildren() && !info.hasListChildren())) {
+            throw getException("Configuration Node has no children.");
+        }
+
+        StringWriter writer = new StringWriter();
+        this.builderSupplier.get().setSink(() -> new BufferedWriter(writer)).build().save(info);
+        return writer.toString();
+    }
+
+    private IllegalStateException getException(String message) {
+        return new IllegalStateException("The data for " + this.key.toString() + " has not been saved.\n" + message);
+    }
+}
@@ -8,19 +8,25 @@ import co.aikar.timings.Timing;
 import co.aikar.timings.Timings;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.dataservices.Service;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
 import io.github.nucleuspowered.nucleus.internal.TimingsDummy;
+import org.spongepowered.api.Sponge;
 
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -31,23 +37,31 @@ import javax.annotation.Nullable;
 
 public abstract class DataManager<I, P, S extends Service> {
 
+    private static final long DEFAULT_MAXIMUM_WEIGHT = 4096 * 1024;
+
     private final Collection<I> bypassSave = Sets.newConcurrentHashSet();
     private final Predicate<I> fileExists;
     private final BiFunction<I, Boolean, DataProvider<P>> dataProviderFactory;
-    private final LoadingCache<I, S> cache;
+    private volatile LoadingCache<I, S> cache;
+    private final WriteBehindSaveQueue saveQueue;
+
+    // Entries that were evicted off the main thread, and are waiting to be copied on it so they can be saved.
+    private final Map<I, S> awaitingSnapshot = new ConcurrentHashMap<>();
+
+    private final AtomicLong savesWritten = new AtomicLong();
+    private final AtomicLong savesSkipped = new AtomicLong();
 
     private Timing GENERAL_LOAD_TIMINGS = TimingsDummy.DUMMY;
     private Timing ACTUAL_LOAD_TIMINGS = TimingsDummy.DUMMY;
     private Timing SAVE_TIMINGS = TimingsDummy.DUMMY;
     @Nullable private String name;
 
-    DataManager(BiFunction<I, Boolean, DataProvider<P>> dataProviderFactory, Predicate<I> fileExistsPredicate) {
+    DataManager(BiFunction<I, Boolean, DataProvider<P>> dataProviderFactory, Predicate<I> fileExistsPredicate,
+            WriteBehindSaveQueue saveQueue) {
         this.dataProviderFactory = dataProviderFactory;
         this.fileExists = fileExistsPredicate;
-        this.cache = Caffeine.newBuilder()
-                .maximumSize(500)
-                .removalListener(new Removal())
-                .build(new Loader());
+        this.saveQueue = saveQueue;
+        this.cache = createCache(DEFAULT_MAXIMUM_WEIGHT, 0);
 
         try {
             Nucleus plugin = Nucleus.getNucleus();
@@ -67,46 +81,126 @@ public abstract class DataManager<I, P, S extends Service> {
         return this.name;
     }
 
+    /**
+     * Sets how much data this manager keeps in memory. Entries that should not expire (such as those for online
+     * players) do not count towards the maximum size and do not expire - they are pinned in the cache.
+     *
+     * <p>Entries in the current cache are moved to the new one.</p>
+     *
+     * @param maximumWeight The maximum estimated size of the cached data, in bytes.
+     * @param expireAfterAccess The time after which an entry that has not been accessed is removed, or 0 to not expire
+     *                          entries.
+     * @param unit The {@link TimeUnit} of the expiry time.
+     */
+    public final synchronized void setCachePolicy(long maximumWeight, long expireAfterAccess, TimeUnit unit) {
+        Preconditions.checkArgument(maximumWeight > 0);
+        LoadingCache<I, S> old = this.cache;
+        LoadingCache<I, S> newCache = createCache(maximumWeight, unit.toNanos(expireAfterAccess));
+        newCache.putAll(old.asMap());
+        this.cache = newCache;
+
+        // Catch anything that was added while we were switching over.
+        old.asMap().forEach(newCache.asMap()::putIfAbsent);
+    }
+
+    /**
+     * Re-evaluates whether the entry with the given key should be pinned in the cache. This should be called when
+     * the result of {@link #shouldNotExpire(Object)} might have changed, such as when a player logs in or out.
+     *
+     * @param key The key.
+     */
+    public final void updatePinned(I key) {
+        S value = this.cache.getIfPresent(key);
+        if (value != null) {
+            // Replacing the entry with itself causes the weight and expiry to be recalculated.
+            this.cache.put(key, value);
+        }
+    }
+
+    private LoadingCache<I, S> createCache(long maximumWeight, long expireAfterAccessNanos) {
+        Caffeine<I, S> builder = Caffeine.newBuilder()
+                .<I, S>weigher((key, value) -> shouldNotExpire(key) ? 0 : Math.max(1, value.getEstimatedSize()))
+                .maximumWeight(maximumWeight)
+                .removalListener(new Removal())
+                .recordStats();
+        if (expireAfterAccessNanos > 0) {
+            builder.expireAfter(new Expire(expireAfterAccessNanos));
+        }
+
+        return builder.build(new Loader());
+    }
+
     private class Removal implements RemovalListener<I, S> {
 
         @Override
         public void onRemoval(@Nullable I key, @Nullable S value, @Nonnull RemovalCause cause) {
+            if (cause == RemovalCause.REPLACED) {
+                // Either the same entry, which is still in the cache, or an older copy of it that should not be saved.
+                return;
+            }
+
             if (key != null && DataManager.this.bypassSave.remove(key)) {
                 // don't save.
+                DataManager.this.awaitingSnapshot.remove(key);
+                DataManager.this.saveQueue.cancel(DataManager.this, key);
                 return;
             }
 
-            if (value != null) {
-                try {
-                    SAVE_TIMINGS.startTimingIfSync();
-                    value.saveInternal();
-                } catch (Exception e) {
-                    if (Nucleus.getNucleus().isDebugMode()) {
-                        Nucleus.getNucleus().getLogger().error("[" + getClassName()  + "] Could not save " + String.valueOf(key) + ".", e);
-                    }
-
-                    // Errored. Put value back in cache if we have the key.
-                    if (key != null) {
-                        Nucleus.getNucleus().getLogger().warn("[" + getClassName() + "] Could not save " + String.valueOf(key) +
-                                ", re-adding to cache to try later.");
-                        DataManager.this.cache.put(key, value);
-                    }
-
-                    return;
-                } finally {
-                    SAVE_TIMINGS.stopTimingIfSync();
+            if (key != null && value != null) {
+                // If the entry is requested again before it is written, the loader will pick up the entry from here or
+                // from the save queue.
+                if (Sponge.isServerAvailable() && !Sponge.getServer().isMainThread()) {
+                    // Evictions usually happen on the cache's own threads, but the data can only be copied on the main
+                    // thread, where it is changed.
+                    DataManager.this.awaitingSnapshot.put(key, value);
+                    Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> queueEvicted(key, value));
+                } else {
+                    queueSave(key, value);
                 }
             }
+        }
+    }
 
-            if (key != null && shouldNotExpire(key)) {
-                DataManager.this.cache.refresh(key);
-            }
+    private class Expire implements Expiry<I, S> {
+
+        private final long expireAfterAccessNanos;
+
+        private Expire(long expireAfterAccessNanos) {
+            this.expireAfterAccessNanos = expireAfterAccessNanos;
+        }
+
+        private long getDuration(I key) {
+            return shouldNotExpire(key) ? Long.MAX_VALUE : this.expireAfterAccessNanos;
+        }
+
+        @Override public long expireAfterCreate(@Nonnull I key, @Nonnull S value, long currentTime) {
+            return getDuration(key);
+        }
+
+        @Override public long expireAfterUpdate(@Nonnull I key, @Nonnull S value, long currentTime, long currentDuration) {
+            return getDuration(key);
+        }
+
+        @Override public long expireAfterRead(@Nonnull I key, @Nonnull S value, long currentTime, long currentDuration) {
+            return getDuration(key);
         }
     }
 
     private class Loader implements CacheLoader<I, S> {
 
+        @SuppressWarnings("unchecked")
         @CheckForNull @Override public S load(@Nonnull I key) throws Exception {
+            // If the entry is waiting to be written, it is newer than what is on disk - use it.
+            S evicted = DataManager.this.awaitingSnapshot.get(key);
+            if (evicted != null) {
+                return evicted;
+            }
+
+            Optional<Service> pending = DataManager.this.saveQueue.getPending(DataManager.this, key);
+            if (pending.isPresent()) {
+                return (S) pending.get();
+            }
+
             try {
                 GENERAL_LOAD_TIMINGS.startTimingIfSync();
                 ACTUAL_LOAD_TIMINGS.startTimingIfSync();
@@ -124,7 +218,10 @@ public abstract class DataManager<I, P, S extends Service> {
     }
 
     public final boolean has(I data) {
-        return this.cache.getIfPresent(data) != null || this.fileExists.test(data);
+        return this.cache.getIfPresent(data) != null
+                || this.awaitingSnapshot.containsKey(data)
+                || this.saveQueue.getPending(this, data).isPresent()
+                || this.fileExists.test(data);
     }
 
     public final Optional<S> get(I data) {
@@ -139,6 +236,48 @@ public abstract class DataManager<I, P, S extends Service> {
         return Optional.empty();
     }
 
+    /**
+     * Gets the entry for the given key without adding it to the cache, so that reading many entries does not evict
+     * the ones that are in use. If the entry is cached or waiting to be saved, that entry is returned. Otherwise, a
+     * new entry is loaded, which will not be saved.
+     *
+     * @param key The key of the entry.
+     * @return The entry, if there is data for it.
+     * @throws Exception if the data could not be loaded.
+     */
+    @SuppressWarnings("unchecked")
+    public final Optional<S> getDetached(I key) throws Exception {
+        S value = this.cache.getIfPresent(key);
+        if (value != null) {
+            return Optional.of(value);
+        }
+
+        value = this.awaitingSnapshot.get(key);
+        if (value != null) {
+            return Optional.of(value);
+        }
+
+        Optional<Service> pending = this.saveQueue.getPending(this, key);
+        if (pending.isPresent()) {
+            return Optional.of((S) pending.get());
+        }
+
+        if (!this.fileExists.test(key)) {
+            return Optional.empty();
+        }
+
+        DataProvider<P> d = this.dataProviderFactory.apply(key, false);
+        if (d == null) {
+            return Optional.empty();
+        }
+
+        return getNew(key, d);
+    }
+
+    final boolean isCached(I key) {
+        return this.cache.getIfPresent(key) != null;
+    }
+
     public final Map<I, S> getAll(Collection<I> keys) {
         return this.cache.getAllPresent(keys);
     }
@@ -160,18 +299,141 @@ public abstract class DataManager<I, P, S extends Service> {
 
     public final void invalidateOld() {
         this.cache.invalidateAll(
-                this.cache.asMap().entrySet().stream().filter(x -> !this.shouldNotExpire(x.getKey())).collect(Collectors.toList())
+                this.cache.asMap().keySet().stream().filter(x -> !this.shouldNotExpire(x)).collect(Collectors.toList())
         );
     }
 
-    public final void saveAll() {
+    /**
+     * Queues the entry with the given key to be saved on the save thread, if it has changed.
+     *
+     * @param key The key of the entry to save.
+     */
+    public final void queueSave(I key) {
+        S value = this.cache.getIfPresent(key);
+        if (value != null) {
+            queueSave(key, value);
+        }
+    }
+
+    private boolean queueSave(I key, S value) {
+        if (!value.isDirty()) {
+            this.savesSkipped.incrementAndGet();
+            return false;
+        }
+
+        // The snapshot is taken here, so the save thread never reads data that is still being changed.
+        Service.SaveAction action;
+        try {
+            action = value.prepareSave();
+        } catch (Exception e) {
+            Nucleus.getNucleus().getLogger().warn("[" + getClassName() + "] Could not prepare " + String.valueOf(key) + " to be saved.");
+            Nucleus.getNucleus().printStackTraceIfDebugMode(e);
+            return false;
+        }
+
+        this.saveQueue.queue(this, key, value, () -> write(key, value, action));
+        return true;
+    }
+
+    private void queueEvicted(I key, S value) {
+        // saveAll may have already queued it.
+        if (this.awaitingSnapshot.get(key) == value) {
+            // Queue before removing, so the loader can always find the entry.
+            queueSave(key, value);
+            this.awaitingSnapshot.remove(key, value);
+        }
+    }
+
+    private void write(I key, S value, Service.SaveAction action) {
         try {
             SAVE_TIMINGS.startTimingIfSync();
-            for (S s : this.cache.asMap().values()) {
-                s.save();
+            action.write();
+            this.savesWritten.incrementAndGet();
+        } catch (Exception e) {
+            if (Nucleus.getNucleus().isDebugMode()) {
+                Nucleus.getNucleus().getLogger().error("[" + getClassName()  + "] Could not save " + String.valueOf(key) + ".", e);
             }
+
+            // Errored. Put value back in cache if it is not there, so that we try again later.
+            Nucleus.getNucleus().getLogger().warn("[" + getClassName() + "] Could not save " + String.valueOf(key) +
+                    ", re-adding to cache to try later.");
+            this.cache.asMap().putIfAbsent(key, value);
         } finally {
             SAVE_TIMINGS.stopTimingIfSync();
         }
     }
+
+    /**
+     * Queues every changed entry to be saved. The data is copied on the main thread, where it is changed, so if this is
+     * called on another thread, it is run on the main thread instead.
+     */
+    public final void saveAll() {
+        if (Sponge.isServerAvailable() && !Sponge.getServer().isMainThread()) {
+            Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(this::saveAll);
+            return;
+        }
+
+        // Don't wait for the scheduler, this might be the last save before the server stops.
+        this.awaitingSnapshot.forEach(this::queueEvicted);
+
+        int queued = 0;
+        int skipped = 0;
+        for (Map.Entry<I, S> entry : this.cache.asMap().entrySet()) {
+            if (queueSave(entry.getKey(), entry.getValue())) {
+                queued++;
+            } else {
+                skipped++;
+            }
+        }
+
+        if (Nucleus.getNucleus().isPrintingSavesAndLoads()) {
+            Nucleus.getNucleus().getLogger().info("[" + getClassName() + "] Queued " + queued + " entries to save, skipped " + skipped
+                    + " unchanged entries.");
+        }
+    }
+
+    /**
+     * Gets the statistics for the in-memory cache, since the cache policy was last set.
+     *
+     * @return The {@link CacheStats}.
+     */
+    public final CacheStats getCacheStats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * Gets the number of entries in the in-memory cache.
+     *
+     * @return The approximate number of entries.
+     */
+    public final long getCacheSize() {
+        return this.cache.estimatedSize();
+    }
+
+    /**
+     * Gets the estimated size of the data in the in-memory cache that counts towards the maximum size, in bytes.
+     *
+     * @return The estimated size.
+     */
+    public final long getCacheWeight() {
+        return this.cache.policy().eviction().map(x -> x.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    /**
+     * Gets the number of entries that have been written to their data provider since startup.
+     *
+     * @return The number of saves that were written.
+     */
+    public final long getSavesWritten() {
+        return this.savesWritten.get();
+    }
+
+    /**
+     * Gets the number of saves that were skipped since startup because the entry had not changed.
+     *
+     * @return The number of saves that were skipped.
+     */
+    public final long getSavesSkipped() {
+        return this.savesSkipped.get();
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.loaders;
+
+import com.google.common.base.Preconditions;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
+import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Predicate;
+
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Holds a small set of on/off states for each online player, so that listeners for frequent events (such as movement)
+ * can check them without going to the player's data.
+ *
+ * <p>Each online player is given a slot when they join, which is seeded from the data modules that own the states.
+ * Those data modules keep the table up to date when the states change.</p>
+ */
+public class PlayerStateTable {
+
+    private static final int INITIAL_SIZE = 64;
+
+    private final Map<State, Seeder<?>> seeders = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> slots = new ConcurrentHashMap<>();
+
+    @GuardedBy("this")
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    @GuardedBy("this")
+    private int nextSlot = 0;
+
+    // Only replaced (when growing) or written to while holding the lock.
+    private volatile AtomicIntegerArray states = new AtomicIntegerArray(INITIAL_SIZE);
+
+    /**
+     * Registers how a state is read from a player's data when they join.
+     *
+     * @param state The {@link State}.
+     * @param module The {@link DataModule} that holds the state.
+     * @param seeder Gets the state from the module.
+     * @param <T> The type of {@link DataModule}.
+     */
+    public <T extends DataModule<ModularUserService>> void registerSeeder(State state, Class<T> module, Predicate<T> seeder) {
+        this.seeders.put(Preconditions.checkNotNull(state), new Seeder<>(module, seeder));
+    }
+
+    /**
+     * Gives the player a slot, and reads their states from their data.
+     *
+     * @param service The {@link ModularUserService} of the player who has joined.
+     */
+    public synchronized void add(ModularUserService service) {
+        UUID uuid = service.getUniqueId();
+        Integer slot = this.slots.get(uuid);
+        if (slot == null) {
+            slot = this.freeSlots.isEmpty() ? this.nextSlot++ : this.freeSlots.pop();
+            if (slot >= this.states.length()) {
+                AtomicIntegerArray current = this.states;
+                AtomicIntegerArray grown = new AtomicIntegerArray(current.length() * 2);
+                for (int i = 0; i < current.length(); i++) {
+                    grown.set(i, current.get(i));
+                }
+
+                this.states = grown;
+            }
+        }
+
+        int value = 0;
+        for (Map.Entry<State, Seeder<?>> entry : this.seeders.entrySet()) {
+            try {
+                if (entry.getValue().test(service)) {
+                    value |= entry.getKey().mask;
+                }
+            } catch (Exception e) {
+                Nucleus.getNucleus().printStackTraceIfDebugMode(e);
+            }
+        }
+
+        this.states.set(slot, value);
+        this.slots.put(uuid, slot);
+    }
+
+    /**
+     * Frees the slot of a player who has left.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public synchronized void remove(UUID uuid) {
+        Integer slot = this.slots.remove(uuid);
+        if (slot != null) {
+            this.states.set(slot, 0);
+            this.freeSlots.push(slot);
+        }
+    }
+
+    /**
+     * Updates a state for a player. Does nothing if the player is not online.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param state The {@link State}.
+     * @param value The new value.
+     */
+    public synchronized void set(UUID uuid, State state, boolean value) {
+        Integer slot = this.slots.get(uuid);
+        if (slot != null) {
+            int current = this.states.get(slot);
+            this.states.set(slot, value ? current | state.mask : current & ~state.mask);
+        }
+    }
+
+    /**
+     * Gets a state for a player.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param state The {@link State}.
+     * @return The state, or {@link Tristate#UNDEFINED} if the player does not have a slot, in which case the owning data
+     *         module should be checked instead.
+     */
+    public Tristate get(UUID uuid, State state) {
+        Integer slot = this.slots.get(uuid);
+        if (slot == null) {
+            return Tristate.UNDEFINED;
+        }
+
+        return Tristate.fromBoolean((this.states.get(slot) & state.mask) != 0);
+    }
+
+    /**
+     * Gets a state for a player, from their data if they do not have a slot.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param state The {@link State}.
+     * @return The state.
+     */
+    public boolean is(UUID uuid, State state) {
+        Tristate value = get(uuid, state);
+        if (value != Tristate.UNDEFINED) {
+            return value.asBoolean();
+        }
+
+        Seeder<?> seeder = this.seeders.get(state);
+        return seeder != null && Nucleus.getNucleus().getUserDataManager().get(uuid).map(seeder::test).orElse(false);
+    }
+
+    public enum State {
+        FROZEN,
+        JAILED,
+        GOD,
+        FLYING,
+        VANISHED,
+        MUTED;
+
+        private final int mask = 1 << ordinal();
+    }
+
+    private static final class Seeder<T extends DataModule<ModularUserService>> {
+
+        private final Class<T> module;
+        private final Predicate<T> predicate;
+
+        private Seeder(Class<T> module, Predicate<T> predicate) {
+            this.module = module;
+            this.predicate = predicate;
+        }
+
+        private boolean test(ModularUserService service) {
+            return this.predicate.test(service.get(this.module));
+        }
+    }
+}
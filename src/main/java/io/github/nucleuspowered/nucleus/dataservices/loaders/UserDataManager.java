@@ -4,10 +4,16 @@
  */
 package io.github.nucleuspowered.nucleus.dataservices.loaders;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.modules.core.datamodules.CoreUserDataModule;
 import ninja.leaping.configurate.ConfigurationNode;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -17,15 +23,100 @@ import org.spongepowered.api.util.Identifiable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class UserDataManager extends DataManager<UUID, ConfigurationNode, ModularUserService> {
 
-    public UserDataManager(BiFunction<UUID, Boolean, DataProvider<ConfigurationNode>> dataProviderFactory, Predicate<UUID> fileExist) {
-        super(dataProviderFactory, fileExist);
+    private final Set<Class<? extends DataModule<ModularUserService>>> prefetchModules = Sets.newConcurrentHashSet();
+
+    // Users who are prefetched but never log in (because they were banned, say) are never recorded, so forget them.
+    private final Cache<UUID, Boolean> prefetched = Caffeine.newBuilder().expireAfterWrite(1, TimeUnit.MINUTES).build();
+    private final AtomicLong prefetchHits = new AtomicLong();
+    private final AtomicLong prefetchMisses = new AtomicLong();
+    private final PlayerStateTable playerStates = new PlayerStateTable();
+
+    public UserDataManager(BiFunction<UUID, Boolean, DataProvider<ConfigurationNode>> dataProviderFactory, Predicate<UUID> fileExist,
+            WriteBehindSaveQueue saveQueue) {
+        super(dataProviderFactory, fileExist, saveQueue);
+        registerPrefetchModule(CoreUserDataModule.class);
+    }
+
+    /**
+     * Registers a {@link DataModule} that is loaded when a user's data is prefetched, because it is used as they log in.
+     *
+     * @param module The {@link DataModule} class.
+     */
+    public void registerPrefetchModule(Class<? extends DataModule<ModularUserService>> module) {
+        this.prefetchModules.add(Preconditions.checkNotNull(module));
+    }
+
+    /**
+     * Loads the data for a user who is about to log in, along with the {@link DataModule}s that are used during login,
+     * so that the login itself does not have to wait for the data to be read. This should not be called on the
+     * server thread.
+     *
+     * @param uuid The {@link UUID} of the user.
+     */
+    public void prefetch(UUID uuid) {
+        if (isCached(uuid) || !has(uuid)) {
+            // Nothing to do - either it's already there, or it's a new player.
+            return;
+        }
+
+        this.prefetched.put(uuid, true);
+        try {
+            get(uuid, false).ifPresent(x -> this.prefetchModules.forEach(x::get));
+        } catch (Exception e) {
+            Nucleus.getNucleus().printStackTraceIfDebugMode(e);
+        }
+    }
+
+    /**
+     * Records whether the data for a user who is logging in was prefetched in time.
+     *
+     * @param uuid The {@link UUID} of the user.
+     */
+    public void recordPrefetchResult(UUID uuid) {
+        if (this.prefetched.asMap().remove(uuid) != null) {
+            if (isCached(uuid)) {
+                this.prefetchHits.incrementAndGet();
+            } else {
+                this.prefetchMisses.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of logins where the prefetched data was ready when the player logged in.
+     *
+     * @return The number of hits.
+     */
+    public long getPrefetchHits() {
+        return this.prefetchHits.get();
+    }
+
+    /**
+     * Gets the number of logins where the prefetched data was not ready when the player logged in.
+     *
+     * @return The number of misses.
+     */
+    public long getPrefetchMisses() {
+        return this.prefetchMisses.get();
+    }
+
+    /**
+     * Gets the {@link PlayerStateTable} for online players.
+     *
+     * @return The {@link PlayerStateTable}.
+     */
+    public PlayerStateTable getPlayerStates() {
+        return this.playerStates;
     }
 
     public ModularUserService getUnchecked(UUID user) {
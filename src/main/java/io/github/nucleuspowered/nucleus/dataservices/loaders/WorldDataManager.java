@@ -19,8 +19,9 @@ import java.util.function.Predicate;
 
 public class WorldDataManager extends DataManager<UUID, ConfigurationNode, ModularWorldService> {
 
-    public WorldDataManager(BiFunction<UUID, Boolean, DataProvider<ConfigurationNode>> dataProviderFactory, Predicate<UUID> fileExist) {
-        super(dataProviderFactory, fileExist);
+    public WorldDataManager(BiFunction<UUID, Boolean, DataProvider<ConfigurationNode>> dataProviderFactory, Predicate<UUID> fileExist,
+            WriteBehindSaveQueue saveQueue) {
+        super(dataProviderFactory, fileExist, saveQueue);
     }
 
     @Override
@@ -0,0 +1,241 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.loaders;
+
+import com.google.common.base.Preconditions;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.Service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Performs data saves on a dedicated thread, so that writing user and world data never happens on the
+ * server thread.
+ *
+ * <p>Saves are keyed by the {@link DataManager} that owns them and the key of the entry in that manager.
+ * Queueing a save for an entry that is already waiting to be written replaces the waiting save, so a burst of
+ * saves for one player results in one write. Entries that are waiting to be written, or are being written,
+ * can be retrieved by their owner so that a reload never reads a file that is about to be overwritten.</p>
+ *
+ * <p>The queue has a soft capacity. Queueing a save never waits - if the queue is over capacity, a warning is logged
+ * and the save is queued anyway.</p>
+ */
+public final class WriteBehindSaveQueue {
+
+    private final Object lock = new Object();
+    private final int capacity;
+
+    @GuardedBy("lock") private final LinkedHashMap<Key, PendingSave> pending = new LinkedHashMap<>();
+    @GuardedBy("lock") private final Map<Key, PendingSave> writing = new HashMap<>();
+    @GuardedBy("lock") private Thread thread = null;
+    @GuardedBy("lock") private boolean overCapacity = false;
+
+    public WriteBehindSaveQueue(int capacity) {
+        Preconditions.checkArgument(capacity > 0);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Queues a save.
+     *
+     * @param owner The owner of the entry, used to keep keys from different owners apart.
+     * @param key The key of the entry.
+     * @param service The {@link Service} that is being saved.
+     * @param save The action that performs the save. This is run on the save thread.
+     */
+    public void queue(Object owner, Object key, Service service, Runnable save) {
+        Key k = new Key(owner, key);
+        PendingSave toSave = new PendingSave(service, save);
+        synchronized (this.lock) {
+            if (this.pending.containsKey(k)) {
+                // Coalesce - only the latest save for this key needs to happen.
+                this.pending.put(k, toSave);
+                return;
+            }
+
+            // The caller is usually the main thread, so it must never wait for the disk. Saves for the same key are
+            // coalesced, so the queue can only grow to the number of entries with changes - warn, but carry on.
+            if (this.pending.size() >= this.capacity && !this.overCapacity) {
+                this.overCapacity = true;
+                Nucleus.getNucleus().getLogger().warn("More than " + this.capacity + " saves are waiting to be written. "
+                        + "Saves are being queued faster than they can be written to disk.");
+            }
+
+            this.pending.put(k, toSave);
+            startIfRequired();
+            this.lock.notifyAll();
+        }
+    }
+
+    /**
+     * Removes any save for the given key that has not started yet.
+     *
+     * @param owner The owner of the entry.
+     * @param key The key of the entry.
+     */
+    public void cancel(Object owner, Object key) {
+        synchronized (this.lock) {
+            if (this.pending.remove(new Key(owner, key)) != null) {
+                this.lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Gets the {@link Service} that is waiting to be saved, or is being saved, for the given key.
+     *
+     * @param owner The owner of the entry.
+     * @param key The key of the entry.
+     * @return The {@link Service}, if there is one.
+     */
+    public Optional<Service> getPending(Object owner, Object key) {
+        Key k = new Key(owner, key);
+        synchronized (this.lock) {
+            PendingSave ps = this.pending.get(k);
+            if (ps == null) {
+                ps = this.writing.get(k);
+            }
+
+            return ps == null ? Optional.empty() : Optional.of(ps.service);
+        }
+    }
+
+    /**
+     * Gets the number of saves that are waiting to be written.
+     *
+     * @return The number of saves.
+     */
+    public int size() {
+        synchronized (this.lock) {
+            return this.pending.size();
+        }
+    }
+
+    /**
+     * Waits until every queued save has been written.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit The {@link TimeUnit} of the timeout.
+     * @return <code>true</code> if the queue was emptied, <code>false</code> if the timeout was reached first.
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long end = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this.lock) {
+            while (!this.pending.isEmpty() || !this.writing.isEmpty()) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                try {
+                    this.lock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @GuardedBy("lock")
+    private void startIfRequired() {
+        if (this.thread == null || !this.thread.isAlive()) {
+            this.thread = new Thread(this::run, "Nucleus Data Save Thread");
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            Key key;
+            PendingSave toSave;
+            synchronized (this.lock) {
+                while (this.pending.isEmpty()) {
+                    try {
+                        this.lock.wait();
+                    } catch (InterruptedException e) {
+                        // Nothing more to do.
+                        this.thread = null;
+                        return;
+                    }
+                }
+
+                Iterator<Map.Entry<Key, PendingSave>> iterator = this.pending.entrySet().iterator();
+                Map.Entry<Key, PendingSave> entry = iterator.next();
+                iterator.remove();
+                if (this.pending.size() < this.capacity / 2) {
+                    // Warn again if it fills up again.
+                    this.overCapacity = false;
+                }
+
+                key = entry.getKey();
+                toSave = entry.getValue();
+                this.writing.put(key, toSave);
+                this.lock.notifyAll();
+            }
+
+            try {
+                toSave.save.run();
+            } catch (Exception e) {
+                Nucleus.getNucleus().getLogger().error("Could not save " + String.valueOf(key.key), e);
+            } finally {
+                synchronized (this.lock) {
+                    this.writing.remove(key);
+                    this.lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private static final class PendingSave {
+
+        private final Service service;
+        private final Runnable save;
+
+        private PendingSave(Service service, Runnable save) {
+            this.service = service;
+            this.save = save;
+        }
+    }
+
+    private static final class Key {
+
+        private final Object owner;
+        private final Object key;
+
+        private Key(Object owner, Object key) {
+            this.owner = Preconditions.checkNotNull(owner);
+            this.key = Preconditions.checkNotNull(key);
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key other = (Key) o;
+            return this.owner == other.owner && this.key.equals(other.key);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(System.identityHashCode(this.owner), this.key);
+        }
+    }
+}
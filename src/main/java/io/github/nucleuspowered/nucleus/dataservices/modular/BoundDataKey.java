@@ -0,0 +1,116 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.modular;
+
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializerCollection;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataKey} field that is bound by a generated {@link DataModuleBinding}.
+ *
+ * <p>The {@link TypeSerializer} for the field's type is looked up once and reused for as long as nodes use the same
+ * {@link TypeSerializerCollection}, rather than being looked up on every load and save.</p>
+ *
+ * @param <T> The type of the field.
+ */
+public final class BoundDataKey<T> {
+
+    private final String path;
+    private final TypeToken<T> type;
+
+    @Nullable private volatile SerializerHolder<T> holder = null;
+
+    public BoundDataKey(String path, TypeToken<T> type) {
+        this.path = path;
+        this.type = type;
+    }
+
+    /**
+     * Gets the value of this key from the node.
+     *
+     * @param node The root node of the module.
+     * @return The value, or <code>null</code> if there isn't one or it could not be read.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T load(ConfigurationNode node) {
+        ConfigurationNode cn = node.getNode(this.path);
+        Object value = cn.getValue();
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            TypeSerializer<T> serializer = getSerializer(cn);
+            if (serializer == null) {
+                return this.type.getRawType().isInstance(value) ? (T) value : null;
+            }
+
+            return serializer.deserialize(this.type, cn);
+        } catch (ObjectMappingException e) {
+            e.printStackTrace();
+            return null;
+        } catch (ClassCastException | IllegalArgumentException e) {
+            Nucleus.getNucleus().getLogger().warn("Could not set field data for data key " + this.path + " - falling back to default.");
+            return null;
+        }
+    }
+
+    /**
+     * Sets the value of this key in the node.
+     *
+     * @param node The root node of the module.
+     * @param value The value, which may be <code>null</code> to remove it.
+     */
+    public void save(ConfigurationNode node, @Nullable T value) {
+        ConfigurationNode cn = node.getNode(this.path);
+        if (value == null) {
+            cn.setValue(null);
+            return;
+        }
+
+        try {
+            TypeSerializer<T> serializer = getSerializer(cn);
+            if (serializer != null) {
+                serializer.serialize(this.type, value, cn);
+            } else if (cn.getOptions().acceptsType(value.getClass())) {
+                cn.setValue(value);
+            } else {
+                throw new ObjectMappingException("No serializer available for type " + this.type);
+            }
+        } catch (Exception e) {
+            Nucleus.getNucleus().getLogger().error("Could not save data key " + this.path + " of type " + this.type.getType().getTypeName(), e);
+        }
+    }
+
+    @Nullable
+    private TypeSerializer<T> getSerializer(ConfigurationNode node) {
+        TypeSerializerCollection serializers = node.getOptions().getSerializers();
+        SerializerHolder<T> h = this.holder;
+        if (h == null || h.serializers != serializers) {
+            h = new SerializerHolder<>(serializers, serializers.get(this.type));
+            this.holder = h;
+        }
+
+        return h.serializer;
+    }
+
+    private static final class SerializerHolder<T> {
+
+        private final TypeSerializerCollection serializers;
+        @Nullable private final TypeSerializer<T> serializer;
+
+        private SerializerHolder(TypeSerializerCollection serializers, @Nullable TypeSerializer<T> serializer) {
+            this.serializers = serializers;
+            this.serializer = serializer;
+        }
+    }
+}
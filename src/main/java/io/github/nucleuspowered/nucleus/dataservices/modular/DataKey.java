@@ -9,6 +9,12 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Marks a field of a {@link DataModule} as being loaded from, and saved to, the given key.
+ *
+ * <p>Fields must not be private or final, so that the {@link DataModuleBinding} that is generated for the module
+ * can set them directly. Modules with private fields are bound by reflection instead.</p>
+ */
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface DataKey {
@@ -14,12 +14,15 @@ import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 
 /**
@@ -30,20 +33,29 @@ import javax.annotation.concurrent.GuardedBy;
 public abstract class DataModule<S extends ModularDataService<S>> {
 
     private static final Map<Class<? extends DataModule<?>>, List<FieldData>> fieldData = Maps.newHashMap();
+    private static final Map<Class<? extends DataModule<?>>, Optional<DataModuleBinding<?>>> bindings = Maps.newHashMap();
     private static final Object lock = new Object();
 
     private final List<FieldData> data;
+    @Nullable private final DataModuleBinding<DataModule<S>> binding;
     private final Object lockingObject = new Object();
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
 
     @SuppressWarnings("unchecked") protected DataModule() {
         synchronized (lock) {
-            data = fieldData.computeIfAbsent((Class<? extends DataModule<?>>) this.getClass(), this::init);
+            Class<? extends DataModule<?>> clazz = (Class<? extends DataModule<?>>) this.getClass();
+            binding = (DataModuleBinding<DataModule<S>>) bindings.computeIfAbsent(clazz, DataModule::getBinding).orElse(null);
+            data = binding == null ? fieldData.computeIfAbsent(clazz, this::init) : Collections.emptyList();
         }
     }
 
     @GuardedBy("lockingObject")
     protected void loadFrom(ConfigurationNode node) {
         synchronized (this.lockingObject) {
+            if (this.binding != null) {
+                this.binding.load(this, node);
+            }
+
             for (FieldData d : data) {
                 try {
                     Optional<?> value = getValue(d.clazz, d.path, node);
@@ -58,11 +70,43 @@ public abstract class DataModule<S extends ModularDataService<S>> {
                 }
             }
 
+            // What we have now matches what is on disk. Migrations mark the module as dirty if they change anything.
+            this.dirty.set(false);
+
             // We loaded, migrate anything that needs to be migrated.
             migrate();
         }
     }
 
+    /**
+     * Marks this module as having changed since it was last saved, so that the owning {@link ModularDataService}
+     * writes it out on the next save.
+     *
+     * <p>Modules must call this from any method that changes a {@link DataKey} field. Callers that change an
+     * object obtained from a module in place must also call this.</p>
+     */
+    public final void markDirty() {
+        this.dirty.set(true);
+    }
+
+    /**
+     * Gets whether this module has changed since it was last saved.
+     *
+     * @return <code>true</code> if so.
+     */
+    public final boolean isDirty() {
+        return this.dirty.get();
+    }
+
+    /**
+     * Clears the dirty flag, returning whether it was set.
+     *
+     * @return <code>true</code> if the module was dirty.
+     */
+    final boolean clearDirty() {
+        return this.dirty.getAndSet(false);
+    }
+
     /**
      * Migrate data
      */
@@ -82,6 +126,10 @@ public abstract class DataModule<S extends ModularDataService<S>> {
     @GuardedBy("lockingObject")
     protected void saveTo(ConfigurationNode node) {
         synchronized (this.lockingObject) {
+            if (this.binding != null) {
+                this.binding.save(this, node);
+            }
+
             for (FieldData d : data) {
                 try {
                     saveFieldData(d.clazz, d.field, d.path, node);
@@ -114,6 +162,19 @@ public abstract class DataModule<S extends ModularDataService<S>> {
         }
     }
 
+    // Bindings are generated by the annotation processor, see DataModuleBinding.
+    private static Optional<DataModuleBinding<?>> getBinding(Class<? extends DataModule<?>> clazz) {
+        try {
+            Class<?> bindingClass = Class.forName(clazz.getName() + "_Binding", true, clazz.getClassLoader());
+            return Optional.of((DataModuleBinding<?>) bindingClass.newInstance());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            Nucleus.getNucleus().getLogger().warn("Could not create the data binding for " + clazz.getName() + ", falling back to reflection.", e);
+            return Optional.empty();
+        }
+    }
+
     private List<FieldData> init(Class<? extends DataModule<?>> clazz) {
         // Get the fields.
         List<Field> fields = Arrays.stream(clazz.getDeclaredFields())
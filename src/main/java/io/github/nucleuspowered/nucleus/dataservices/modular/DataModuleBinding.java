@@ -0,0 +1,35 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.modular;
+
+import ninja.leaping.configurate.ConfigurationNode;
+
+/**
+ * Copies the {@link DataKey} fields of a {@link DataModule} from and to a {@link ConfigurationNode} without
+ * reflection.
+ *
+ * <p>An implementation of this is generated for each {@link DataModule} by the annotation processor in nucleus-ap,
+ * named after the module with the suffix <code>_Binding</code>. Modules without one fall back to reflection.</p>
+ *
+ * @param <M> The type of {@link DataModule}.
+ */
+public interface DataModuleBinding<M extends DataModule<?>> {
+
+    /**
+     * Sets the fields of the module from the node. Fields with no value in the node are left alone.
+     *
+     * @param module The module.
+     * @param node The node to load from.
+     */
+    void load(M module, ConfigurationNode node);
+
+    /**
+     * Sets the values in the node from the fields of the module.
+     *
+     * @param module The module.
+     * @param node The node to save to.
+     */
+    void save(M module, ConfigurationNode node);
+}
@@ -76,7 +76,7 @@ final class DataModuleFactory {
         user.put(CommandSpyUserDataModule.class, x -> new CommandSpyUserDataModule());
         user.put(CoreUserDataModule.class, x -> new CoreUserDataModule());
         user.put(FlyUserDataModule.class, FlyUserDataModule::new);
-        user.put(FreezePlayerUserDataModule.class, x -> new FreezePlayerUserDataModule());
+        user.put(FreezePlayerUserDataModule.class, FreezePlayerUserDataModule::new);
         user.put(HomeUserDataModule.class, HomeUserDataModule::new);
         user.put(IgnoreUserDataModule.class, x -> new IgnoreUserDataModule());
         user.put(JailUserDataModule.class, JailUserDataModule::new);
@@ -84,13 +84,30 @@ final class DataModuleFactory {
         user.put(MailUserDataModule.class, x -> new MailUserDataModule());
         user.put(MessageUserDataModule.class, MessageUserDataModule::new);
         user.put(InvulnerabilityUserDataModule.class, InvulnerabilityUserDataModule::new);
-        user.put(MuteUserDataModule.class, x -> new MuteUserDataModule());
+        user.put(MuteUserDataModule.class, MuteUserDataModule::new);
         user.put(NicknameUserDataModule.class, NicknameUserDataModule::new);
         user.put(NoteUserDataModule.class, x -> new NoteUserDataModule());
         user.put(PowertoolUserDataModule.class, x -> new PowertoolUserDataModule());
         user.put(TeleportUserDataModule.class, x -> new TeleportUserDataModule());
-        user.put(VanishUserDataModule.class, x -> new VanishUserDataModule());
+        user.put(VanishUserDataModule.class, VanishUserDataModule::new);
         user.put(WarnUserDataModule.class, x -> new WarnUserDataModule());
+
+        // Assign the ids up front, so that the module tables in each service are created at the right size.
+        general.keySet().forEach(ModuleIds::of);
+        generalt.keySet().forEach(ModuleIds::of);
+        world.keySet().forEach(ModuleIds::of);
+        worldt.keySet().forEach(ModuleIds::of);
+        user.keySet().forEach(ModuleIds::of);
+        usert.keySet().forEach(ModuleIds::of);
+    }
+
+    /**
+     * Gets the number of module ids that have been assigned, which includes all the modules known to this factory.
+     *
+     * @return The number of ids.
+     */
+    static int getModuleCount() {
+        return ModuleIds.count();
     }
 
     @SuppressWarnings("unchecked")
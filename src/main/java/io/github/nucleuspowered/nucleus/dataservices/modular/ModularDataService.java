@@ -6,7 +6,7 @@ package io.github.nucleuspowered.nucleus.dataservices.modular;
 
 import co.aikar.timings.Timing;
 import co.aikar.timings.Timings;
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.dataservices.AbstractService;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
@@ -14,21 +14,28 @@ import ninja.leaping.configurate.ConfigurationNode;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
 public abstract class ModularDataService<S extends ModularDataService<S>> extends AbstractService<ConfigurationNode> {
 
-    private final Map<Class<?>, DataModule<S>> cached = new HashMap<>();
-    private final Map<Class<?>, TransientModule<S>> transientCache = new HashMap<>();
+    // Modules are held in tables indexed by their ModuleIds. Reads of loaded modules do not lock - the tables are
+    // only replaced, or have entries added, while holding the lock.
+    private volatile AtomicReferenceArray<DataModule<S>> cached = new AtomicReferenceArray<>(DataModuleFactory.getModuleCount());
+    private volatile AtomicReferenceArray<TransientModule<S>> transientCache = new AtomicReferenceArray<>(DataModuleFactory.getModuleCount());
     private final Timing saveTimings = Timings.of(Nucleus.getNucleus(), "Data Modules - Saving");
     private final Timing loadTimings = Timings.of(Nucleus.getNucleus(), "Data Modules - Loading");
     private final Timing loadTransientTimings = Timings.of(Nucleus.getNucleus(), "Transient Modules - Loading");
 
     private final Object lockingObject = new Object();
+    private volatile int estimatedSize = 1;
 
     ModularDataService(DataProvider<ConfigurationNode> dataProvider) throws Exception {
         super(dataProvider);
@@ -36,30 +43,39 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
 
     @SuppressWarnings("unchecked")
     public final <T extends TransientModule<S>> T getTransient(Class<T> module) {
-        if (transientCache.containsKey(module)) {
-            return (T)transientCache.get(module);
+        int id = ModuleIds.of(module);
+        TransientModule<S> loaded = getFromTable(this.transientCache, id);
+        if (loaded != null) {
+            return (T) loaded;
         }
 
-        try {
-            loadTransientTimings.startTimingIfSync();
-
-            T dm;
-            Optional<T> m = tryGetTransient(module);
-            if (m.isPresent()) {
-                dm = m.get();
-            } else {
-                Nucleus.getNucleus().getLogger()
-                        .warn("Attempting to construct " + module.getSimpleName() + " by reflection. Please add this to the factory.");
-                dm = module.newInstance();
+        synchronized (this.lockingObject) {
+            loaded = getFromTable(this.transientCache, id);
+            if (loaded != null) {
+                return (T) loaded;
             }
 
-            setTransient(dm);
-            return dm;
-        } catch (IllegalAccessException | InstantiationException e) {
-            e.printStackTrace();
-            throw new RuntimeException(e);
-        } finally {
-            loadTransientTimings.stopTimingIfSync();
+            try {
+                loadTransientTimings.startTimingIfSync();
+
+                T dm;
+                Optional<T> m = tryGetTransient(module);
+                if (m.isPresent()) {
+                    dm = m.get();
+                } else {
+                    Nucleus.getNucleus().getLogger()
+                            .warn("Attempting to construct " + module.getSimpleName() + " by reflection. Please add this to the factory.");
+                    dm = module.newInstance();
+                }
+
+                this.transientCache = putInTable(this.transientCache, id, dm);
+                return dm;
+            } catch (IllegalAccessException | InstantiationException e) {
+                e.printStackTrace();
+                throw new RuntimeException(e);
+            } finally {
+                loadTransientTimings.stopTimingIfSync();
+            }
         }
     }
 
@@ -67,9 +83,16 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
 
     @SuppressWarnings({"unchecked", "JavaReflectionMemberAccess"})
     public final <T extends DataModule<S>> T get(Class<T> module) {
+        int id = ModuleIds.of(module);
+        DataModule<S> loaded = getFromTable(this.cached, id);
+        if (loaded != null) {
+            return (T) loaded;
+        }
+
         synchronized (this.lockingObject) {
-            if (this.cached.containsKey(module)) {
-                return (T) this.cached.get(module);
+            loaded = getFromTable(this.cached, id);
+            if (loaded != null) {
+                return (T) loaded;
             }
 
             try {
@@ -92,7 +115,7 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
                 }
 
                 dm.loadFrom(this.data);
-                set(dm);
+                this.cached = putInTable(this.cached, ModuleIds.of(dm.getClass()), dm);
                 return dm;
             } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException | InstantiationException e) {
                 e.printStackTrace();
@@ -107,30 +130,134 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
 
     public <T extends DataModule<S>> void set(T dataModule) {
         synchronized (this.lockingObject) {
-            cached.put(dataModule.getClass(), dataModule);
+            dataModule.markDirty();
+            this.cached = putInTable(this.cached, ModuleIds.of(dataModule.getClass()), dataModule);
         }
     }
 
-    private <T extends TransientModule<S>> void setTransient(T dataModule) {
-        transientCache.put(dataModule.getClass(), dataModule);
+    @Nullable
+    private static <M> M getFromTable(AtomicReferenceArray<M> table, int id) {
+        return id < table.length() ? table.get(id) : null;
+    }
+
+    /**
+     * Puts the module into the table, returning a larger copy of the table if the id does not fit in it.
+     * Must be called while holding the lock.
+     */
+    private static <M> AtomicReferenceArray<M> putInTable(AtomicReferenceArray<M> table, int id, M module) {
+        AtomicReferenceArray<M> target = table;
+        if (id >= table.length()) {
+            target = new AtomicReferenceArray<>(Math.max(id + 1, ModuleIds.count()));
+            for (int i = 0; i < table.length(); i++) {
+                target.set(i, table.get(i));
+            }
+        }
+
+        target.set(id, module);
+        return target;
+    }
+
+    @GuardedBy("lockingObject")
+    private List<DataModule<S>> getLoadedModules() {
+        AtomicReferenceArray<DataModule<S>> table = this.cached;
+        List<DataModule<S>> modules = Lists.newArrayList();
+        for (int i = 0; i < table.length(); i++) {
+            DataModule<S> module = table.get(i);
+            if (module != null) {
+                modules.add(module);
+            }
+        }
+
+        return modules;
     }
 
     @Override public void loadInternal() throws Exception {
         super.loadInternal();
-        cached.clear(); // Only clear if no exception was caught.
+        synchronized (this.lockingObject) {
+            // Only clear if no exception was caught.
+            this.cached = new AtomicReferenceArray<>(Math.max(this.cached.length(), ModuleIds.count()));
+        }
+
+        this.estimatedSize = estimateSize(this.data);
+    }
+
+    @Override public int getEstimatedSize() {
+        return this.estimatedSize;
+    }
+
+    // Roughly the length of the node as JSON, without having to serialise it.
+    private static int estimateSize(ConfigurationNode node) {
+        if (node.hasMapChildren()) {
+            int size = 2;
+            for (Map.Entry<Object, ? extends ConfigurationNode> entry : node.getChildrenMap().entrySet()) {
+                size += String.valueOf(entry.getKey()).length() + 4 + estimateSize(entry.getValue());
+            }
+
+            return size;
+        } else if (node.hasListChildren()) {
+            int size = 2;
+            for (ConfigurationNode child : node.getChildrenList()) {
+                size += 1 + estimateSize(child);
+            }
+
+            return size;
+        }
+
+        Object value = node.getValue();
+        return value == null ? 4 : String.valueOf(value).length() + 2;
+    }
+
+    @Override public boolean isDirty() {
+        synchronized (this.lockingObject) {
+            return this.data != null && getLoadedModules().stream().anyMatch(DataModule::isDirty);
+        }
     }
 
     @Override public void saveInternal() throws Exception {
+        prepareSave().write();
+    }
+
+    /**
+     * Writes the modules that have changed into the data, and copies it, so that the copy can be written on another
+     * thread while the modules and data carry on changing.
+     *
+     * <p>This should be called on the thread that changes the modules, which is usually the main thread.</p>
+     */
+    @Override public SaveAction prepareSave() {
+        ConfigurationNode snapshot;
         try {
             saveTimings.startTimingIfSync();
 
-            // If there is nothing in the cache, don't save (because we don't need to).
-            if (data != null && (!cached.isEmpty() || !(data.isVirtual() || data.getValue() == null))) {
-                ImmutableMap.copyOf(cached).values().forEach(x -> x.saveTo(data));
-                super.saveInternal();
+            // Only modules that have changed since the last save need to be written - if none have, the file is already up to date.
+            synchronized (this.lockingObject) {
+                if (this.data == null) {
+                    return () -> {};
+                }
+
+                List<DataModule<S>> toSave = getLoadedModules();
+                toSave.removeIf(x -> !x.clearDirty());
+                if (toSave.isEmpty()) {
+                    return () -> {};
+                }
+
+                toSave.forEach(x -> x.saveTo(this.data));
+                snapshot = this.data.copy();
             }
         } finally {
             saveTimings.stopTimingIfSync();
         }
+
+        return () -> {
+            try {
+                saveData(snapshot);
+            } catch (Exception e) {
+                // Try again next time. A later snapshot might have replaced this one, so everything is marked.
+                synchronized (this.lockingObject) {
+                    getLoadedModules().forEach(DataModule::markDirty);
+                }
+
+                throw e;
+            }
+        };
     }
 }
@@ -4,7 +4,9 @@
  */
 package io.github.nucleuspowered.nucleus.dataservices.modular;
 
+import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import ninja.leaping.configurate.ConfigurationNode;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
@@ -44,6 +46,16 @@ public class ModularUserService extends ModularDataService<ModularUserService> {
         return Sponge.getServer().getPlayer(this.uuid);
     }
 
+    /**
+     * Updates the {@link PlayerStateTable} entry for this user, if they are online.
+     *
+     * @param state The {@link PlayerStateTable.State}.
+     * @param value The new value.
+     */
+    public void setPlayerState(PlayerStateTable.State state, boolean value) {
+        Nucleus.getNucleus().getUserDataManager().getPlayerStates().set(this.uuid, state, value);
+    }
+
     @Override protected String serviceName() {
         return "Nucleus Data for user " + this.uuid.toString() + " (" + getUser().getName() + ")";
     }
@@ -0,0 +1,35 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.modular;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns each {@link DataModule} and {@link TransientModule} class a small, stable integer id, so that a
+ * {@link ModularDataService} can keep its modules in an array rather than a map keyed by class.
+ *
+ * <p>Ids for the modules known to the {@link DataModuleFactory} are assigned when it is loaded, any others when they
+ * are first requested.</p>
+ */
+final class ModuleIds {
+
+    private static final AtomicInteger next = new AtomicInteger();
+
+    private static final ClassValue<Integer> ids = new ClassValue<Integer>() {
+        @Override protected Integer computeValue(Class<?> type) {
+            return next.getAndIncrement();
+        }
+    };
+
+    private ModuleIds() {}
+
+    static int of(Class<?> module) {
+        return ids.get(module);
+    }
+
+    static int count() {
+        return next.get();
+    }
+}
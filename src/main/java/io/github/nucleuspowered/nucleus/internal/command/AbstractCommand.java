@@ -83,15 +83,13 @@ import org.spongepowered.api.world.storage.WorldProperties;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -127,7 +125,8 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
     // Null until set, then should be considered immutable.
     @Nullable private Set<Class<? extends AbstractCommand<?>>> moduleCommands = null;
 
-    private final Map<UUID, Instant> cooldownStore = Maps.newHashMap();
+    // The ID of this command's cooldowns in the CooldownService.
+    private final String cooldownId;
 
     protected final CommandPermissionHandler permissions;
     private final String[] aliases;
@@ -190,6 +189,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         }
 
         this.commandPath = getSubcommandOf();
+        this.cooldownId = "command." + this.commandPath;
 
         // Now, if this is
         RegisterCommand rc = this.getClass().getAnnotation(RegisterCommand.class);
@@ -1035,27 +1035,17 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
             return ContinueMode.CONTINUE;
         }
 
-        // We create a task that executes the command at a later time. Because
-        // we already know we have permission,
-        // we can skip those checks.
-        Task.Builder tb = Sponge.getScheduler().createTaskBuilder().delay(warmupTime, TimeUnit.SECONDS)
-                .execute(new CostCancellableTask(plugin, src, getCost(src, args)) {
-
-                    @Override
-                    public void accept(Task task) {
-                        src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("warmup.end"));
-                        plugin.getWarmupManager().removeWarmup(src.getUniqueId());
-                        onExecute((T) src, args);
-                    }
-                }).name("Command Warmup - " + src.getName());
-
-        // Run an async command async, of course!
-        if (isAsync) {
-            tb.async();
-        }
+        // We hand the warmup manager a task that executes the command at a
+        // later time. Because we already know we have permission, we can skip
+        // those checks. Run an async command async, of course!
+        plugin.getWarmupManager().addWarmup(src.getUniqueId(), new CostCancellableTask(plugin, src, getCost(src, args)) {
 
-        // Add the warmup to the service so we can cancel it if we need to.
-        plugin.getWarmupManager().addWarmup(src.getUniqueId(), tb.submit(plugin));
+            @Override
+            public void accept(Task task) {
+                src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("warmup.end"));
+                onExecute((T) src, args);
+            }
+        }, Duration.ofSeconds(warmupTime), isAsync);
 
         // Tell the user we're warming up.
         src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("warmup.start",
@@ -1078,18 +1068,16 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
     // Cooldowns
     // -------------------------------------
     private ContinueMode checkCooldown(Player src, CommandContext args) {
-        // Remove any expired cooldowns.
-        cleanCooldowns();
-
-        // If they are still in there, then tell them they are still cooling
-        // down.
-        if (!bypassCooldown && !args.hasAny(NoModifiersArgument.NO_COOLDOWN_ARGUMENT) &&
-            !permissions.testCooldownExempt(src) && cooldownStore.containsKey(src.getUniqueId())) {
-
-            Instant l = cooldownStore.get(src.getUniqueId());
-            src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("cooldown.message",
-                    Util.getTimeStringFromSeconds(l.until(Instant.now(), ChronoUnit.SECONDS))));
-            return ContinueMode.STOP;
+        // If they are still cooling down, then tell them how long is left.
+        if (!bypassCooldown && !args.hasAny(NoModifiersArgument.NO_COOLDOWN_ARGUMENT) && !permissions.testCooldownExempt(src)) {
+            Optional<Duration> remaining = Nucleus.getNucleus().getCooldownService().getRemaining(src.getUniqueId(), this.cooldownId);
+            if (remaining.isPresent()) {
+                // Round up, so that a cooldown with less than a second to go is not reported as zero seconds.
+                long seconds = remaining.get().getSeconds() + (remaining.get().getNano() > 0 ? 1 : 0);
+                src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("cooldown.message",
+                        Util.getTimeStringFromSeconds(seconds)));
+                return ContinueMode.STOP;
+            }
         }
 
         return ContinueMode.CONTINUE;
@@ -1101,20 +1089,14 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
             int cooldownTime = Util.getPositiveIntOptionFromSubject(src, cooldownKey)
                 .orElseGet(() -> plugin.getCommandsConfig().getCommandNode(configSection).getNode("cooldown").getInt());
             if (cooldownTime > 0) {
-                // If there is a cooldown, add the cooldown to the list, with
-                // the end time as an Instant.
-                cooldownStore.put(src.getUniqueId(), Instant.now().plus(cooldownTime, ChronoUnit.SECONDS));
+                // If there is a cooldown, start it. The service takes care of removing it once it has expired.
+                Nucleus.getNucleus().getCooldownService().setCooldown(src.getUniqueId(), this.cooldownId, Duration.ofSeconds(cooldownTime));
             }
         }
     }
 
     protected void removeCooldown(UUID uuid) {
-        cooldownStore.remove(uuid);
-    }
-
-    private void cleanCooldowns() {
-        // If the cooldown end is in the past, remove it.
-        cooldownStore.entrySet().removeIf(k -> k.getValue().isBefore(Instant.now()));
+        Nucleus.getNucleus().getCooldownService().removeCooldown(uuid, this.cooldownId);
     }
 
     // -------------------------------------
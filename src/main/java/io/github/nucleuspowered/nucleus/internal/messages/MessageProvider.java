@@ -9,21 +9,44 @@ import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.TextTemplate;
+import org.spongepowered.api.text.serializer.FormattingCodeTextSerializer;
+import org.spongepowered.api.text.serializer.TextSerializers;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public abstract class MessageProvider {
 
+    private static final Pattern argumentPattern = Pattern.compile("\\{([\\d]+)}");
+
     public abstract Optional<String> getMessageFromKey(String key);
-    private final Map<String, TextTemplate> textTemplateMap = Maps.newHashMap();
+
+    /**
+     * Gets all the keys that this provider has messages for.
+     *
+     * @return The keys.
+     */
+    public abstract Set<String> getKeys();
+
+    /**
+     * Gets the serializer that turns the ampersand formatting codes in messages into {@link Text}.
+     *
+     * @return The {@link FormattingCodeTextSerializer}.
+     */
+    protected FormattingCodeTextSerializer getSerializer() {
+        return TextSerializers.FORMATTING_CODE;
+    }
+
+    private final Map<String, TextTemplate> textTemplateMap = new ConcurrentHashMap<>();
 
     public String getMessageWithFormat(String key, String... substitutions) {
         try {
@@ -34,20 +57,46 @@ public abstract class MessageProvider {
     }
 
     public final Text getTextMessageWithFormat(String key, String... substitutions) {
-        return getTextMessageWithTextFormat(key, Arrays.stream(substitutions).map(TextParsingUtils::oldLegacy).collect(Collectors.toList()));
+        List<Text> texts = new ArrayList<>(substitutions.length);
+        for (String substitution : substitutions) {
+            // Only strings with & in them can contain colour codes.
+            texts.add(substitution.indexOf('&') < 0 ? Text.of(substitution) : TextParsingUtils.oldLegacy(substitution, getSerializer()));
+        }
+
+        return getTextMessageWithTextFormat(key, texts);
     }
 
     public final Text getTextMessageWithTextFormat(String key, Text... substitutions) {
         return getTextMessageWithTextFormat(key, Arrays.asList(substitutions));
     }
 
+    /**
+     * Creates the {@link TextTemplate} for every message that does not already have one, in parallel, so that
+     * messages do not have to be parsed the first time they are used.
+     *
+     * <p>Messages that cannot be parsed are skipped, they will fail when they are used instead.</p>
+     */
+    public void precompile() {
+        getKeys().parallelStream().forEach(key -> {
+            try {
+                this.textTemplateMap.computeIfAbsent(key, k -> templateCreator(getMessageWithFormat(k)));
+            } catch (Exception e) {
+                // ignored
+            }
+        });
+    }
+
     private Text getTextMessageWithTextFormat(String key, List<Text> textList) {
-        TextTemplate template = this.textTemplateMap.computeIfAbsent(key, k -> templateCreator(getMessageWithFormat(k)));
+        TextTemplate template = this.textTemplateMap.get(key);
+        if (template == null) {
+            template = this.textTemplateMap.computeIfAbsent(key, k -> templateCreator(getMessageWithFormat(k)));
+        }
+
         if (textList.isEmpty()) {
             return template.toText();
         }
 
-        Map<String, Text> objs = Maps.newHashMap();
+        Map<String, Text> objs = Maps.newHashMapWithExpectedSize(textList.size());
         for (int i = 0; i < textList.size(); i++) {
             objs.put(String.valueOf(i), textList.get(i));
         }
@@ -57,24 +106,25 @@ public abstract class MessageProvider {
 
     private TextTemplate templateCreator(String string) {
         // regex!
-        Matcher mat = Pattern.compile("\\{([\\d]+)}").matcher(string);
+        Matcher mat = argumentPattern.matcher(string);
         List<Integer> map = Lists.newArrayList();
 
         while (mat.find()) {
             map.add(Integer.parseInt(mat.group(1)));
         }
 
-        String[] s = string.split("\\{([\\d]+)}");
+        String[] s = argumentPattern.split(string);
+        FormattingCodeTextSerializer serializer = getSerializer();
 
         List<Object> objects = Lists.newArrayList();
-        Text t = TextParsingUtils.oldLegacy(s[0]);
+        Text t = TextParsingUtils.oldLegacy(s[0], serializer);
         TextParsingUtils.StyleTuple tuple = TextParsingUtils.getLastColourAndStyle(t, null);
         objects.add(t);
         int count = 1;
         for (Integer x : map) {
             objects.add(TextTemplate.arg(x.toString()).optional().color(tuple.colour).style(tuple.style).build());
             if (s.length > count) {
-                t = Text.of(tuple.colour, tuple.style, TextParsingUtils.oldLegacy(s[count]));
+                t = Text.of(tuple.colour, tuple.style, TextParsingUtils.oldLegacy(s[count], serializer));
                 tuple = TextParsingUtils.getLastColourAndStyle(t, null);
                 objects.add(t);
             }
@@ -32,6 +32,7 @@ public class ResourceMessageProvider extends MessageProvider {
         return Optional.empty();
     }
 
+    @Override
     public Set<String> getKeys() {
         return rb.keySet();
     }
@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.internal.permissions;
 
 import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTokenServiceImpl;
 import org.spongepowered.api.Platform;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Listener;
@@ -53,6 +54,10 @@ public class ServiceChangeListener {
             for (ContextCalculator<Subject> contextCalculator : this.contextCalculators) {
                 ((PermissionService) event.getNewProvider()).registerContextCalculator(contextCalculator);
             }
+
+            // Prefixes, suffixes and the like come from the permission service.
+            Nucleus.getNucleus().getInternalServiceManager().getService(NucleusTokenServiceImpl.class)
+                    .ifPresent(NucleusTokenServiceImpl::invalidateAll);
         }
     }
 
@@ -0,0 +1,259 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.base.Preconditions;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.modules.core.datamodules.CoreUserDataModule;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Holds the cooldowns for commands and kits.
+ *
+ * <p>Cooldowns are held in a map, so checking one does not depend on how many there are. To expire them without
+ * scanning the map, each cooldown is also put into a hashed timing wheel of one second buckets, and every tick only
+ * looks at the buckets for the seconds that have passed since the last one. Cooldowns that are longer than the wheel
+ * stay in their bucket until the wheel comes round to them on the right lap.</p>
+ *
+ * <p>Cooldowns that are at least as long as the configured threshold are also stored in the player's data, so that
+ * they survive a restart.</p>
+ */
+public class CooldownService {
+
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final Map<Key, Entry> cooldowns = new ConcurrentHashMap<>();
+    private final Queue<Entry>[] wheel;
+
+    @GuardedBy("this")
+    private long lastTick = Instant.now().getEpochSecond();
+
+    private volatile long persistThreshold = 0;
+
+    @SuppressWarnings("unchecked")
+    public CooldownService() {
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Sets the shortest cooldown that is stored in the player's data.
+     *
+     * @param seconds The number of seconds, or zero to not store any cooldowns.
+     */
+    public void setPersistThreshold(long seconds) {
+        this.persistThreshold = Math.max(0, seconds);
+    }
+
+    /**
+     * Gets the time left on a cooldown.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param id The ID of the cooldown.
+     * @return The time left, if the cooldown has not expired.
+     */
+    public Optional<Duration> getRemaining(UUID uuid, String id) {
+        Key key = new Key(uuid, id);
+        Entry entry = this.cooldowns.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        Instant now = Instant.now();
+        if (!entry.expiry.isAfter(now)) {
+            this.cooldowns.remove(key, entry);
+            return Optional.empty();
+        }
+
+        return Optional.of(Duration.between(now, entry.expiry));
+    }
+
+    /**
+     * Starts a cooldown, replacing any that is running. The cooldown is stored in the player's data if it is long
+     * enough.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param id The ID of the cooldown.
+     * @param duration How long the cooldown lasts.
+     */
+    public void setCooldown(UUID uuid, String id, Duration duration) {
+        setCooldown(uuid, id, duration, true);
+    }
+
+    /**
+     * Starts a cooldown, replacing any that is running.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param id The ID of the cooldown.
+     * @param duration How long the cooldown lasts.
+     * @param persist Whether to store the cooldown in the player's data if it is long enough. Callers that keep track of
+     *                the cooldown in their own data should set this to <code>false</code>.
+     */
+    public void setCooldown(UUID uuid, String id, Duration duration, boolean persist) {
+        Preconditions.checkNotNull(duration);
+        if (duration.isNegative() || duration.isZero()) {
+            removeCooldown(uuid, id);
+            return;
+        }
+
+        long threshold = this.persistThreshold;
+        boolean store = persist && threshold > 0 && duration.getSeconds() >= threshold;
+        Instant expiry = Instant.now().plus(duration);
+        Entry previous = put(new Entry(new Key(uuid, id), expiry, store));
+        if (store) {
+            Nucleus.getNucleus().getUserDataManager().get(uuid).ifPresent(x -> x.get(CoreUserDataModule.class).setCooldown(id, expiry));
+        } else if (previous != null && previous.persisted) {
+            removeFromData(uuid, id);
+        }
+    }
+
+    /**
+     * Removes a cooldown, from the player's data as well if it was stored there.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param id The ID of the cooldown.
+     */
+    public void removeCooldown(UUID uuid, String id) {
+        Entry entry = this.cooldowns.remove(new Key(uuid, id));
+        if (entry != null && entry.persisted) {
+            removeFromData(uuid, id);
+        }
+    }
+
+    /**
+     * Puts the cooldowns that were stored in the player's data back into the service, and removes those that have
+     * expired from the data.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param dataModule The player's {@link CoreUserDataModule}.
+     */
+    public void load(UUID uuid, CoreUserDataModule dataModule) {
+        Instant now = Instant.now();
+        for (Map.Entry<String, Instant> stored : dataModule.getCooldowns().entrySet()) {
+            if (stored.getValue().isAfter(now)) {
+                put(new Entry(new Key(uuid, stored.getKey()), stored.getValue(), true));
+            } else {
+                dataModule.removeCooldown(stored.getKey());
+            }
+        }
+    }
+
+    /**
+     * Removes the cooldowns that have expired since the last tick.
+     */
+    public void tick() {
+        long now;
+        long from;
+        synchronized (this) {
+            now = Instant.now().getEpochSecond();
+            if (now <= this.lastTick) {
+                return;
+            }
+
+            // If we have fallen more than a lap behind, one lap covers every bucket.
+            from = Math.max(this.lastTick + 1, now - WHEEL_MASK);
+            this.lastTick = now;
+        }
+
+        Instant instantNow = Instant.ofEpochSecond(now);
+        for (long second = from; second <= now; second++) {
+            Queue<Entry> bucket = this.wheel[(int) (second & WHEEL_MASK)];
+            List<Entry> nextLap = null;
+            Entry entry;
+            while ((entry = bucket.poll()) != null) {
+                // If the cooldown was replaced or removed, the entry is stale, and the replacement has its own bucket.
+                if (this.cooldowns.get(entry.key) != entry) {
+                    continue;
+                }
+
+                if (entry.expiry.isAfter(instantNow)) {
+                    if (nextLap == null) {
+                        nextLap = new ArrayList<>();
+                    }
+
+                    nextLap.add(entry);
+                } else {
+                    this.cooldowns.remove(entry.key, entry);
+                }
+            }
+
+            if (nextLap != null) {
+                bucket.addAll(nextLap);
+            }
+        }
+    }
+
+    private Entry put(Entry entry) {
+        Entry previous = this.cooldowns.put(entry.key, entry);
+
+        // Round up, so that the cooldown has always expired when its bucket is drained.
+        long second = entry.expiry.getEpochSecond() + (entry.expiry.getNano() > 0 ? 1 : 0);
+        this.wheel[(int) (second & WHEEL_MASK)].add(entry);
+        return previous;
+    }
+
+    private void removeFromData(UUID uuid, String id) {
+        Nucleus.getNucleus().getUserDataManager().get(uuid).ifPresent(x -> x.get(CoreUserDataModule.class).removeCooldown(id));
+    }
+
+    private static final class Key {
+
+        private final UUID uuid;
+        private final String id;
+
+        private Key(UUID uuid, String id) {
+            this.uuid = Preconditions.checkNotNull(uuid);
+            this.id = Preconditions.checkNotNull(id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return this.uuid.equals(key.uuid) && this.id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.uuid, this.id);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Key key;
+        private final Instant expiry;
+        private final boolean persisted;
+
+        private Entry(Key key, Instant expiry, boolean persisted) {
+            this.key = key;
+            this.expiry = expiry;
+            this.persisted = persisted;
+        }
+    }
+}
@@ -4,70 +4,190 @@
  */
 package io.github.nucleuspowered.nucleus.internal.services;
 
-import com.google.common.collect.Maps;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.service.NucleusWarmupManagerService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.CancellableTask;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.scheduler.Task;
 
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 
+/**
+ * Runs warmups from a single repeating task, rather than a scheduler task for each warming player.
+ *
+ * <p>Pending warmups are held in a map by player, so that they can be cancelled when a player moves or runs a command,
+ * and in a queue ordered by when they are due, so that each tick only looks at the warmups that are due. Cancelled
+ * warmups are left in the queue and skipped when they come up.</p>
+ *
+ * <p>Warmups that were added with their own {@link Task}, through the API, still run on that task.</p>
+ */
 public class WarmupManager implements NucleusWarmupManagerService {
 
-    private final Object mapLock = new Object();
+    private static final int CLEANUP_TICKS = 20;
+
+    private final Map<UUID, Warmup> warmups = new ConcurrentHashMap<>();
+
+    @GuardedBy("deadlines")
+    private final PriorityQueue<Warmup> deadlines = new PriorityQueue<>(Comparator.comparingLong(x -> x.deadline));
 
-    @GuardedBy("mapLock")
-    private final Map<UUID, Task> warmupTasks = Maps.newHashMap();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+
+    // Only touched by the tick.
+    private int ticksSinceCleanup = 0;
 
     @Override
     public void addWarmup(UUID player, Task task) {
-        Task t;
-        synchronized (mapLock) {
-            t = warmupTasks.put(player, task);
-        }
+        replace(new Warmup(player, Preconditions.checkNotNull(task), null, 0, false));
+    }
 
-        if (t != null) {
-            t.cancel();
+    /**
+     * Adds a warmup that is run by this manager, cancelling any warmup the player already has.
+     *
+     * @param player The {@link UUID} of the player to add a warmup for.
+     * @param action The {@link CancellableTask} to run when the warmup ends.
+     * @param delay How long the warmup lasts.
+     * @param async Whether to run the action off the main thread.
+     */
+    public void addWarmup(UUID player, CancellableTask action, Duration delay, boolean async) {
+        Warmup warmup = new Warmup(player, null, Preconditions.checkNotNull(action), System.nanoTime() + delay.toNanos(), async);
 
-            Consumer<Task> ct = t.getConsumer();
-            if (ct instanceof CancellableTask) {
-                ((CancellableTask) ct).onCancel();
-            }
+        // In the map first, so the tick never sees the warmup in the queue and thinks it was cancelled.
+        replace(warmup);
+        synchronized (this.deadlines) {
+            this.deadlines.add(warmup);
         }
     }
 
     @Override
     public boolean removeWarmup(UUID player) {
-        if (warmupTasks.containsKey(player)) {
-            Task t;
-            synchronized (mapLock) {
-                t = warmupTasks.remove(player);
+        Warmup warmup = this.warmups.remove(player);
+        return warmup != null && cancel(warmup);
+    }
+
+    @Override
+    public void cleanup() {
+        // Only warmups with their own task need cleaning up, the rest are removed when they run.
+        this.warmups.values().removeIf(x -> x.task != null && !Sponge.getScheduler().getTaskById(x.task.getUniqueId()).isPresent());
+    }
+
+    /**
+     * Gets the number of warmups that have not yet run or been cancelled.
+     *
+     * @return The number of warmups.
+     */
+    public int getPendingWarmups() {
+        return this.warmups.size();
+    }
+
+    /**
+     * Gets how late, on average, warmups have been run after they were due.
+     *
+     * @return The average latency.
+     */
+    public Duration getAverageLatency() {
+        long count = this.completed.sum();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(this.totalLatency.sum() / count);
+    }
+
+    /**
+     * Runs the warmups that are due. Must be called on the main thread.
+     *
+     * @param task The {@link Task} that is calling this.
+     */
+    public void tick(Task task) {
+        if (++this.ticksSinceCleanup >= CLEANUP_TICKS) {
+            this.ticksSinceCleanup = 0;
+            cleanup();
+        }
+
+        long now = System.nanoTime();
+        List<Warmup> due = null;
+        synchronized (this.deadlines) {
+            while (!this.deadlines.isEmpty() && this.deadlines.peek().deadline - now <= 0) {
+                if (due == null) {
+                    due = Lists.newArrayList();
+                }
+
+                due.add(this.deadlines.poll());
             }
+        }
 
-            if (t != null && t.cancel()) {
-                if (t.getConsumer() instanceof CancellableTask) {
-                    ((CancellableTask) t.getConsumer()).onCancel();
+        if (due == null) {
+            return;
+        }
+
+        for (Warmup warmup : due) {
+            // If it's not in the map, it was cancelled or replaced.
+            if (!this.warmups.remove(warmup.player, warmup)) {
+                continue;
+            }
+
+            this.completed.increment();
+            this.totalLatency.add(now - warmup.deadline);
+            if (warmup.async) {
+                Sponge.getScheduler().createTaskBuilder().async().execute(warmup.action).name("Nucleus - Warmup").submit(Nucleus.getNucleus());
+            } else {
+                try {
+                    warmup.action.accept(task);
+                } catch (Exception e) {
+                    e.printStackTrace();
                 }
+            }
+        }
+    }
 
-                return true;
+    private void replace(Warmup warmup) {
+        Warmup previous = this.warmups.put(warmup.player, warmup);
+        if (previous != null) {
+            cancel(previous);
+        }
+    }
+
+    private boolean cancel(Warmup warmup) {
+        if (warmup.task != null) {
+            if (!warmup.task.cancel()) {
+                return false;
+            }
+
+            Consumer<Task> ct = warmup.task.getConsumer();
+            if (ct instanceof CancellableTask) {
+                ((CancellableTask) ct).onCancel();
             }
+        } else {
+            warmup.action.onCancel();
         }
 
-        return false;
+        return true;
     }
 
-    @Override
-    public void cleanup() {
-        synchronized (mapLock) {
-            warmupTasks.entrySet().stream().filter(v -> !Sponge.getGame().getScheduler().getScheduledTasks().contains(v.getValue()))
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList())
-                    .forEach(warmupTasks::remove);
+    private static final class Warmup {
+
+        private final UUID player;
+        @Nullable private final Task task;
+        @Nullable private final CancellableTask action;
+        private final long deadline;
+        private final boolean async;
+
+        private Warmup(UUID player, @Nullable Task task, @Nullable CancellableTask action, long deadline, boolean async) {
+            this.player = player;
+            this.task = task;
+            this.action = action;
+            this.deadline = deadline;
+            this.async = async;
         }
     }
 }
@@ -0,0 +1,207 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.util.Tuple;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * A token that has been parsed ahead of time, so that it can be applied without parsing the token string again.
+ *
+ * <p>The {@link NucleusMessageTokenService.TokenParser} (and, for Nucleus tokens, the {@link Tokens.Translator}) that
+ * the token refers to is looked up the first time the token is applied, and again only if tokens have been
+ * registered or unregistered since. Values are reused according to the parser's
+ * {@link NucleusMessageTokenService.Volatility} for the token.</p>
+ */
+final class CompiledToken {
+
+    private static final Pattern suffixPattern = Pattern.compile(":([sp]+)$", Pattern.CASE_INSENSITIVE);
+    private static final CompiledToken INVALID = new CompiledToken(Type.INVALID, "", "", null, false, false);
+
+    private final Type type;
+
+    // The plugin ID for plugin tokens, the option for option tokens, the primary token for primary tokens.
+    private final String target;
+
+    // The token input for plugin tokens.
+    private final String input;
+
+    // The variable string for primary tokens, if there is one.
+    @Nullable private final String variable;
+    private final boolean appendSpace;
+    private final boolean prependSpace;
+
+    // Identifies the value of this token (before spaces are added) when it is reused.
+    private final String valueKey;
+
+    @Nullable private volatile Resolved resolved = null;
+
+    private CompiledToken(Type type, String target, String input, @Nullable String variable, boolean appendSpace, boolean prependSpace) {
+        this.type = type;
+        this.target = target;
+        this.input = input;
+        this.variable = variable;
+        this.appendSpace = appendSpace;
+        this.prependSpace = prependSpace;
+        this.valueKey = type.name() + ":" + target + ":" + input + "|" + (variable == null ? "" : variable);
+    }
+
+    /**
+     * Parses a token.
+     *
+     * @param token The token, with or without the surrounding braces.
+     * @return The {@link CompiledToken}.
+     */
+    static CompiledToken compile(String token) {
+        token = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
+        Matcher m = suffixPattern.matcher(token);
+        boolean appendSpace = false;
+        boolean prependSpace = false;
+        if (m.find(0)) {
+            String match = m.group(1).toLowerCase();
+            appendSpace = match.contains("s");
+            prependSpace = match.contains("p");
+
+            token = token.substring(0, m.start());
+        }
+
+        if (token.startsWith("pl:") || token.startsWith("p:")) {
+            // Plugin identifiers are of the form pl:<pluginid>:<identifier>
+            String[] tokSplit = token.split(":", 3);
+            if (tokSplit.length < 3) {
+                return INVALID;
+            }
+
+            return new CompiledToken(Type.PLUGIN, tokSplit[1], tokSplit[2], null, appendSpace, prependSpace);
+        } else if (token.startsWith("o:")) { // Option identifier.
+            return new CompiledToken(Type.OPTION, token.substring(2), "", null, appendSpace, prependSpace);
+        }
+
+        // Standard.
+        if (token.isEmpty()) {
+            return INVALID;
+        }
+
+        String[] tokenData = token.split("\\|", 2);
+        return new CompiledToken(Type.PRIMARY, tokenData[0], "", tokenData.length == 2 ? tokenData[1] : null, appendSpace, prependSpace);
+    }
+
+    /**
+     * Gets the value of this token.
+     *
+     * @param service The {@link NucleusTokenServiceImpl} to get token parsers from.
+     * @param source The {@link CommandSource} the token is for.
+     * @param variables The variables that are available to the token.
+     * @return The {@link Text}, if there is one.
+     */
+    Optional<Text> apply(NucleusTokenServiceImpl service, CommandSource source, Map<String, Object> variables) {
+        Optional<Text> toReturn;
+        if (this.type == Type.INVALID) {
+            return Optional.empty();
+        } else if (this.type == Type.OPTION) {
+            toReturn = service.getValue(this.valueKey, NucleusMessageTokenService.Volatility.PLAYER, source, variables,
+                    () -> NucleusTokenServiceImpl.getTextFromOption(source, this.target));
+        } else {
+            Resolved r = resolve(service);
+            if (r == null) {
+                return Optional.empty();
+            }
+
+            toReturn = service.getValue(this.valueKey, r.volatility, source, variables,
+                    () -> r.translator != null ? r.translator.get(source, r.variable, variables) : r.parser.parse(r.input, source, variables));
+        }
+
+        if (this.appendSpace) {
+            toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(x, Util.SPACE));
+        }
+
+        if (this.prependSpace) {
+            toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(Util.SPACE, x));
+        }
+
+        return toReturn;
+    }
+
+    @Nullable
+    private Resolved resolve(NucleusTokenServiceImpl service) {
+        int version = service.getRegistrationVersion();
+        Resolved r = this.resolved;
+        if (r != null && r.version == version) {
+            return r;
+        }
+
+        NucleusMessageTokenService.TokenParser parser;
+        String parserInput;
+        if (this.type == Type.PLUGIN) {
+            parser = service.getTokenParser(this.target).orElse(null);
+            parserInput = this.input;
+        } else {
+            Tuple<NucleusMessageTokenService.TokenParser, String> primary = service.getPrimaryTokenParserAndIdentifier(this.target).orElse(null);
+            if (primary == null) {
+                return null;
+            }
+
+            parser = primary.getFirst();
+            parserInput = this.variable == null ? primary.getSecond() : primary.getSecond() + "|" + this.variable;
+        }
+
+        if (parser == null) {
+            return null;
+        }
+
+        r = new Resolved(version, parser, parserInput);
+        if (parser instanceof Tokens && r.translator == null) {
+            // Nucleus tokens can be registered without changing the version, so don't keep this.
+            return r;
+        }
+
+        this.resolved = r;
+        return r;
+    }
+
+    private enum Type {
+        PLUGIN,
+        OPTION,
+        PRIMARY,
+        INVALID
+    }
+
+    private static final class Resolved {
+
+        private final int version;
+        private final NucleusMessageTokenService.TokenParser parser;
+        private final String input;
+        @Nullable private final Tokens.Translator translator;
+        private final String variable;
+        private final NucleusMessageTokenService.Volatility volatility;
+
+        private Resolved(int version, NucleusMessageTokenService.TokenParser parser, String input) {
+            this.version = version;
+            this.parser = parser;
+            this.input = input;
+            if (parser instanceof Tokens) {
+                // Skip Tokens#parse, which would split the input each time.
+                String[] split = input.split("\\|", 2);
+                this.translator = ((Tokens) parser).getTranslator(split[0]);
+                this.variable = split.length == 2 ? split[1] : "";
+                this.volatility = ((Tokens) parser).getVolatilityForTranslator(split[0]);
+            } else {
+                this.translator = null;
+                this.variable = "";
+                this.volatility = parser.getVolatility(input);
+            }
+        }
+    }
+}
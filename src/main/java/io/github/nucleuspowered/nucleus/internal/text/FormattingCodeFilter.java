@@ -0,0 +1,152 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.base.Preconditions;
+import org.spongepowered.api.service.permission.Subject;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Removes, or finds, the <code>&amp;</code> colour and style codes in a string that a {@link Subject} does not have
+ * permission to use.
+ *
+ * <p>The codes a subject may use are worked out once, held as a bitmask, and cached for a short time (there is no event
+ * for permission changes, so the cache expires instead), so filtering a message is a single pass over it with no
+ * permission checks.</p>
+ */
+public final class FormattingCodeFilter {
+
+    private static final String CODES = "0123456789abcdefklmnor";
+    private static final int[] codeIndex = new int[128];
+
+    static {
+        Arrays.fill(codeIndex, -1);
+        for (int i = 0; i < CODES.length(); i++) {
+            char c = CODES.charAt(i);
+            codeIndex[c] = i;
+            codeIndex[Character.toUpperCase(c)] = i;
+        }
+    }
+
+    private final String[][] permissions = new String[CODES.length()][];
+    private final Cache<String, Integer> allowedCodes = Caffeine.newBuilder().expireAfterWrite(30, TimeUnit.SECONDS).build();
+
+    /**
+     * Creates the filter.
+     *
+     * @param permissionsForCode Gets the permissions for a lower case code, any one of which allows the code to be
+     *                           used. If no permissions are returned, the code is always allowed.
+     */
+    public FormattingCodeFilter(Function<Character, String[]> permissionsForCode) {
+        for (int i = 0; i < CODES.length(); i++) {
+            this.permissions[i] = Preconditions.checkNotNull(permissionsForCode.apply(CODES.charAt(i)));
+        }
+    }
+
+    /**
+     * Removes the codes that the {@link Subject} does not have permission to use from the message, along with any
+     * <code>&amp;</code> characters directly before them.
+     *
+     * @param subject The {@link Subject}.
+     * @param message The message.
+     * @return The message, without the codes.
+     */
+    public String strip(Subject subject, String message) {
+        int first = message.indexOf('&');
+        if (first < 0) {
+            return message;
+        }
+
+        int allowed = getAllowedCodes(subject);
+        StringBuilder sb = null;
+        int copied = 0;
+        int length = message.length();
+        int i = first;
+        while (i < length) {
+            if (message.charAt(i) != '&') {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            while (i < length && message.charAt(i) == '&') {
+                i++;
+            }
+
+            if (i < length && !isAllowed(allowed, message.charAt(i))) {
+                if (sb == null) {
+                    sb = new StringBuilder(length);
+                }
+
+                sb.append(message, copied, start);
+                copied = ++i;
+            }
+        }
+
+        if (sb == null) {
+            return message;
+        }
+
+        return sb.append(message, copied, length).toString();
+    }
+
+    /**
+     * Gets the first code in the message that the {@link Subject} does not have permission to use.
+     *
+     * @param subject The {@link Subject}.
+     * @param message The message.
+     * @return The lower case code, or <code>0</code> if every code in the message is allowed.
+     */
+    public char findDisallowed(Subject subject, String message) {
+        int i = message.indexOf('&');
+        if (i < 0) {
+            return 0;
+        }
+
+        int allowed = getAllowedCodes(subject);
+        int length = message.length() - 1;
+        for (; i < length; i++) {
+            if (message.charAt(i) == '&' && !isAllowed(allowed, message.charAt(i + 1))) {
+                return Character.toLowerCase(message.charAt(i + 1));
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Forgets the codes that each {@link Subject} is allowed to use.
+     */
+    public void invalidateAll() {
+        this.allowedCodes.invalidateAll();
+    }
+
+    private int getAllowedCodes(Subject subject) {
+        return this.allowedCodes.get(subject.getIdentifier(), k -> {
+            int mask = 0;
+            for (int i = 0; i < this.permissions.length; i++) {
+                if (this.permissions[i].length == 0 || Arrays.stream(this.permissions[i]).anyMatch(subject::hasPermission)) {
+                    mask |= 1 << i;
+                }
+            }
+
+            return mask;
+        });
+    }
+
+    private static boolean isAllowed(int allowed, char c) {
+        if (c >= codeIndex.length) {
+            return true;
+        }
+
+        int index = codeIndex[c];
+        return index < 0 || (allowed & (1 << index)) != 0;
+    }
+}
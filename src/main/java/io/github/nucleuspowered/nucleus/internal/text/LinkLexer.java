@@ -0,0 +1,326 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+import javax.annotation.Nullable;
+
+/**
+ * Finds URLs, and (optionally) <code>[message](url)</code> and <code>[message](/command)</code> links, in a message in
+ * a single forward pass.
+ *
+ * <p>This recognises the same grammar as the regular expressions that {@link TextParsingUtils} used to run over every
+ * chat message, and returns the same parts as their groups. Those expressions are kept in the tests, to check this
+ * against.</p>
+ */
+public final class LinkLexer {
+
+    private LinkLexer() {}
+
+    /**
+     * Finds the next URL or link in the message.
+     *
+     * @param message The message.
+     * @param from The index to start looking from.
+     * @param withLinks Whether to look for links, and use the URL grammar for templates.
+     * @return The {@link Link}, or <code>null</code> if there are no more.
+     */
+    @Nullable
+    public static Link next(String message, int from, boolean withLinks) {
+        int length = message.length();
+        for (int start = from; start < length; start++) {
+            if (start == 0) {
+                // The start of the message counts as whitespace. If that doesn't match, the first character might.
+                Link link = matchAfterWhitespace(message, 0, 0, withLinks);
+                if (link != null) {
+                    return link;
+                }
+            }
+
+            if (isWhitespace(message.charAt(start))) {
+                Link link = matchAfterWhitespace(message, start, start + 1, withLinks);
+                if (link != null) {
+                    return link;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private static Link matchAfterWhitespace(String message, int start, int index, boolean withLinks) {
+        int length = message.length();
+        String whitespace = message.substring(start, index);
+
+        // Optional reset, then as many colour and style codes as there are.
+        String reset = null;
+        if (index + 1 < length && message.charAt(index) == '&' && Character.toLowerCase(message.charAt(index + 1)) == 'r') {
+            reset = message.substring(index, index + 2);
+            index += 2;
+        }
+
+        int colourStart = index;
+        while (index + 1 < length && message.charAt(index) == '&' && isCode(message.charAt(index + 1))) {
+            index += 2;
+        }
+
+        String colour = index == colourStart ? null : message.substring(colourStart, index);
+
+        // A bare URL, with optional options.
+        int urlStart = index;
+        int optionsEnd = matchOptions(message, index);
+        if (optionsEnd >= 0) {
+            urlStart = optionsEnd;
+        }
+
+        int urlEnd = matchUrl(message, urlStart, withLinks ? Grammar.TEMPLATE : Grammar.CHAT);
+        if (urlEnd >= 0) {
+            return new Link(Type.URL, start, urlEnd, whitespace, reset, colour,
+                    optionsEnd >= 0 ? message.substring(index, optionsEnd) : null,
+                    message.substring(urlStart, urlEnd), null);
+        }
+
+        if (!withLinks || index >= length || message.charAt(index) != '[') {
+            return null;
+        }
+
+        // [message]{options}(url), then [message]{options}(/command)
+        Link link = matchBracketed(message, start, index, whitespace, reset, colour, Type.SPECIAL_URL);
+        if (link == null) {
+            link = matchBracketed(message, start, index, whitespace, reset, colour, Type.COMMAND);
+        }
+
+        return link;
+    }
+
+    @Nullable
+    private static Link matchBracketed(String message, int start, int index, String whitespace, @Nullable String reset,
+            @Nullable String colour, Type type) {
+        int length = message.length();
+
+        // The shortest message that the rest matches after. The message must not cross a line.
+        for (int close = index + 2; close < length && !isLineTerminator(message.charAt(close - 1)); close++) {
+            if (message.charAt(close) != ']') {
+                continue;
+            }
+
+            int optionsEnd = matchOptions(message, close + 1);
+            int open = optionsEnd >= 0 ? optionsEnd : close + 1;
+            if (open >= length || message.charAt(open) != '(') {
+                continue;
+            }
+
+            int targetEnd;
+            if (type == Type.SPECIAL_URL) {
+                targetEnd = matchUrl(message, open + 1, Grammar.BRACKETED);
+                if (targetEnd < 0 || targetEnd >= length || message.charAt(targetEnd) != ')') {
+                    continue;
+                }
+            } else {
+                targetEnd = matchCommand(message, open + 1);
+                if (targetEnd < 0) {
+                    continue;
+                }
+            }
+
+            return new Link(type, start, targetEnd + 1, whitespace, reset, colour,
+                    optionsEnd >= 0 ? message.substring(close + 1, optionsEnd) : null,
+                    message.substring(open + 1, targetEnd), message.substring(index + 1, close));
+        }
+
+        return null;
+    }
+
+    // {letters}, returning the index after the closing brace, or -1.
+    private static int matchOptions(String message, int index) {
+        int length = message.length();
+        if (index >= length || message.charAt(index) != '{') {
+            return -1;
+        }
+
+        int i = index + 1;
+        while (i < length && isLetter(message.charAt(i))) {
+            i++;
+        }
+
+        if (i == index + 1 || i >= length || message.charAt(i) != '}') {
+            return -1;
+        }
+
+        return i + 1;
+    }
+
+    // /command), returning the index of the closing bracket, or -1.
+    private static int matchCommand(String message, int index) {
+        int length = message.length();
+        if (index >= length || message.charAt(index) != '/') {
+            return -1;
+        }
+
+        // At least one character, which may itself be a bracket.
+        for (int i = index + 1; i < length; i++) {
+            char c = message.charAt(i);
+            if (isLineTerminator(c)) {
+                return -1;
+            }
+
+            if (c == ')' && i > index + 1) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    // Matches a URL, returning the index after it, or -1.
+    private static int matchUrl(String message, int index, Grammar grammar) {
+        int length = message.length();
+        int host = index + schemeLength(message, index);
+
+        // One or more labels followed by a dot, then a top level domain of at least two characters. If the labels
+        // match, the rest of the URL runs to the next space (or bracket, for bracketed URLs).
+        boolean matched = false;
+        for (int i = host; i < length; i++) {
+            char c = message.charAt(i);
+            if (c == '.') {
+                if (i == host || message.charAt(i - 1) == '.') {
+                    break;
+                }
+
+                if (i + 2 < length && grammar.isTld(message.charAt(i + 1)) && grammar.isTld(message.charAt(i + 2))) {
+                    matched = true;
+                    break;
+                }
+            } else if (!grammar.isLabel(c)) {
+                break;
+            }
+        }
+
+        if (!matched) {
+            return -1;
+        }
+
+        int end = host;
+        while (end < length && !isWhitespace(message.charAt(end)) && !(grammar == Grammar.BRACKETED && message.charAt(end) == ')')) {
+            end++;
+        }
+
+        return end;
+    }
+
+    private static int schemeLength(String message, int index) {
+        if (message.regionMatches(true, index, "https://", 0, 8)) {
+            return 8;
+        } else if (message.regionMatches(true, index, "http://", 0, 7)) {
+            return 7;
+        }
+
+        return 0;
+    }
+
+    private static boolean isCode(char c) {
+        return (c >= '0' && c <= '9') || "abcdeflmnrokABCDEFLMNROK".indexOf(c) >= 0;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9');
+    }
+
+    // The characters matched by \s.
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // The characters not matched by . without DOTALL.
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private enum Grammar {
+        // Labels may contain hyphens, the top level domain may not.
+        CHAT(true, false),
+
+        // Labels may not contain hyphens, the top level domain may.
+        TEMPLATE(false, true),
+
+        // As chat, but the URL ends at a closing bracket.
+        BRACKETED(true, false);
+
+        private final boolean hyphenInLabel;
+        private final boolean hyphenInTld;
+
+        Grammar(boolean hyphenInLabel, boolean hyphenInTld) {
+            this.hyphenInLabel = hyphenInLabel;
+            this.hyphenInTld = hyphenInTld;
+        }
+
+        private boolean isLabel(char c) {
+            return isAlphanumeric(c) || (this.hyphenInLabel && c == '-');
+        }
+
+        private boolean isTld(char c) {
+            return isAlphanumeric(c) || (this.hyphenInTld && c == '-');
+        }
+    }
+
+    public enum Type {
+        URL,
+        SPECIAL_URL,
+        COMMAND
+    }
+
+    /**
+     * A URL or link that was found in a message.
+     */
+    public static final class Link {
+
+        public final Type type;
+
+        /**
+         * The index of the start of the link, including the whitespace and codes before it.
+         */
+        public final int start;
+
+        /**
+         * The index after the end of the link.
+         */
+        public final int end;
+
+        /**
+         * The whitespace before the link, which is empty at the start of the message.
+         */
+        public final String whitespace;
+        @Nullable public final String reset;
+        @Nullable public final String colour;
+        @Nullable public final String options;
+
+        /**
+         * The URL, or the command for {@link Type#COMMAND} links.
+         */
+        public final String target;
+
+        /**
+         * The message to display, for bracketed links.
+         */
+        @Nullable public final String message;
+
+        private Link(Type type, int start, int end, String whitespace, @Nullable String reset, @Nullable String colour,
+                @Nullable String options, String target, @Nullable String message) {
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.whitespace = whitespace;
+            this.reset = reset;
+            this.colour = colour;
+            this.options = options;
+            this.target = target;
+            this.message = message;
+        }
+    }
+}
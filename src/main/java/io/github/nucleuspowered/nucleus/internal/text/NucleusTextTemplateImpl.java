@@ -8,6 +8,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import io.github.nucleuspowered.nucleus.util.Tuples;
 import ninja.leaping.configurate.ConfigurationOptions;
@@ -39,6 +40,7 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
     private final String representation;
     private final TextTemplate textTemplate;
     private final Map<String, Function<CommandSource, Text>> tokenMap = Maps.newHashMap();
+    private final TokenStep[] plan;
 
     public NucleusTextTemplateImpl(String representation) {
         this.representation = representation;
@@ -46,6 +48,11 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
         this.textTemplate = t.getFirst();
 
         tokenMap.putAll(t.getSecond());
+
+        // Work out how to fill each argument now, rather than each time the template is used.
+        this.plan = textTemplate.getArguments().keySet().stream()
+                .map(k -> new TokenStep(k, tokenMap.get(k.toLowerCase())))
+                .toArray(TokenStep[]::new);
     }
 
     @Override public boolean isEmpty() {
@@ -71,25 +78,27 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
             @Nullable Map<String, Object> variables) {
         final Map<String, Object> variables2 = variables == null ? emptyVariables : variables;
 
-        Map<String, TextTemplate.Arg> tokens = textTemplate.getArguments();
-        Map<String, Text> finalArgs = Maps.newHashMap();
-
-        tokens.forEach((k, v) -> {
-            String key = k.toLowerCase();
+        NucleusMessageTokenService tokenService = Nucleus.getNucleus().getMessageTokenService();
+        NucleusTokenServiceImpl impl = tokenService instanceof NucleusTokenServiceImpl ? (NucleusTokenServiceImpl) tokenService : null;
+        Map<String, Text> finalArgs = Maps.newHashMapWithExpectedSize(plan.length);
 
+        for (TokenStep step : plan) {
             Text t;
-            if (tokenMap.containsKey(key)) {
-                t = tokenMap.get(key).apply(source);
-            } else if (tokensArray != null && tokensArray.containsKey(key)) {
-                t = tokensArray.get(key).apply(source).orElse(null);
+            Function<CommandSource, Optional<Text>> supplied;
+            if (step.fixed != null) {
+                t = step.fixed.apply(source);
+            } else if (tokensArray != null && (supplied = tokensArray.get(step.key)) != null) {
+                t = supplied.apply(source).orElse(null);
+            } else if (impl != null) {
+                t = impl.parseToken(step.token, source, variables2).orElse(null);
             } else {
-                t = Nucleus.getNucleus().getMessageTokenService().parseToken(key, source, variables2).orElse(null);
+                t = tokenService.parseToken(step.key, source, variables2).orElse(null);
             }
 
             if (t != null) {
-                finalArgs.put(k, t);
+                finalArgs.put(step.argument, t);
             }
-        });
+        }
 
         return textTemplate.apply(finalArgs).build();
     }
@@ -98,6 +107,21 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
         return textTemplate.toText();
     }
 
+    private static final class TokenStep {
+
+        private final String argument;
+        private final String key;
+        private final CompiledToken token;
+        @Nullable private final Function<CommandSource, Text> fixed;
+
+        private TokenStep(String argument, @Nullable Function<CommandSource, Text> fixed) {
+            this.argument = argument;
+            this.key = argument.toLowerCase();
+            this.token = CompiledToken.compile(this.key);
+            this.fixed = fixed;
+        }
+    }
+
     /**
      * Creates a {@link TextTemplate} from an Ampersand encoded string.
      */
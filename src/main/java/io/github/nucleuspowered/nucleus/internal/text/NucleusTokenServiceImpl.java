@@ -4,6 +4,8 @@
  */
 package io.github.nucleuspowered.nucleus.internal.text;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
@@ -14,6 +16,8 @@ import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
 import io.github.nucleuspowered.nucleus.api.exceptions.PluginAlreadyRegisteredException;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.plugin.PluginContainer;
@@ -21,21 +25,41 @@ import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.serializer.TextSerializers;
 import org.spongepowered.api.util.Tuple;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
-public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
+public class NucleusTokenServiceImpl implements NucleusMessageTokenService, Reloadable {
+
+    // Sponge has no event for changes to a subject's permissions or options, so values that depend on the source (such
+    // as the prefix and suffix) are only kept for a short time. After such a change, they can be out of date for up to
+    // this long, unless the permission service is replaced or Nucleus is reloaded, which clear them straight away.
+    private static final long SOURCE_VALUE_SECONDS = 5;
 
-    private static final Pattern suffixPattern = Pattern.compile(":([sp]+)$", Pattern.CASE_INSENSITIVE);
     private final Map<String, TokenParser> tokenStore = Maps.newHashMap();
     private final Map<String, Tuple<TokenParser, String>> primaryTokenStore = Maps.newHashMap();
     private final NucleusPlugin plugin;
 
+    // Changes whenever a token parser or primary token is registered or removed, so compiled tokens know when to look
+    // their parsers up again.
+    private final AtomicInteger registrationVersion = new AtomicInteger();
+
+    // Reused token values, see getValue.
+    private final Map<String, SharedValue> sharedValues = new ConcurrentHashMap<>();
+    private final Cache<String, Map<String, Optional<Text>>> sourceValues = Caffeine.newBuilder()
+            .expireAfterWrite(SOURCE_VALUE_SECONDS, TimeUnit.SECONDS)
+            .build();
+    private final LongAdder valueHits = new LongAdder();
+    private final LongAdder valueMisses = new LongAdder();
+
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType") private final Optional<Text> EMPTY = Optional.empty();
 
     public NucleusTokenServiceImpl(NucleusPlugin plugin) {
@@ -58,6 +82,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
 
         tokenStore.put(pluginContainer.getId(), textFunction);
+        onRegistrationChange();
     }
 
     @Override public boolean unregister(PluginContainer pluginContainer) {
@@ -66,6 +91,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         TokenParser parser = tokenStore.remove(pluginContainer.getId());
         if (parser != null) {
             primaryTokenStore.entrySet().removeIf(x -> x.getValue().getFirst().equals(parser));
+            onRegistrationChange();
             return true;
         }
 
@@ -78,6 +104,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
             // Register!
             primaryTokenStore.put(primaryIdentifier.toLowerCase(), Tuple.of(tokenStore.get(registeringPlugin.getId()),
                     identiferToMapTo.toLowerCase()));
+            onRegistrationChange();
             return true;
         }
 
@@ -113,45 +140,26 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
     }
 
-    private Optional<Text> getTextFromToken(String token, CommandSource source, Map<String, Object> variables) {
-        token = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
-        Matcher m = suffixPattern.matcher(token);
-        boolean addSpace = false;
-        boolean prependSpace = false;
-        if (m.find(0)) {
-            String match = m.group(1).toLowerCase();
-            addSpace = match.contains("s");
-            prependSpace = match.contains("p");
-
-            token = token.replaceAll(":[sp]+$", "");
-        }
+    /**
+     * Gets a number that changes whenever a token parser or primary token is registered or removed.
+     *
+     * @return The version.
+     */
+    int getRegistrationVersion() {
+        return registrationVersion.get();
+    }
 
+    /**
+     * Gets the value of a token that has already been parsed.
+     *
+     * @param token The {@link CompiledToken}.
+     * @param source The {@link CommandSource} the token is for.
+     * @param variables The variables that are available to the token.
+     * @return The {@link Text}, if there is one.
+     */
+    Optional<Text> parseToken(CompiledToken token, CommandSource source, @Nullable Map<String, Object> variables) {
         try {
-            Optional<Text> toReturn;
-            if (token.startsWith("pl:") || token.startsWith("p:")) {
-                // Plugin identifiers are of the form pl:<pluginid>:<identifier>
-                String[] tokSplit = token.split(":", 3);
-                if (tokSplit.length < 3) {
-                    return EMPTY;
-                }
-
-                toReturn = applyToken(tokSplit[1], tokSplit[2], source, variables);
-            } else if (token.startsWith("o:")) { // Option identifier.
-                toReturn = getTextFromOption(source, token.substring(2));
-            } else {
-                // Standard.
-                toReturn = applyPrimaryToken(token, source, variables);
-            }
-
-            if (addSpace) {
-                toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(x, Util.SPACE));
-            }
-
-            if (prependSpace) {
-                toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(Util.SPACE, x));
-            }
-
-            return toReturn;
+            return token.apply(this, source, variables == null ? Collections.emptyMap() : variables);
         } catch (Exception e) {
             if (plugin.isDebugMode()) {
                 e.printStackTrace();
@@ -161,7 +169,95 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
     }
 
-    private Optional<Text> getTextFromOption(CommandSource cs, String option) {
+    /**
+     * Gets the value of a token, reusing an earlier value if the {@link Volatility} of the token allows it. Values are
+     * only reused for tokens that have no variables.
+     *
+     * @param valueKey The key that identifies the token.
+     * @param volatility The {@link Volatility} of the token.
+     * @param source The {@link CommandSource} the token is for.
+     * @param variables The variables that are available to the token.
+     * @param valueSupplier Gets the value of the token.
+     * @return The value.
+     */
+    Optional<Text> getValue(String valueKey, Volatility volatility, CommandSource source, Map<String, Object> variables,
+            Supplier<Optional<Text>> valueSupplier) {
+        if (volatility == Volatility.ALWAYS || !variables.isEmpty()) {
+            return valueSupplier.get();
+        }
+
+        if (volatility == Volatility.PLAYER) {
+            Map<String, Optional<Text>> values = this.sourceValues.get(source.getIdentifier(), k -> new ConcurrentHashMap<>());
+            Optional<Text> value = values.get(valueKey);
+            if (value != null) {
+                valueHits.increment();
+                return value;
+            }
+
+            valueMisses.increment();
+            value = valueSupplier.get();
+            values.put(valueKey, value);
+            return value;
+        }
+
+        // Shared between all sources.
+        long tick = volatility == Volatility.CONSTANT ? -1 : Sponge.getServer().getRunningTimeTicks();
+        SharedValue shared = this.sharedValues.get(valueKey);
+        if (shared != null && shared.tick == tick) {
+            valueHits.increment();
+            return shared.value;
+        }
+
+        valueMisses.increment();
+        Optional<Text> value = valueSupplier.get();
+        this.sharedValues.put(valueKey, new SharedValue(tick, value));
+        return value;
+    }
+
+    /**
+     * Removes the token values that have been kept for the given {@link CommandSource}.
+     *
+     * @param source The {@link CommandSource}.
+     */
+    public void invalidate(CommandSource source) {
+        this.sourceValues.invalidate(source.getIdentifier());
+    }
+
+    /**
+     * Removes the token values that have been kept for every {@link CommandSource}, such as when the permission service
+     * has changed.
+     */
+    public void invalidateAll() {
+        this.sourceValues.invalidateAll();
+    }
+
+    public long getValueHits() {
+        return valueHits.sum();
+    }
+
+    public long getValueMisses() {
+        return valueMisses.sum();
+    }
+
+    @Override public void onReload() {
+        clearValues();
+    }
+
+    private void onRegistrationChange() {
+        registrationVersion.incrementAndGet();
+        clearValues();
+    }
+
+    private void clearValues() {
+        this.sharedValues.clear();
+        this.sourceValues.invalidateAll();
+    }
+
+    private Optional<Text> getTextFromToken(String token, CommandSource source, Map<String, Object> variables) {
+        return parseToken(CompiledToken.compile(token), source, variables);
+    }
+
+    static Optional<Text> getTextFromOption(CommandSource cs, String option) {
         if (cs instanceof Player) {
             return Util.getOptionFromSubject(cs, option).map(TextSerializers.FORMATTING_CODE::deserialize);
         }
@@ -172,4 +268,15 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
     public Tokens getNucleusTokenParser() {
         return ((Tokens)tokenStore.get("nucleus"));
     }
+
+    private static final class SharedValue {
+
+        private final long tick;
+        private final Optional<Text> value;
+
+        private SharedValue(long tick, Optional<Text> value) {
+            this.tick = tick;
+            this.value = value;
+        }
+    }
 }
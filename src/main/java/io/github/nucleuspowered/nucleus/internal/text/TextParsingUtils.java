@@ -24,6 +24,7 @@ import org.spongepowered.api.text.format.TextColor;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.text.format.TextStyle;
 import org.spongepowered.api.text.format.TextStyles;
+import org.spongepowered.api.text.serializer.FormattingCodeTextSerializer;
 import org.spongepowered.api.text.serializer.TextSerializers;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
@@ -48,157 +49,144 @@ public class TextParsingUtils {
 
     private static final Pattern colours = Pattern.compile(".*?(?<colour>(&[0-9a-flmnrok])+)$");
 
-    private final Pattern enhancedUrlParser =
-            Pattern.compile("(?<first>(^|\\s))(?<reset>&r)?(?<colour>(&[0-9a-flmnrok])+)?"
-                + "((?<options>\\{[a-z]+?})?(?<url>(http(s)?://)?([A-Za-z0-9]+\\.)+[A-Za-z0-9-]{2,}\\S*)|"
-                + "(?<specialUrl>(\\[(?<msg>.+?)](?<optionssurl>\\{[a-z]+})?\\((?<sUrl>(http(s)?://)?([A-Za-z0-9-]+\\.)+[A-Za-z0-9]{2,}[^\\s)]*)\\)))|"
-                + "(?<specialCmd>(\\[(?<sMsg>.+?)](?<optionsscmd>\\{[a-z]+})?\\((?<sCmd>/.+?)\\))))",
-                Pattern.CASE_INSENSITIVE);
+    private static final StyleTuple EMPTY = new StyleTuple(TextColors.NONE, TextStyles.NONE);
 
     private CoreConfigAdapter cca = null;
 
-    private static final Pattern urlParser =
-            Pattern.compile("(?<first>(^|\\s))(?<reset>&r)?(?<colour>(&[0-9a-flmnrok])+)?"
-                            + "(?<options>\\{[a-z]+?})?(?<url>(http(s)?://)?([A-Za-z0-9-]+\\.)+[A-Za-z0-9]{2,}\\S*)",
-                    Pattern.CASE_INSENSITIVE);
-    private static final StyleTuple EMPTY = new StyleTuple(TextColors.NONE, TextStyles.NONE);
-
     public TextParsingUtils(NucleusPlugin plugin) {
         this.plugin = plugin;
     }
 
     public static Text addUrls(String message) {
+        return addUrls(message, TextSerializers.FORMATTING_CODE);
+    }
+
+    /**
+     * Turns a message with ampersand formatting codes into {@link Text}, making any URLs in it clickable.
+     *
+     * @param message The message.
+     * @param serializer The {@link FormattingCodeTextSerializer} to turn the text between the URLs into {@link Text}.
+     * @return The {@link Text}.
+     */
+    public static Text addUrls(String message, FormattingCodeTextSerializer serializer) {
         if (message == null || message.isEmpty()) {
             return Text.EMPTY;
         }
 
-        Matcher m = urlParser.matcher(message);
-        if (!m.find()) {
-            return TextSerializers.FORMATTING_CODE.deserialize(message);
+        LinkLexer.Link link = LinkLexer.next(message, 0, false);
+        if (link == null) {
+            return serializer.deserialize(message);
         }
 
         List<Text> texts = Lists.newArrayList();
-        String remaining = message;
+        int previousEnd = 0;
         TextParsingUtils.StyleTuple st = TextParsingUtils.EMPTY;
         do {
-            // We found a URL. We split on the URL that we have.
-            String[] textArray = remaining.split(urlParser.pattern(), 2);
+            // We found a URL. Add the text before it regardless.
             Text first = Text.builder().color(st.colour).style(st.style)
-                    .append(TextSerializers.FORMATTING_CODE.deserialize(textArray[0])).build();
-
-            // Add this text to the list regardless.
+                    .append(serializer.deserialize(message.substring(previousEnd, link.start))).build();
             texts.add(first);
-
-            // If we have more to do, shove it into the "remaining" variable.
-            if (textArray.length == 2) {
-                remaining = textArray[1];
-            } else {
-                remaining = null;
-            }
+            previousEnd = link.end;
 
             // Get the last colour & styles
-            String colourMatch = m.group("colour");
-            if (colourMatch != null && !colourMatch.isEmpty()) {
+            if (link.colour != null) {
 
                 // If there is a reset, explicitly do it.
                 TextStyle reset = TextStyles.NONE;
-                if (m.group("reset") != null) {
+                if (link.reset != null) {
                     reset = TextStyles.RESET;
                 }
 
-                first = Text.of(reset, TextSerializers.FORMATTING_CODE.deserialize(m.group("colour") + " "));
+                first = Text.of(reset, serializer.deserialize(link.colour + " "));
             }
 
             st = TextParsingUtils.getLastColourAndStyle(first, st);
 
             // Build the URL
-            String whiteSpace = m.group("first");
-            String url = m.group("url");
-            texts.add(TextParsingUtils.getTextForUrl(url, url, whiteSpace, st, m.group("options")));
-        } while (remaining != null && m.find());
+            texts.add(TextParsingUtils.getTextForUrl(link.target, link.target, link.whitespace, st, link.options, serializer));
+        } while ((link = LinkLexer.next(message, previousEnd, false)) != null);
 
         // Add the last bit.
-        if (remaining != null) {
-            texts.add(Text.builder().color(st.colour).style(st.style)
-                    .append(TextSerializers.FORMATTING_CODE.deserialize(remaining)).build());
-        }
+        texts.add(Text.builder().color(st.colour).style(st.style)
+                .append(serializer.deserialize(message.substring(previousEnd))).build());
 
         // Join it all together.
         return Text.join(texts);
     }
 
     public static Text oldLegacy(String message) {
+        return oldLegacy(message, TextSerializers.FORMATTING_CODE);
+    }
+
+    public static Text oldLegacy(String message, FormattingCodeTextSerializer serializer) {
         Matcher colourMatcher = colours.matcher(message);
         if (colourMatcher.matches()) {
-            Text first = TextSerializers.FORMATTING_CODE.deserialize(message.replace(colourMatcher.group("colour"), ""));
+            Text first = serializer.deserialize(message.replace(colourMatcher.group("colour"), ""));
             String match = colourMatcher.group("colour") + " ";
-            Text t = TextSerializers.FORMATTING_CODE.deserialize(match);
+            Text t = serializer.deserialize(match);
             return Text.of(first, t.getColor(), first.getStyle().and(t.getStyle()));
         }
 
-        return TextSerializers.FORMATTING_CODE.deserialize(message);
+        return serializer.deserialize(message);
+    }
+
+    /**
+     * Gets the serializer that turns the ampersand formatting codes in templates and token values into {@link Text}.
+     *
+     * @return The {@link FormattingCodeTextSerializer}.
+     */
+    protected FormattingCodeTextSerializer getSerializer() {
+        return TextSerializers.FORMATTING_CODE;
     }
 
     public Tuples.NullableTuple<List<TextRepresentable>, Map<String, Function<CommandSource, Text>>> createTextTemplateFragmentWithLinks(String message) {
         Preconditions.checkNotNull(message, "message");
+        FormattingCodeTextSerializer serializer = getSerializer();
         if (message.isEmpty()) {
             return new Tuples.NullableTuple<>(Lists.newArrayList(Text.EMPTY), null);
         }
 
-        Matcher m = enhancedUrlParser.matcher(message);
-        if (!m.find()) {
-            return new Tuples.NullableTuple<>(Lists.newArrayList(oldLegacy(message)), null);
+        LinkLexer.Link link = LinkLexer.next(message, 0, true);
+        if (link == null) {
+            return new Tuples.NullableTuple<>(Lists.newArrayList(oldLegacy(message, serializer)), null);
         }
 
         Map<String, Function<CommandSource, Text>> args = Maps.newHashMap();
         List<TextRepresentable> texts = Lists.newArrayList();
-        String remaining = message;
+        int previousEnd = 0;
         StyleTuple st = TextParsingUtils.EMPTY;
         do {
-            // We found a URL. We split on the URL that we have.
-            String[] textArray = remaining.split(enhancedUrlParser.pattern(), 2);
+            // We found a URL. Add the text before it regardless.
             TextRepresentable first = Text.builder().color(st.colour).style(st.style)
-                    .append(oldLegacy(textArray[0])).build();
-
-            // Add this text to the list regardless.
+                    .append(oldLegacy(message.substring(previousEnd, link.start), serializer)).build();
             texts.add(first);
-
-            // If we have more to do, shove it into the "remaining" variable.
-            if (textArray.length == 2) {
-                remaining = textArray[1];
-            } else {
-                remaining = null;
-            }
+            previousEnd = link.end;
 
             // Get the last colour & styles
-            String colourMatch = m.group("colour");
-            if (colourMatch != null && !colourMatch.isEmpty()) {
+            if (link.colour != null) {
 
                 // If there is a reset, explicitly do it.
                 TextStyle reset = TextStyles.NONE;
-                if (m.group("reset") != null) {
+                if (link.reset != null) {
                     reset = TextStyles.RESET;
                 }
 
-                first = Text.of(reset, oldLegacy(m.group("colour")));
+                first = Text.of(reset, oldLegacy(link.colour, serializer));
             }
 
             st = getLastColourAndStyle(first, st);
 
             // Build the URL
-            String whiteSpace = m.group("first");
-            if (m.group("url") != null) {
-                String url = m.group("url");
-                texts.add(getTextForUrl(url, url, whiteSpace, st, m.group("options")));
-            } else if (m.group("specialUrl") != null) {
-                String url = m.group("sUrl");
-                String msg = m.group("msg");
-                texts.add(getTextForUrl(url, msg, whiteSpace, st, m.group("optionssurl")));
+            String whiteSpace = link.whitespace;
+            if (link.type == LinkLexer.Type.URL) {
+                texts.add(getTextForUrl(link.target, link.target, whiteSpace, st, link.options, serializer));
+            } else if (link.type == LinkLexer.Type.SPECIAL_URL) {
+                texts.add(getTextForUrl(link.target, link.message, whiteSpace, st, link.options, serializer));
             } else {
                 // Must be commands.
-                String cmd = m.group("sCmd");
-                String msg = m.group("sMsg");
-                String optionList = m.group("optionsscmd");
+                String cmd = link.target;
+                String msg = link.message;
+                String optionList = link.options;
 
                 if (cmd.contains("{{subject}}")) {
                     String arg = UUID.randomUUID().toString();
@@ -212,18 +200,17 @@ public class TextParsingUtils {
                     texts.add(Text.of(st.colour, st.style, getCmd(msg, cmd, optionList, whiteSpace)));
                 }
             }
-        } while (remaining != null && m.find());
+        } while ((link = LinkLexer.next(message, previousEnd, true)) != null);
 
         // Add the last bit.
-        if (remaining != null) {
-            Text.Builder tb = Text.builder().color(st.colour).style(st.style).append(TextSerializers.FORMATTING_CODE.deserialize(remaining));
-            if (remaining.matches("^\\s+&r.*")) {
-                tb.style(TextStyles.RESET);
-            }
-
-            texts.add(tb.build());
+        String remaining = message.substring(previousEnd);
+        Text.Builder tb = Text.builder().color(st.colour).style(st.style).append(serializer.deserialize(remaining));
+        if (remaining.matches("^\\s+&r.*")) {
+            tb.style(TextStyles.RESET);
         }
 
+        texts.add(tb.build());
+
         // Return the list.
         return new Tuples.NullableTuple<>(texts, args);
     }
@@ -261,8 +248,9 @@ public class TextParsingUtils {
         return TextActions.showText(plugin.getMessageProvider().getTextMessageWithFormat("chat.command.click", cmd));
     }
 
-    private static Text getTextForUrl(String url, String msg, String whiteSpace, StyleTuple st, @Nullable String optionString) {
-        String toParse = TextSerializers.FORMATTING_CODE.stripCodes(url);
+    private static Text getTextForUrl(String url, String msg, String whiteSpace, StyleTuple st, @Nullable String optionString,
+            FormattingCodeTextSerializer serializer) {
+        String toParse = serializer.stripCodes(url);
         Nucleus plugin = Nucleus.getNucleus();
 
         try {
@@ -24,11 +24,13 @@ import java.util.Optional;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public final class Tokens implements NucleusMessageTokenService.TokenParser {
 
     public static final Tokens INSTANCE = new Tokens();
     private final Map<String, Translator> translatorMap = Maps.newHashMap();
+    private final Map<String, NucleusMessageTokenService.Volatility> volatilityMap = Maps.newHashMap();
 
     private Tokens() {
         translatorMap.put("name", (p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToName(getFromVariableIfExists(p, v, m))));
@@ -37,24 +39,31 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
 
         translatorMap.put("prefix", (p, v, m) -> getTextFromOption(getFromVariableIfExists(p, v, m), "prefix"));
         translatorMap.put("suffix", (p, v, m) -> getTextFromOption(getFromVariableIfExists(p, v, m), "suffix"));
+        volatilityMap.put("prefix", NucleusMessageTokenService.Volatility.PLAYER);
+        volatilityMap.put("suffix", NucleusMessageTokenService.Volatility.PLAYER);
 
         translatorMap.put("playerdisplayname", (p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m))));
         translatorMap.put("displayname", (p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m))));
 
         translatorMap.put("maxplayers", (p, v, m) -> Optional.of(Text.of(Sponge.getServer().getMaxPlayers())));
         translatorMap.put("onlineplayers", (p, v, m) -> Optional.of(Text.of(Sponge.getServer().getOnlinePlayers().size())));
+        volatilityMap.put("maxplayers", NucleusMessageTokenService.Volatility.TICK);
+        volatilityMap.put("onlineplayers", NucleusMessageTokenService.Volatility.TICK);
         translatorMap.put("currentworld", (p, v, m) -> Optional.of(Text.of(getWorld(getFromVariableIfExists(p, v, m)).getName())));
         translatorMap.put("time", (p, v, m) -> Optional.of(Text.of(String.valueOf(Util
                 .getTimeFromTicks(getWorld(getFromVariableIfExists(p, v, m)).getProperties().getWorldTime())))));
 
         translatorMap.put("uniquevisitor", (p, v, m) -> Optional.of(Text.of(Nucleus.getNucleus()
                 .getGeneralService().getTransient(UniqueUserCountTransientModule.class).getUniqueUserCount())));
+        volatilityMap.put("uniquevisitor", NucleusMessageTokenService.Volatility.TICK);
 
         translatorMap.put("ipaddress", (p, v, m) -> Optional.of(Text.of(p instanceof RemoteSource ?
             ((RemoteSource)p).getConnection().getAddress().getAddress().toString() :
             "localhost")));
+        volatilityMap.put("ipaddress", NucleusMessageTokenService.Volatility.PLAYER);
 
         translatorMap.put("subject", (p, v, m) -> Optional.of(Text.of((p instanceof ConsoleSource ? "-" : p.getName()))));
+        volatilityMap.put("subject", NucleusMessageTokenService.Volatility.PLAYER);
     }
 
     @Nonnull @Override public Optional<Text> parse(String tokenInput, CommandSource source, Map<String, Object> variables) {
@@ -68,6 +77,18 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
         return translatorMap.getOrDefault(split[0].toLowerCase(), (p, v, m) -> Optional.empty()).get(source, var, variables);
     }
 
+    @Override public NucleusMessageTokenService.Volatility getVolatility(String tokenInput) {
+        return getVolatilityForTranslator(tokenInput.split("\\|", 2)[0].toLowerCase());
+    }
+
+    NucleusMessageTokenService.Volatility getVolatilityForTranslator(String name) {
+        return volatilityMap.getOrDefault(name, NucleusMessageTokenService.Volatility.ALWAYS);
+    }
+
+    @Nullable Translator getTranslator(String name) {
+        return translatorMap.get(name);
+    }
+
     public Set<String> getTokenNames() {
         return Sets.newHashSet(translatorMap.keySet());
     }
@@ -105,7 +126,7 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
 
     private static Optional<Text> getTextFromOption(CommandSource cs, String option) {
         return Util.getOptionFromSubject(cs, option)
-                .map(x -> x.isEmpty() ? null : TextSerializers.FORMATTING_CODE.deserialize(x));
+                .map(x -> x.isEmpty() ? null : Nucleus.getNucleus().getTextParsingUtils().getSerializer().deserialize(x));
     }
 
     @FunctionalInterface
@@ -5,19 +5,16 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import org.spongepowered.api.GameState;
 import org.spongepowered.api.Sponge;
 
 import java.io.IOException;
-import java.time.Instant;
+import java.time.Duration;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
-import java.util.List;
 import java.util.Locale;
 
 import javax.inject.Inject;
@@ -26,11 +23,9 @@ public abstract class AbstractLoggingHandler {
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT)
         .withLocale(Locale.getDefault()).withZone(ZoneId.systemDefault());
-    protected DateRotatableFileLogger logger;
-    private final List<String> queueEntry = Lists.newArrayList();
+    protected volatile DateRotatableFileLogger logger;
     private final String directoryName;
     private final String filePrefix;
-    private final Object locking = new Object();
     private final Nucleus plugin = Nucleus.getNucleus();
 
     @Inject
@@ -40,10 +35,10 @@ public abstract class AbstractLoggingHandler {
     }
 
     public void queueEntry(String s) {
-        if (logger != null) {
-            synchronized (locking) {
-                queueEntry.add(s);
-            }
+        DateRotatableFileLogger l = logger;
+        if (l != null) {
+            // The time is taken now, the entry is written on the logger's own thread.
+            l.logEntry(System.currentTimeMillis(), s);
         }
     }
 
@@ -63,53 +58,29 @@ public abstract class AbstractLoggingHandler {
 
     protected abstract boolean enabledLog();
 
-    public void onTick() {
-        if (queueEntry.isEmpty()) {
-            return;
-        }
-
-        List<String> l;
-        synchronized (locking) {
-            l = Lists.newArrayList(queueEntry);
-            queueEntry.clear();
-        }
-
-        if (logger == null) {
-            if (enabledLog()) {
-                try {
-                    createLogger();
-                } catch (IOException e) {
-                    plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
-                    if (plugin.isDebugMode()) {
-                        e.printStackTrace();
-                    }
+    /**
+     * Gets how long the logger should wait between writing batches of entries to the log file.
+     *
+     * @return The {@link Duration}.
+     */
+    protected Duration flushInterval() {
+        return Duration.ofSeconds(1);
+    }
 
-                    return;
+    public void onTick() {
+        if (logger == null && enabledLog()) {
+            try {
+                createLogger();
+            } catch (IOException e) {
+                plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
+                if (plugin.isDebugMode()) {
+                    e.printStackTrace();
                 }
-            } else {
-                return;
-            }
-        }
-
-        try {
-            writeEntry(l);
-        } catch (IOException e) {
-            plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
-            if (plugin.isDebugMode()) {
-                e.printStackTrace();
             }
         }
     }
 
     protected void createLogger() throws IOException {
-        logger = new DateRotatableFileLogger(directoryName, filePrefix, s -> "[" +
-            formatter.format(Instant.now().atZone(ZoneOffset.systemDefault())) +
-            "] " + s);
-    }
-
-    private void writeEntry(Iterable<String> entry) throws IOException {
-        if (logger != null) {
-            logger.logEntry(entry);
-        }
+        logger = new DateRotatableFileLogger(directoryName, filePrefix, formatter, flushInterval());
     }
 }
@@ -5,7 +5,8 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 
 import java.io.Closeable;
@@ -13,117 +14,288 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
-import java.util.Iterator;
-import java.util.function.Function;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
+import javax.annotation.Nullable;
+
+/**
+ * Writes log entries to a file that is rotated each day, and when the logger is restarted.
+ *
+ * <p>Entries are queued without locking from any thread, along with the time they were queued, and written by a
+ * dedicated writer thread in batches, which are flushed to disk once per flush interval. Rotated files are
+ * compressed on a background thread so that rotation never holds up the writer.</p>
+ */
 public class DateRotatableFileLogger implements Closeable {
 
     private final static Path nucleusBase = Paths.get("logs/nucleus");
+    private final static DateTimeFormatter fileDateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private final static long closeTimeoutMillis = 10000;
+
+    // Shared between all loggers. The thread is not a daemon thread so that a file that is being compressed when the
+    // server stops is not left half written, it exits once there is nothing more to compress.
+    private final static ExecutorService compressor;
+
+    // Files that are waiting to be, or are being, compressed. A file that is still being compressed when the next one
+    // is opened would otherwise be queued again, and fail because it has already been deleted.
+    private final static Set<Path> compressing = ConcurrentHashMap.newKeySet();
+
+    static {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("Nucleus Log Compression Thread").build());
+        executor.allowCoreThreadTimeOut(true);
+        compressor = executor;
+    }
 
     private final Path directory;
     private final String filenamePrefix;
-    private Instant currentDate;
+    @Nullable private final DateTimeFormatter timestampFormatter;
+    private volatile long flushIntervalNanos;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final Thread writerThread;
+    private volatile boolean isClosed = false;
+
+    // Only touched by the writer thread.
     private LogFile file;
-    private final Function<String, String> formatter;
-    private boolean isClosed = false;
+    private long nextRotation = Long.MIN_VALUE;
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedPrefix = "";
 
-    public DateRotatableFileLogger(String directory, String filenamePrefix, Function<String, String> formatter) throws IOException {
+    /**
+     * Creates the logger, and starts its writer thread.
+     *
+     * @param directory The directory, under <code>logs/nucleus</code>, to write logs to.
+     * @param filenamePrefix The prefix of the log files.
+     * @param timestampFormatter The {@link DateTimeFormatter} to format the time of each entry with, or
+     *                           <code>null</code> if entries should not be prefixed with the time.
+     * @param flushInterval How long to wait between writing and flushing batches of entries.
+     * @throws IOException if the directory could not be created.
+     */
+    public DateRotatableFileLogger(String directory, String filenamePrefix, @Nullable DateTimeFormatter timestampFormatter,
+            Duration flushInterval) throws IOException {
         Preconditions.checkNotNull(directory);
         Preconditions.checkNotNull(filenamePrefix);
 
         this.directory = nucleusBase.resolve(directory);
         this.filenamePrefix = filenamePrefix;
-        this.formatter = formatter == null ? s -> s : formatter;
+        this.timestampFormatter = timestampFormatter;
+        setFlushInterval(flushInterval);
         Files.createDirectories(this.directory);
+
+        this.writerThread = new Thread(this::run, "Nucleus Log Writer Thread - " + filenamePrefix);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
     }
 
-    private void openFile() throws IOException {
-        if (isClosed) {
-            throw new IllegalStateException();
+    /**
+     * Sets how long to wait between writing and flushing batches of entries.
+     *
+     * @param flushInterval The {@link Duration}.
+     */
+    public void setFlushInterval(Duration flushInterval) {
+        Preconditions.checkNotNull(flushInterval);
+        Preconditions.checkArgument(!flushInterval.isNegative() && !flushInterval.isZero());
+        this.flushIntervalNanos = flushInterval.toNanos();
+    }
+
+    /**
+     * Queues an entry to be written, with the current time.
+     *
+     * @param entry The entry.
+     */
+    public void logEntry(String entry) {
+        logEntry(System.currentTimeMillis(), entry);
+    }
+
+    /**
+     * Queues an entry to be written. Entries that are queued after the logger has been closed are discarded.
+     *
+     * @param timestamp The time the entry was created, in milliseconds since the epoch.
+     * @param entry The entry.
+     */
+    public void logEntry(long timestamp, String entry) {
+        Preconditions.checkNotNull(entry);
+        if (!isClosed) {
+            queue.offer(new Entry(timestamp, entry));
+        }
+    }
+
+    private void run() {
+        while (true) {
+            // Read this before draining, so that anything queued before close() is called is written.
+            boolean closing = isClosed;
+            writeQueued();
+            if (closing) {
+                closeFile(false);
+                return;
+            }
+
+            LockSupport.parkNanos(this, flushIntervalNanos);
         }
+    }
 
-        if (file != null && !file.isClosed()) {
+    private void writeQueued() {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
             try {
-                file.close();
-            } finally {
-                file = null;
+                write(entry);
+            } catch (IOException e) {
+                try {
+                    // Try again with a new file.
+                    closeFile(true);
+                    write(entry);
+                } catch (IOException ex) {
+                    warn(ex);
+                }
+            }
+        }
+
+        try {
+            if (file != null && !file.isClosed()) {
+                file.flush();
             }
+        } catch (IOException e) {
+            warn(e);
+        }
+    }
+
+    private void write(Entry entry) throws IOException {
+        if (file == null || file.isClosed() || entry.timestamp >= nextRotation) {
+            openFile(entry.timestamp);
+        }
+
+        file.writeLine(getPrefix(entry.timestamp), entry.entry);
+    }
+
+    private String getPrefix(long timestamp) {
+        if (timestampFormatter == null) {
+            return "";
         }
 
+        // Formatting the time is relatively expensive, and a batch of entries will usually share a handful of seconds.
+        long second = Math.floorDiv(timestamp, 1000);
+        if (second != cachedSecond) {
+            cachedPrefix = "[" + timestampFormatter.format(Instant.ofEpochMilli(timestamp).atZone(zone)) + "] ";
+            cachedSecond = second;
+        }
+
+        return cachedPrefix;
+    }
+
+    private void openFile(long timestamp) throws IOException {
+        closeFile(true);
+
+        LocalDate date = Instant.ofEpochMilli(timestamp).atZone(zone).toLocalDate();
+        String prefix = directory.toString() + "/" + filenamePrefix + "-" + fileDateFormatter.format(date) + "-";
         int count = 0;
-        boolean go = false;
-        String fileName;
-        do {
+        while (file == null) {
             count++;
-            fileName = directory.toString() + "/" + filenamePrefix + "-" + DateTimeFormatter.ofPattern("yyyy-MM-dd").format(Instant.now().atZone(ZoneId.systemDefault())) + "-" + count + ".log";
+            String fileName = prefix + count + ".log";
             Path nextFile = Paths.get(fileName);
             if (Files.exists(nextFile)) {
-                try {
-                    Util.compressAndDeleteFile(nextFile);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                // Left over from a previous run, or still being compressed.
+                compressInBackground(nextFile);
             } else if (!Files.exists(Paths.get(fileName + ".gz"))) {
-                file = new LogFile(nextFile, formatter);
-                go = true;
+                file = new LogFile(nextFile);
             }
-        } while(!go);
+        }
 
-        currentDate = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        nextRotation = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
     }
 
-    public void logEntry(String entry) throws IOException {
-        if (isClosed) {
-            throw new IllegalStateException();
+    private void closeFile(boolean compressInBackground) {
+        if (file == null) {
+            return;
         }
 
-        logEntry(Lists.newArrayList(entry), true);
-    }
-
-    public void logEntry(Iterable<String> entry) throws IOException {
-        if (isClosed) {
-            throw new IllegalStateException();
+        Path location = file.getLocation();
+        try {
+            file.close();
+        } catch (IOException e) {
+            warn(e);
+        } finally {
+            file = null;
         }
 
-        logEntry(entry, true);
+        if (compressInBackground) {
+            compressInBackground(location);
+        } else {
+            compress(location);
+        }
     }
 
-    private void logEntry(Iterable<String> entry, boolean retryOnError) throws IOException {
-        if (file == null || file.isClosed() || Instant.now().truncatedTo(ChronoUnit.DAYS).isAfter(currentDate)) {
-            openFile();
+    private void compressInBackground(Path path) {
+        if (compressing.add(path)) {
+            compressor.execute(() -> {
+                try {
+                    compress(path);
+                } finally {
+                    compressing.remove(path);
+                }
+            });
         }
+    }
 
+    private static void compress(Path path) {
         try {
-            Iterator<String> iterator = entry.iterator();
-            while (iterator.hasNext()) {
-                file.writeLine(iterator.next());
-                iterator.remove();
-            }
-
-            file.flush();
+            Util.compressAndDeleteFile(path);
         } catch (IOException e) {
-            if (retryOnError) {
-                logEntry(entry, false);
-            } else {
-                throw e;
-            }
+            e.printStackTrace();
+        }
+    }
+
+    private static void warn(IOException e) {
+        Nucleus plugin = Nucleus.getNucleus();
+        plugin.getLogger().warn(plugin.getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
+        if (plugin.isDebugMode()) {
+            e.printStackTrace();
         }
     }
 
+    /**
+     * Stops accepting entries, then waits for the writer thread to write the entries that were already queued, and to
+     * close and compress the current file.
+     */
     @Override
-    public void close() throws IOException {
+    public void close() {
         if (isClosed) {
             return;
         }
 
-        if (file != null && !file.isClosed()) {
-            file.close();
-            file = null;
-            this.isClosed = true;
+        isClosed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(closeTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Entry {
+
+        private final long timestamp;
+        private final String entry;
+
+        private Entry(long timestamp, String entry) {
+            this.timestamp = timestamp;
+            this.entry = entry;
         }
     }
 }
@@ -5,34 +5,39 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import io.github.nucleuspowered.nucleus.Util;
 
 import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.function.Function;
 
 class LogFile implements Closeable {
 
+    // Large enough that a second's worth of chat is usually a single write.
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final Path location;
-    private final Function<String, String> formatter;
     private final BufferedWriter outputStream;
     private boolean isClosed = false;
 
-    LogFile(final Path location, Function<String, String> stringFormatter) throws IOException {
+    LogFile(final Path location) throws IOException {
         Preconditions.checkNotNull(location);
-        Preconditions.checkNotNull(stringFormatter);
 
         this.location = location;
-        this.outputStream = Files.newBufferedWriter(location);
-        this.formatter = stringFormatter;
+        this.outputStream = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(location), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    Path getLocation() {
+        return location;
     }
 
-    void writeLine(String line) throws IOException {
+    void writeLine(String prefix, String line) throws IOException {
         try {
-            outputStream.write(formatter.apply(line));
+            outputStream.write(prefix);
+            outputStream.write(line);
             outputStream.newLine();
         } catch (IOException e) {
             close();
@@ -48,6 +53,11 @@ class LogFile implements Closeable {
         return isClosed;
     }
 
+    /**
+     * Closes the file. The file is not compressed, the owner of this file is responsible for that.
+     *
+     * @throws IOException if the file could not be closed.
+     */
     @Override
     public void close() throws IOException {
         if (isClosed) {
@@ -58,8 +68,6 @@ class LogFile implements Closeable {
             outputStream.close();
         } finally {
             isClosed = true;
-
-            Util.compressAndDeleteFile(location);
         }
     }
 }
@@ -5,11 +5,8 @@
 package io.github.nucleuspowered.nucleus.modules.afk.handlers;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.Util;
@@ -40,14 +37,16 @@ import org.spongepowered.api.util.Tuple;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
-
-import javax.annotation.concurrent.GuardedBy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class AFKHandler implements NucleusAFKService, Reloadable {
 
@@ -56,13 +55,20 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
     private final CommandPermissionHandler afkPermissionHandler;
     private AFKConfig config;
 
-    @GuardedBy("lock")
-    private final Set<UUID> activity = Sets.newHashSet();
+    // Players who have no data yet, or who have come back from being AFK. Everyone else just has their last activity
+    // time updated, so that moving does not need to take a lock.
+    private final Set<UUID> activity = ConcurrentHashMap.newKeySet();
+
+    // Player -> the tasks that have disabled tracking for them.
+    private final Map<UUID, Set<UUID>> disabledTracking = new ConcurrentHashMap<>();
+
+    // Players whose next deadline might have changed, picked up on the next tick.
+    private final Queue<AFKData> toSchedule = new ConcurrentLinkedQueue<>();
+    private volatile boolean rescheduleAll = false;
 
-    @GuardedBy("lock2")
-    private final Multimap<UUID, UUID> disabledTracking = HashMultimap.create();
-    private final Object lock = new Object();
-    private final Object lock2 = new Object();
+    // The next time that each player should go AFK or be kicked, only touched on the tick. A player's deadline is not
+    // moved when they are active, it is checked again when it is reached.
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>();
 
     private final String exempttoggle = "exempt.toggle";
     private final String exemptkick = "exempt.kick";
@@ -82,78 +88,140 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
     }
 
     private void stageUserActivityUpdate(UUID uuid) {
-        synchronized (lock) {
-            synchronized (lock2) {
-                if (this.disabledTracking.containsKey(uuid)) {
-                    return;
-                }
-            }
+        if (this.disabledTracking.containsKey(uuid)) {
+            return;
+        }
+
+        AFKData a = this.data.get(uuid);
+        if (a == null) {
+            this.activity.add(uuid);
+            return;
+        }
+
+        a.lastActivityTime = System.currentTimeMillis();
 
-            activity.add(uuid);
+        // Checked after the time is set, in case they have just gone AFK.
+        if (a.isKnownAfk) {
+            this.activity.add(uuid);
         }
     }
 
     public void onTick() {
-        synchronized (lock) {
-            activity.forEach(u -> data.compute(u, ((uuid, afkData) -> afkData == null ? new AFKData(uuid) : updateActivity(uuid, afkData))));
-            activity.clear();
+        for (Iterator<UUID> iterator = this.activity.iterator(); iterator.hasNext(); ) {
+            UUID u = iterator.next();
+            iterator.remove();
+            this.toSchedule.add(data.compute(u, ((uuid, afkData) -> afkData == null ? new AFKData(uuid) : updateActivity(uuid, afkData))));
         }
 
-        List<UUID> uuidList = Sponge.getServer().getOnlinePlayers().stream().map(Player::getUniqueId).collect(Collectors.toList());
+        if (this.rescheduleAll) {
+            this.rescheduleAll = false;
+            this.deadlines.clear();
+            this.data.values().forEach(x -> {
+                x.scheduledFor = -1;
+                schedule(x);
+            });
+        }
 
-        // Remove all offline players.
-        Set<Map.Entry<UUID, AFKData>> entries = data.entrySet();
-        entries.removeIf(refactor -> !uuidList.contains(refactor.getKey()));
-        entries.stream().filter(x -> !x.getValue().cacheValid).forEach(x -> x.getValue().updateFromPermissions());
+        AFKData toCheck;
+        while ((toCheck = this.toSchedule.poll()) != null) {
+            schedule(toCheck);
+        }
 
         long now = System.currentTimeMillis();
+        List<AFKData> checked = Lists.newArrayList();
+        while (!this.deadlines.isEmpty() && this.deadlines.peek().time < now) {
+            Deadline deadline = this.deadlines.poll();
+            AFKData a = deadline.data;
+            if (a.scheduledFor != deadline.time || this.data.get(a.uuid) != a) {
+                // Replaced by a later deadline, or the player has gone.
+                continue;
+            }
 
-        // Check AFK status.
-        entries.stream().filter(x -> x.getValue().isKnownAfk && !x.getValue().willKick && x.getValue().timeToKick > 0).forEach(e -> {
-            if (now - e.getValue().lastActivityTime > e.getValue().timeToKick) {
-                // Kick them
-                e.getValue().willKick = true;
-                NucleusTextTemplateImpl message = config.getMessages().getKickMessage();
-                TextRepresentable t;
-                if (message.isEmpty()) {
-                    t = Nucleus.getNucleus().getMessageProvider().getTextMessageWithTextFormat("afk.kickreason");
+            a.scheduledFor = -1;
+            checked.add(a);
+            if (a.nextDeadline() >= now) {
+                // They have been active since.
+                continue;
+            }
+
+            Optional<Player> player = Sponge.getServer().getPlayer(a.uuid);
+            if (player.isPresent()) {
+                if (a.isKnownAfk) {
+                    a.willKick = true;
+                    kick(player.get());
                 } else {
-                    t = message;
+                    setAfk(player.get());
                 }
-
-                final NucleusTextTemplateImpl messageToServer = config.getMessages().getOnKick();
-
-                Sponge.getServer().getPlayer(e.getKey()).ifPresent(player -> {
-                    MessageChannel mc;
-                    if (config.isBroadcastOnKick()) {
-                        mc = MessageChannel.TO_ALL;
-                    } else {
-                        mc = MessageChannel.permission(this.afkPermissionHandler.getPermissionWithSuffix("notify"));
-                    }
-
-                    AFKEvents.Kick events = new AFKEvents.Kick(player, messageToServer.getForCommandSource(player), mc);
-                    if (Sponge.getEventManager().post(events)) {
-                        // Cancelled.
-                        return;
-                    }
-
-                    Text toSend = t instanceof NucleusTextTemplateImpl ? ((NucleusTextTemplateImpl) t).getForCommandSource(player) : t.toText();
-                    Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> player.kick(toSend));
-                    events.getMessage().ifPresent(m -> events.getChannel().send(player, m, ChatTypes.SYSTEM));
-                });
             }
-        });
+        }
 
-        // Check AFK status.
-        entries.stream().filter(x -> !x.getValue().isKnownAfk && x.getValue().timeToAfk > 0).forEach(e -> {
-            if (now - e.getValue().lastActivityTime  > e.getValue().timeToAfk) {
-                Sponge.getServer().getPlayer(e.getKey()).ifPresent(this::setAfk);
-            }
-        });
+        checked.forEach(this::schedule);
+    }
+
+    private void kick(Player player) {
+        NucleusTextTemplateImpl message = config.getMessages().getKickMessage();
+        TextRepresentable t;
+        if (message.isEmpty()) {
+            t = Nucleus.getNucleus().getMessageProvider().getTextMessageWithTextFormat("afk.kickreason");
+        } else {
+            t = message;
+        }
+
+        final NucleusTextTemplateImpl messageToServer = config.getMessages().getOnKick();
+        MessageChannel mc;
+        if (config.isBroadcastOnKick()) {
+            mc = MessageChannel.TO_ALL;
+        } else {
+            mc = MessageChannel.permission(this.afkPermissionHandler.getPermissionWithSuffix("notify"));
+        }
+
+        AFKEvents.Kick events = new AFKEvents.Kick(player, messageToServer.getForCommandSource(player), mc);
+        if (Sponge.getEventManager().post(events)) {
+            // Cancelled.
+            return;
+        }
+
+        Text toSend = t instanceof NucleusTextTemplateImpl ? ((NucleusTextTemplateImpl) t).getForCommandSource(player) : t.toText();
+        Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> player.kick(toSend));
+        events.getMessage().ifPresent(m -> events.getChannel().send(player, m, ChatTypes.SYSTEM));
+    }
+
+    // Only called on the tick.
+    private void schedule(AFKData a) {
+        if (this.data.get(a.uuid) != a) {
+            return;
+        }
+
+        if (!Sponge.getServer().getPlayer(a.uuid).isPresent()) {
+            this.data.remove(a.uuid, a);
+            return;
+        }
+
+        long next = a.nextDeadline();
+        if (next == a.scheduledFor) {
+            return;
+        }
+
+        a.scheduledFor = next;
+        if (next >= 0) {
+            this.deadlines.add(new Deadline(next, a));
+        }
+    }
+
+    /**
+     * Forgets about a player who is leaving.
+     *
+     * @param player The {@link Player}.
+     */
+    public void onQuit(Player player) {
+        UUID uuid = player.getUniqueId();
+        this.activity.remove(uuid);
+        this.data.remove(uuid);
     }
 
     public void invalidateAfkCache() {
         data.forEach((k, v) -> v.cacheValid = false);
+        this.rescheduleAll = true;
     }
 
     public boolean isAfk(Player player) {
@@ -161,7 +229,8 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
     }
 
     public boolean isAfk(UUID uuid) {
-        return data.containsKey(uuid) && data.get(uuid).isKnownAfk;
+        AFKData a = data.get(uuid);
+        return a != null && a.isKnownAfk;
     }
 
     public boolean setAfk(Player player) {
@@ -174,7 +243,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
         }
 
         UUID uuid = player.getUniqueId();
-        AFKData a = data.compute(uuid, ((u, afkData) -> afkData == null ? new AFKData(u) : afkData));
+        AFKData a = getOrCreateData(uuid);
         if (force) {
             a.isKnownAfk = false;
         } else if (a.isKnownAfk) {
@@ -182,17 +251,24 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
         }
 
         if (a.canGoAfk()) {
+            // Set before the event is posted, so that activity from now on is seen as a return from AFK.
+            long lastActivity = a.lastActivityTime;
+            a.isKnownAfk = true;
+
             // Don't accident undo setting AFK, remove any activity from the list.
-            synchronized (lock) {
-                activity.remove(uuid);
-            }
+            activity.remove(uuid);
 
             Tuple<Text, MessageChannel> ttmc = getAFKMessage(player, true);
             AFKEvents.To event = new AFKEvents.To(player, ttmc.getFirst(), ttmc.getSecond(), cause);
             Sponge.getEventManager().post(event);
             actionEvent(event, "command.afk.to.vanish");
 
-            a.isKnownAfk = true;
+            // If they did something while the event was posted, that activity may have been removed above.
+            if (a.lastActivityTime != lastActivity) {
+                this.activity.add(uuid);
+            }
+
+            this.toSchedule.add(a);
             return true;
         }
 
@@ -222,6 +298,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
                 actionEvent(event, "command.afk.from.vanish");
             });
 
+            this.toSchedule.add(data);
         }
 
         return data;
@@ -252,12 +329,12 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
     }
 
     @Override public boolean isAFK(Player player) {
-        return this.data.computeIfAbsent(player.getUniqueId(), AFKData::new).isKnownAfk;
+        return getOrCreateData(player.getUniqueId()).isKnownAfk;
     }
 
     @Override public boolean setAFK(Cause cause, Player player, boolean isAfk) {
         Preconditions.checkArgument(cause.root() instanceof PluginContainer, "The root object MUST be a plugin container.");
-        AFKData data = this.data.computeIfAbsent(player.getUniqueId(), AFKData::new);
+        AFKData data = getOrCreateData(player.getUniqueId());
         if (data.isKnownAfk == isAfk) {
             // Already AFK
             return false;
@@ -275,7 +352,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
     }
 
     @Override public Instant lastActivity(Player player) {
-        return Instant.ofEpochMilli(this.data.computeIfAbsent(player.getUniqueId(), AFKData::new).lastActivityTime);
+        return Instant.ofEpochMilli(getOrCreateData(player.getUniqueId()).lastActivityTime);
     }
 
     @Override public Optional<Duration> timeForInactivity(User user) {
@@ -306,15 +383,12 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
 
     @Override public NoExceptionAutoClosable disableTrackingForPlayer(final Player player, int ticks) {
         // Disable tracking now with a new UUID.
-        Task n = Task.builder().execute(t -> {
-            synchronized (lock2) {
-                disabledTracking.remove(player.getUniqueId(), t.getUniqueId());
-            }
-        }).delayTicks(ticks).submit(Nucleus.getNucleus());
+        Task n = Task.builder().execute(t -> disabledTracking.computeIfPresent(player.getUniqueId(), (k, v) -> {
+            v.remove(t.getUniqueId());
+            return v.isEmpty() ? null : v;
+        })).delayTicks(ticks).submit(Nucleus.getNucleus());
 
-        synchronized (lock2) {
-            disabledTracking.put(player.getUniqueId(), n.getUniqueId());
-        }
+        disabledTracking.computeIfAbsent(player.getUniqueId(), k -> ConcurrentHashMap.newKeySet()).add(n.getUniqueId());
 
         return () -> {
             n.cancel();
@@ -322,6 +396,20 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
         };
     }
 
+    private AFKData getOrCreateData(UUID uuid) {
+        AFKData a = this.data.get(uuid);
+        if (a == null) {
+            AFKData created = new AFKData(uuid);
+            a = this.data.putIfAbsent(uuid, created);
+            if (a == null) {
+                this.toSchedule.add(created);
+                return created;
+            }
+        }
+
+        return a;
+    }
+
     private AFKData getData(UUID uuid) {
         AFKData data = this.data.get(uuid);
         if (data == null) {
@@ -336,9 +424,12 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
 
         private final UUID uuid;
 
-        private long lastActivityTime = System.currentTimeMillis();
-        private boolean isKnownAfk = false;
-        private boolean willKick = false;
+        private volatile long lastActivityTime = System.currentTimeMillis();
+        private volatile boolean isKnownAfk = false;
+        private volatile boolean willKick = false;
+
+        // The deadline that this is in the queue for, or -1. Only touched on the tick.
+        private long scheduledFor = -1;
 
         private boolean cacheValid = false;
         private long timeToAfk = -1;
@@ -355,6 +446,16 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
             }
         }
 
+        // The time that they should go AFK or be kicked, or -1 if neither will happen.
+        private long nextDeadline() {
+            updateFromPermissions();
+            if (isKnownAfk) {
+                return !willKick && timeToKick > 0 ? lastActivityTime + timeToKick : -1;
+            }
+
+            return timeToAfk > 0 ? lastActivityTime + timeToAfk : -1;
+        }
+
         private boolean canGoAfk() {
             cacheValid = false;
             updateFromPermissions();
@@ -390,4 +491,19 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
             }
         }
     }
+
+    private static final class Deadline implements Comparable<Deadline> {
+
+        private final long time;
+        private final AFKData data;
+
+        private Deadline(long time, AFKData data) {
+            this.time = time;
+            this.data = data;
+        }
+
+        @Override public int compareTo(Deadline o) {
+            return Long.compare(this.time, o.time);
+        }
+    }
 }
@@ -22,6 +22,10 @@ public abstract class AbstractAFKListener extends ListenerBase {
         handler.stageUserActivityUpdate(player);
     }
 
+    final void remove(Player player) {
+        handler.onQuit(player);
+    }
+
     final boolean getTriggerConfigEntry(Predicate<AFKConfig.Triggers> triggersPredicate) {
         return this.plugin.getConfigValue(AFKModule.ID, AFKConfigAdapter.class, x -> triggersPredicate.test(x.getTriggers())).orElse(false);
     }
@@ -17,7 +17,6 @@ import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
-import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
 import io.github.nucleuspowered.nucleus.modules.chat.ChatModule;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
@@ -31,13 +30,9 @@ import org.spongepowered.api.event.message.MessageEvent;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.serializer.TextSerializers;
-import org.spongepowered.api.util.Tuple;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.BiFunction;
-import java.util.function.Function;
 import java.util.regex.Pattern;
 
 /**
@@ -50,48 +45,37 @@ public class ChatListener extends ListenerBase implements Reloadable, ListenerBa
     private static final Pattern prefixPattern = Pattern.compile("^\\s*<[a-zA-Z0-9_]+>\\s*$");
     private static final String prefix = PermissionRegistry.PERMISSIONS_PREFIX + "chat.";
 
-    // Order is important here!
     private static final Map<String, String> permissionToDesc = Maps.newHashMap();
-    private static final Map<String, Tuple<String[], Function<String, String>>> replacements = createReplacements();
+    private static final ChatMessageFormatter formatter =
+            new ChatMessageFormatter(createCodePermissions(), TextSerializers.FORMATTING_CODE, prefix + "url",
+                    s -> Nucleus.getNucleus().getNameUtil().getColourFromString(s),
+                    s -> Nucleus.getNucleus().getNameUtil().getTextStyleFromString(s));
 
-    private static Map<String, Tuple<String[], Function<String, String>>> createReplacements() {
-        Map<String, Tuple<String[], Function<String, String>>> t = new HashMap<>();
+    private static Map<Character, String[]> createCodePermissions() {
+        Map<Character, String[]> t = new HashMap<>();
 
         MessageProvider mp = Nucleus.getNucleus().getMessageProvider();
 
-        BiFunction<String, String, String> fss = (key, s) -> s.replaceAll("[&]+[" + key.toLowerCase() + key.toUpperCase() + "]", "");
         NameUtil.getColours().forEach((key, value) -> {
-            t.put("&" + key, Tuple.of(
-                new String[]{ prefix + "colour." + value.getName(), prefix + "color." + value.getName() },
-                s -> fss.apply(key.toString(), s)));
+            t.put(key, new String[]{ prefix + "colour." + value.getName(), prefix + "color." + value.getName() });
 
             permissionToDesc.put(prefix + "colour." + value.getName(), mp.getMessageWithFormat("permission.chat.colourspec", value.getName().toLowerCase(), key.toString()));
             permissionToDesc.put(prefix + "color." + value.getName(), mp.getMessageWithFormat("permission.chat.colorspec", value.getName().toLowerCase(), key.toString()));
         });
 
         NameUtil.getStyleKeys().entrySet().stream().filter(x -> x.getKey() != 'k').forEach((k) -> {
-            t.put("&" + k.getKey(), Tuple.of(new String[] { prefix + "style." + k.getValue().toLowerCase() },
-                    s -> fss.apply(k.getKey().toString(), s)));
+            t.put(k.getKey(), new String[] { prefix + "style." + k.getValue().toLowerCase() });
             permissionToDesc.put(prefix + "style." + k.getValue().toLowerCase(),
                 mp.getMessageWithFormat("permission.chat.stylespec", k.getValue().toLowerCase(), k.getKey().toString()));
         });
 
-        t.put("&k", Tuple.of(new String[] { prefix + "magic" }, s -> s.replaceAll("[&]+[kK]", "")));
+        t.put('k', new String[] { prefix + "magic" });
 
         return t;
     }
 
     public static String stripPermissionless(Subject source, String message) {
-        if (message.contains("&")) {
-            String m = message.toLowerCase();
-            for (Map.Entry<String, Tuple<String[], Function<String, String>>> r : replacements.entrySet()) {
-                if (m.contains(r.getKey()) && Arrays.stream(r.getValue().getFirst()).noneMatch(source::hasPermission)) {
-                    message = r.getValue().getSecond().apply(message);
-                }
-            }
-        }
-
-        return message;
+        return formatter.stripPermissionless(source, message);
     }
 
     // --- Listener Proper
@@ -151,7 +135,7 @@ public class ChatListener extends ListenerBase implements Reloadable, ListenerBa
 
         event.setMessage(
             Text.join(prefix, ctc.getPrefix().getForCommandSource(player)),
-            chatConfig.isModifyMainMessage() ? useMessage(player, rawMessage, ctc) : rawMessage,
+            chatConfig.isModifyMainMessage() ? formatter.useMessage(player, rawMessage, chatConfig.isRemoveBlueUnderline(), ctc) : rawMessage,
             Text.join(footer, ctc.getSuffix().getForCommandSource(player)));
     }
 
@@ -159,27 +143,8 @@ public class ChatListener extends ListenerBase implements Reloadable, ListenerBa
         return Nucleus.getNucleus().getConfigValue(ChatModule.ID, ChatConfigAdapter.class, ChatConfig::isModifychat).orElse(false);
     }
 
-    private Text useMessage(Player player, Text rawMessage, ChatTemplateConfig chatTemplateConfig) {
-        String m = stripPermissionless(player, TextSerializers.FORMATTING_CODE.serialize(rawMessage));
-        if (chatConfig.isRemoveBlueUnderline()) {
-            m = m.replaceAll("&9&n([A-Za-z0-9-.]+)", "$1");
-        }
-
-        Text result;
-        if (player.hasPermission(prefix + "url")) {
-            result = TextParsingUtils.addUrls(m);
-        } else {
-            result = TextSerializers.FORMATTING_CODE.deserialize(m);
-        }
-
-        String chatcol = Util.getOptionFromSubject(player, "chatcolour", "chatcolor").orElseGet(chatTemplateConfig::getChatcolour);
-        String chatstyle = Util.getOptionFromSubject(player, "chatstyle").orElseGet(chatTemplateConfig::getChatstyle);
-
-        NameUtil nu = plugin.getNameUtil();
-        return Text.of(nu.getColourFromString(chatcol), nu.getTextStyleFromString(chatstyle), result);
-    }
-
     @Override public void onReload() throws Exception {
+        formatter.invalidateAll();
         this.chatConfig = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ChatConfigAdapter.class).getNodeOrDefault();
     }
 
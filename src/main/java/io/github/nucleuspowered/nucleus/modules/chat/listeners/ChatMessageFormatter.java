@@ -0,0 +1,95 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.listeners;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.internal.text.FormattingCodeFilter;
+import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextStyle;
+import org.spongepowered.api.text.serializer.FormattingCodeTextSerializer;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Removes the formatting codes that a subject does not have permission to use from a chat message, and turns the
+ * message into {@link Text} in the subject's chat colour and style.
+ *
+ * <p>This does not touch the server, other than through the {@link Subject} and the serializer and converters it is
+ * given, so that it can be run on its own.</p>
+ */
+final class ChatMessageFormatter {
+
+    private static final String[] noPermissions = new String[0];
+
+    private final FormattingCodeFilter filter;
+    private final FormattingCodeTextSerializer serializer;
+    private final String urlPermission;
+    private final Function<String, TextColor> colourConverter;
+    private final Function<String, TextStyle> styleConverter;
+
+    /**
+     * Creates a formatter.
+     *
+     * @param codePermissions The permissions that allow each formatting code to be used. Having any of them is enough.
+     * @param serializer The {@link FormattingCodeTextSerializer} that turns messages into {@link Text} and back.
+     * @param urlPermission The permission that makes URLs clickable.
+     * @param colourConverter Turns a chat colour option into a {@link TextColor}.
+     * @param styleConverter Turns a chat style option into a {@link TextStyle}.
+     */
+    ChatMessageFormatter(Map<Character, String[]> codePermissions, FormattingCodeTextSerializer serializer, String urlPermission,
+            Function<String, TextColor> colourConverter, Function<String, TextStyle> styleConverter) {
+        Map<Character, String[]> permissions = ImmutableMap.copyOf(codePermissions);
+        this.filter = new FormattingCodeFilter(c -> permissions.getOrDefault(c, noPermissions));
+        this.serializer = Preconditions.checkNotNull(serializer);
+        this.urlPermission = Preconditions.checkNotNull(urlPermission);
+        this.colourConverter = Preconditions.checkNotNull(colourConverter);
+        this.styleConverter = Preconditions.checkNotNull(styleConverter);
+    }
+
+    String stripPermissionless(Subject source, String message) {
+        return this.filter.strip(source, message);
+    }
+
+    Text format(Subject source, Text rawMessage, boolean removeBlueUnderline) {
+        String m = stripPermissionless(source, this.serializer.serialize(rawMessage));
+        if (removeBlueUnderline) {
+            m = m.replaceAll("&9&n([A-Za-z0-9-.]+)", "$1");
+        }
+
+        if (source.hasPermission(this.urlPermission)) {
+            return TextParsingUtils.addUrls(m, this.serializer);
+        }
+
+        return this.serializer.deserialize(m);
+    }
+
+    /**
+     * Formats a chat message, then applies the chat colour and style from the subject's options, falling back to those
+     * in the template.
+     *
+     * @param source The {@link Subject} that sent the message.
+     * @param rawMessage The message.
+     * @param removeBlueUnderline Whether to remove the blue underline that some clients add to links.
+     * @param template The {@link ChatTemplateConfig} that applies to the subject.
+     * @return The formatted message.
+     */
+    Text useMessage(Subject source, Text rawMessage, boolean removeBlueUnderline, ChatTemplateConfig template) {
+        Text result = format(source, rawMessage, removeBlueUnderline);
+        String chatcol = Util.getOptionFromSubject(source, "chatcolour", "chatcolor").orElseGet(template::getChatcolour);
+        String chatstyle = Util.getOptionFromSubject(source, "chatstyle").orElseGet(template::getChatstyle);
+        return Text.of(this.colourConverter.apply(chatcol), this.styleConverter.apply(chatstyle), result);
+    }
+
+    void invalidateAll() {
+        this.filter.invalidateAll();
+    }
+}
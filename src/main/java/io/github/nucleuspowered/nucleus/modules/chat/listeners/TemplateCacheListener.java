@@ -0,0 +1,39 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.listeners;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.modules.chat.ChatModule;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.chat.util.TemplateUtil;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+/**
+ * Keeps the templates that {@link TemplateUtil} has resolved for online players up to date.
+ */
+public class TemplateCacheListener extends ListenerBase implements ListenerBase.Conditional {
+
+    private final TemplateUtil templateUtil = getServiceUnchecked(TemplateUtil.class);
+
+    @Listener(order = Order.LAST)
+    public void onPlayerJoin(ClientConnectionEvent.Join event, @Root Player player) {
+        this.templateUtil.resolveAsync(player);
+    }
+
+    @Listener
+    public void onPlayerQuit(ClientConnectionEvent.Disconnect event, @Root Player player) {
+        this.templateUtil.invalidate(player);
+    }
+
+    @Override public boolean shouldEnable() {
+        return Nucleus.getNucleus().getConfigValue(ChatModule.ID, ChatConfigAdapter.class, ChatConfig::isCheckPermissionGroups).orElse(false);
+    }
+}
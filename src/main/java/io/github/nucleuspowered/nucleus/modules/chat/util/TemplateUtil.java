@@ -11,73 +11,149 @@ import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.WeightedChatTemplateConfig;
-import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.scheduler.Task;
-import org.spongepowered.api.service.context.Contextual;
 import org.spongepowered.api.service.permission.Subject;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * Contains the logic for caching templates and the template selection logic.
+ *
+ * <p>If the permission groups of a subject are to be checked, resolving the template that a subject should use means
+ * resolving its parents, which can be slow. In that case, the resolved template is cached per subject. It is resolved
+ * asynchronously when a player joins, and again (while the old value continues to be used) when the cached value is
+ * older than {@link #REFRESH_AFTER_MILLIS} or a reload has happened since it was resolved, so that selecting a template
+ * for a chat message never waits on the permission plugin.</p>
  */
 public class TemplateUtil implements Reloadable {
 
+    // There is no event for permission changes, so cached templates are refreshed this often.
+    private static final long REFRESH_AFTER_MILLIS = 30000;
+    private static final long RESOLVE_TIMEOUT_MILLIS = 5000;
+
     private final AtomicBoolean currentlyReloading = new AtomicBoolean(false);
-    private LinkedHashMap<String, WeightedChatTemplateConfig> cachedTemplates = null;
-    private ChatConfig config
+    private final Map<String, ResolvedTemplate> resolvedTemplates = new ConcurrentHashMap<>();
+
+    // Subject -> a token for the resolution that is in progress. Invalidating a subject takes its token away, so that a
+    // resolution that finishes afterwards does not put the template back.
+    private final Map<String, Object> resolving = new ConcurrentHashMap<>();
+    private final AtomicInteger generation = new AtomicInteger();
+
+    // Keys are lower case, in order of descending weight.
+    private volatile LinkedHashMap<String, WeightedChatTemplateConfig> cachedTemplates = new LinkedHashMap<>();
+    private volatile ChatConfig config
             = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ChatConfigAdapter.class).getNodeOrDefault();
 
     public ChatTemplateConfig getTemplateNow(Subject subject) {
-        if (!this.config.isUseGroupTemplates()) {
-            return this.config.getDefaultTemplate();
+        ChatConfig chatConfig = this.config;
+        if (!chatConfig.isUseGroupTemplates()) {
+            return chatConfig.getDefaultTemplate();
         }
 
-        Optional<String> groupString = subject.getOption("nucleus.chat.group");
-        List<String> groups = new ArrayList<>();
-        if (groupString.isPresent()) {
-            groups.add(groupString.get());
-        } else if (this.config.isCheckPermissionGroups()) {
-            // Expensive, should hide behind a switch.
+        if (!chatConfig.isCheckPermissionGroups()) {
+            // Only the option is checked, which is cheap enough to do every time.
+            return getTemplateFromOption(subject);
+        }
+
+        ResolvedTemplate resolved = this.resolvedTemplates.get(subject.getIdentifier());
+        if (resolved == null || resolved.isStale(this.generation.get())) {
+            resolveAsync(subject);
+        }
+
+        if (resolved != null) {
+            return resolved.template;
+        }
+
+        // Not resolved yet. Use the option if there is one, rather than wait for the parents.
+        return getTemplateFromOption(subject);
+    }
+
+    private ChatTemplateConfig getTemplateFromOption(Subject subject) {
+        return subject.getOption("nucleus.chat.group")
+                .map(x -> getTemplateForGroups(Collections.singleton(x.toLowerCase())))
+                .orElseGet(this.config::getDefaultTemplate);
+    }
+
+    /**
+     * Starts resolving the template for the given {@link Subject} off the main thread, if group templates that depend
+     * on permission groups are in use.
+     *
+     * @param subject The {@link Subject}.
+     */
+    public void resolveAsync(Subject subject) {
+        String identifier = subject.getIdentifier();
+        Object token = new Object();
+        if (!this.config.isUseGroupTemplates() || !this.config.isCheckPermissionGroups() || this.resolving.putIfAbsent(identifier, token) != null) {
+            return;
+        }
+
+        int currentGeneration = this.generation.get();
+        Task.builder().async().execute(() -> {
             try {
-                groups = Util.getParentSubjects(subject)
-                    .get(100, TimeUnit.MILLISECONDS)
-                    .stream()
-                    .map(Contextual::getIdentifier)
-                    .collect(Collectors.toList());
+                ChatTemplateConfig template = resolve(subject);
+
+                // Checked while holding the entry, so that invalidate cannot remove it between the check and the put.
+                if (!(subject instanceof Player) || ((Player) subject).isOnline()) {
+                    this.resolvedTemplates.compute(identifier,
+                            (k, v) -> this.resolving.get(identifier) == token ? new ResolvedTemplate(template, currentGeneration) : v);
+                }
             } catch (Exception e) {
                 Nucleus.getNucleus().getLogger().error(
-                        Nucleus.getNucleus().getMessageProvider().getMessageWithFormat("chat.templates.timeout", subject.getIdentifier())
+                        Nucleus.getNucleus().getMessageProvider().getMessageWithFormat("chat.templates.timeout", identifier)
                 );
-                return this.config.getDefaultTemplate();
+            } finally {
+                this.resolving.remove(identifier, token);
             }
+        }).submit(Nucleus.getNucleus());
+    }
 
-            if (groups == null || groups.isEmpty()) {
-                return this.config.getDefaultTemplate();
-            }
+    /**
+     * Removes the cached template for the given {@link Subject}, and discards any resolution that is in progress.
+     *
+     * @param subject The {@link Subject}.
+     */
+    public void invalidate(Subject subject) {
+        // The token must go first, see resolveAsync.
+        this.resolving.remove(subject.getIdentifier());
+        this.resolvedTemplates.remove(subject.getIdentifier());
+    }
+
+    private ChatTemplateConfig resolve(Subject subject) throws Exception {
+        Optional<String> groupString = subject.getOption("nucleus.chat.group");
+        Set<String> groups;
+        if (groupString.isPresent()) {
+            groups = Collections.singleton(groupString.get().toLowerCase());
         } else {
-            // Nothin'. Return
-            return this.config.getDefaultTemplate();
+            // Expensive, which is why we do it here.
+            groups = Util.getParentSubjects(subject)
+                    .get(RESOLVE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                    .stream()
+                    .map(x -> x.getIdentifier().toLowerCase())
+                    .collect(Collectors.toSet());
         }
 
-        // For each weight...
-        for (Map.Entry<String, WeightedChatTemplateConfig> templates : this.cachedTemplates.entrySet()) {
-            // Iterate through all groups the subject is in.
-            for (String group : groups) {
-                if (templates.getKey().equalsIgnoreCase(group)) {
+        return getTemplateForGroups(groups);
+    }
+
+    private ChatTemplateConfig getTemplateForGroups(Set<String> groups) {
+        if (!groups.isEmpty()) {
+            // In order of weight, so the first match wins.
+            for (Map.Entry<String, WeightedChatTemplateConfig> templates : this.cachedTemplates.entrySet()) {
+                if (groups.contains(templates.getKey())) {
                     return templates.getValue();
                 }
             }
@@ -110,7 +186,7 @@ public class TemplateUtil implements Reloadable {
 
                             // keySet is in order.
                             for (int i : firstStage.keySet()) {
-                                firstStage.get(i).forEach(x -> sw.put(x.getKey(), x.getValue()));
+                                firstStage.get(i).forEach(x -> sw.putIfAbsent(x.getKey().toLowerCase(), x.getValue()));
                             }
 
                             this.cachedTemplates = sw;
@@ -118,6 +194,8 @@ public class TemplateUtil implements Reloadable {
                             this.cachedTemplates = new LinkedHashMap<>();
                         }
                     } finally {
+                        // Anything resolved before now is stale, but is still used until it has been resolved again.
+                        this.generation.incrementAndGet();
                         this.currentlyReloading.set(false);
                     }
                 }).submit(Nucleus.getNucleus());
@@ -127,4 +205,20 @@ public class TemplateUtil implements Reloadable {
             this.currentlyReloading.set(false);
         }
     }
+
+    private static final class ResolvedTemplate {
+
+        private final ChatTemplateConfig template;
+        private final int generation;
+        private final long resolvedAt = System.currentTimeMillis();
+
+        private ResolvedTemplate(ChatTemplateConfig template, int generation) {
+            this.template = template;
+            this.generation = generation;
+        }
+
+        private boolean isStale(int currentGeneration) {
+            return this.generation != currentGeneration || System.currentTimeMillis() - this.resolvedAt > REFRESH_AFTER_MILLIS;
+        }
+    }
 }
@@ -7,6 +7,8 @@ package io.github.nucleuspowered.nucleus.modules.chatlogger.config;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
+import java.time.Duration;
+
 @ConfigSerializable
 public class ChatLoggingConfig {
 
@@ -22,6 +24,9 @@ public class ChatLoggingConfig {
     @Setting(value = "log-mail", comment = "config.chatlog.mail")
     private boolean logMail = false;
 
+    @Setting(value = "flush-interval-millis", comment = "config.chatlog.flushinterval")
+    private long flushInterval = 1000;
+
     public boolean isEnableLog() {
         return enableLog;
     }
@@ -37,4 +42,8 @@ public class ChatLoggingConfig {
     public boolean isLogMail() {
         return logMail;
     }
+
+    public Duration getFlushInterval() {
+        return Duration.ofMillis(Math.max(50, flushInterval));
+    }
 }
@@ -9,9 +9,12 @@ import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.logging.AbstractLoggingHandler;
 import io.github.nucleuspowered.nucleus.modules.chatlogger.config.ChatLoggingConfigAdapter;
 
+import java.time.Duration;
+
 public class ChatLoggerHandler extends AbstractLoggingHandler implements Reloadable {
 
     private boolean enabled = false;
+    private Duration flushInterval = Duration.ofSeconds(1);
 
     public ChatLoggerHandler() {
         super("chat", "chat");
@@ -20,8 +23,11 @@ public class ChatLoggerHandler extends AbstractLoggingHandler implements Reloada
     public void onReload() throws Exception {
         ChatLoggingConfigAdapter clca = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ChatLoggingConfigAdapter.class);
         this.enabled = clca.getNodeOrDefault().isEnableLog();
+        this.flushInterval = clca.getNodeOrDefault().getFlushInterval();
         if (this.enabled && logger == null) {
             this.createLogger();
+        } else if (this.enabled) {
+            logger.setFlushInterval(this.flushInterval);
         } else if (!this.enabled && logger != null) {
             onShutdown();
         }
@@ -30,4 +36,8 @@ public class ChatLoggerHandler extends AbstractLoggingHandler implements Reloada
     @Override protected boolean enabledLog() {
         return this.enabled;
     }
+
+    @Override protected Duration flushInterval() {
+        return this.flushInterval;
+    }
 }
@@ -8,6 +8,7 @@ import com.google.common.collect.ImmutableList;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,6 +27,9 @@ public class CommandLoggerConfig {
     @Setting(value = "log-to-file", comment = "config.commandlogger.file")
     private boolean logToFile = false;
 
+    @Setting(value = "flush-interval-millis", comment = "config.commandlogger.flushinterval")
+    private long flushInterval = 1000;
+
     public LoggerTargetConfig getLoggerTarget() {
         return loggerTarget;
     }
@@ -41,4 +45,8 @@ public class CommandLoggerConfig {
     public boolean isLogToFile() {
         return logToFile;
     }
+
+    public Duration getFlushInterval() {
+        return Duration.ofMillis(Math.max(50, flushInterval));
+    }
 }
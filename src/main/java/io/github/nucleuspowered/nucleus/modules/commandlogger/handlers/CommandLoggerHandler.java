@@ -8,6 +8,8 @@ import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.logging.AbstractLoggingHandler;
 import io.github.nucleuspowered.nucleus.modules.commandlogger.config.CommandLoggerConfigAdapter;
 
+import java.time.Duration;
+
 public class CommandLoggerHandler extends AbstractLoggingHandler {
 
     private final CommandLoggerConfigAdapter clca;
@@ -20,6 +22,8 @@ public class CommandLoggerHandler extends AbstractLoggingHandler {
     public void onReload() throws Exception {
         if (clca.getNodeOrDefault().isLogToFile() && logger == null) {
             this.createLogger();
+        } else if (clca.getNodeOrDefault().isLogToFile()) {
+            logger.setFlushInterval(flushInterval());
         } else if (!clca.getNodeOrDefault().isLogToFile() && logger != null) {
             onShutdown();
         }
@@ -28,4 +32,8 @@ public class CommandLoggerHandler extends AbstractLoggingHandler {
     @Override protected boolean enabledLog() {
         return clca.getNodeOrDefault().isLogToFile();
     }
+
+    @Override protected Duration flushInterval() {
+        return clca.getNodeOrDefault().getFlushInterval();
+    }
 }
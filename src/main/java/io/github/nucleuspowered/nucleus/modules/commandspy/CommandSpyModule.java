@@ -4,10 +4,13 @@
  */
 package io.github.nucleuspowered.nucleus.modules.commandspy;
 
+import io.github.nucleuspowered.nucleus.internal.annotations.RegisterService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.modules.commandspy.config.CommandSpyConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.commandspy.handlers.CommandSpyHandler;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 
+@RegisterService(CommandSpyHandler.class)
 @ModuleData(id = CommandSpyModule.ID, name = "Command Spy")
 public class CommandSpyModule extends ConfigurableModule<CommandSpyConfigAdapter> {
 
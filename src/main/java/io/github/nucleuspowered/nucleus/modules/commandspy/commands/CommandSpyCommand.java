@@ -13,6 +13,7 @@ import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.modules.commandspy.datamodules.CommandSpyUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.commandspy.handlers.CommandSpyHandler;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
@@ -28,6 +29,7 @@ import java.util.Map;
 @NonnullByDefault
 public class CommandSpyCommand extends AbstractCommand<Player> {
 
+    private final CommandSpyHandler handler = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(CommandSpyHandler.class);
     private final String truefalse = "true/false";
 
     @Override protected Map<String, PermissionInformation> permissionSuffixesToRegister() {
@@ -47,6 +49,7 @@ public class CommandSpyCommand extends AbstractCommand<Player> {
         CommandSpyUserDataModule c = service.get(CommandSpyUserDataModule.class);
         boolean to = args.<Boolean>getOne(truefalse).orElseGet(() -> !c.isCommandSpy());
         c.setCommandSpy(to);
+        this.handler.update(src);
 
         MessageProvider mp = plugin.getMessageProvider();
         src.sendMessage(mp.getTextMessageWithFormat("command.commandspy.success", mp.getMessageWithFormat(to ? "standard.enabled" : "standard.disabled")));
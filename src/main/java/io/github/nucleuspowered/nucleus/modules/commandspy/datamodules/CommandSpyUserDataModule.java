@@ -11,7 +11,7 @@ import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 public class CommandSpyUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("isCommandSpy")
-    private boolean isCommandSpy = false;
+    boolean isCommandSpy = false;
 
     public boolean isCommandSpy() {
         return isCommandSpy;
@@ -19,5 +19,6 @@ public class CommandSpyUserDataModule extends DataModule<ModularUserService> {
 
     public void setCommandSpy(boolean commandSpy) {
         isCommandSpy = commandSpy;
+        markDirty();
     }
 }
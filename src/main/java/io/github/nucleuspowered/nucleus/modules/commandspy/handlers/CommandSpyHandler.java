@@ -0,0 +1,125 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.commandspy.handlers;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.modules.commandspy.CommandSpyModule;
+import io.github.nucleuspowered.nucleus.modules.commandspy.commands.CommandSpyCommand;
+import io.github.nucleuspowered.nucleus.modules.commandspy.config.CommandSpyConfig;
+import io.github.nucleuspowered.nucleus.modules.commandspy.config.CommandSpyConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.commandspy.datamodules.CommandSpyUserDataModule;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps track of the online players that are spying on commands, and of which commands are in the command filter.
+ *
+ * <p>Spies are checked when they join, when they use the command spy command, and every so often (there is no event for
+ * permission changes), so that a command being run does not need to check every online player.</p>
+ */
+public class CommandSpyHandler implements Reloadable {
+
+    private final Map<UUID, Player> spies = new ConcurrentHashMap<>();
+
+    // Player and typed command -> whether the command that the player would run, or any of its aliases, is in the
+    // filter. Commands can be registered at any time, so this is cleared every time spies are refreshed.
+    private final Cache<String, Boolean> inFilter = Caffeine.newBuilder().maximumSize(1000).build();
+    private final String basePermission;
+    private CommandSpyConfig config = new CommandSpyConfig();
+    private Set<String> filter = ImmutableSet.of();
+
+    public CommandSpyHandler() {
+        this.basePermission = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(CommandSpyCommand.class).getBase();
+    }
+
+    @Override
+    public void onReload() throws Exception {
+        this.config = Nucleus.getNucleus().getModuleContainer().getConfigAdapterForModule(CommandSpyModule.ID, CommandSpyConfigAdapter.class)
+                .getNodeOrDefault();
+        this.filter = ImmutableSet.copyOf(this.config.getCommands().stream().map(String::toLowerCase).collect(Collectors.toSet()));
+        this.inFilter.invalidateAll();
+
+        // The first load happens before the server has started, when there is no one to check.
+        if (Sponge.isServerAvailable()) {
+            refresh();
+        }
+    }
+
+    public CommandSpyConfig getConfig() {
+        return this.config;
+    }
+
+    /**
+     * Gets whether the command, or any of its aliases, is in the command filter.
+     *
+     * @param command The command, as it was typed.
+     * @param player The {@link Player} who ran the command, as the command an alias maps to can depend on who runs it.
+     * @return <code>true</code> if so.
+     */
+    public boolean isInFilter(String command, Player player) {
+        if (this.filter.isEmpty()) {
+            return false;
+        }
+
+        Set<String> filter = this.filter;
+        String c = command.toLowerCase();
+        if (filter.contains(c)) {
+            return true;
+        }
+
+        return this.inFilter.get(player.getUniqueId() + " " + c, k ->
+                // If the command exists, then check all aliases.
+                Sponge.getCommandManager().get(c, player)
+                        .map(x -> x.getAllAliases().stream().map(String::toLowerCase).anyMatch(filter::contains))
+                        .orElse(false));
+    }
+
+    /**
+     * Gets the online players that are spying on commands.
+     *
+     * @return The {@link Player}s.
+     */
+    public Collection<Player> getSpies() {
+        return this.spies.values().stream().filter(Player::isOnline).collect(Collectors.toList());
+    }
+
+    /**
+     * Checks whether the player is spying on commands.
+     *
+     * @param player The {@link Player}.
+     */
+    public void update(Player player) {
+        if (player.isOnline() && player.hasPermission(this.basePermission) &&
+                Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(CommandSpyUserDataModule.class).isCommandSpy()) {
+            this.spies.put(player.getUniqueId(), player);
+        } else {
+            this.spies.remove(player.getUniqueId());
+        }
+    }
+
+    public void remove(Player player) {
+        this.spies.remove(player.getUniqueId());
+    }
+
+    /**
+     * Checks every online player, and forgets which commands are in the filter.
+     */
+    public void refresh() {
+        this.inFilter.invalidateAll();
+        Sponge.getServer().getOnlinePlayers().forEach(this::update);
+        this.spies.values().removeIf(x -> !x.isOnline());
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.commandspy.runnables;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.modules.commandspy.handlers.CommandSpyHandler;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@NonnullByDefault
+public class CommandSpyRefreshTask extends TaskBase {
+
+    private final CommandSpyHandler handler = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(CommandSpyHandler.class);
+
+    @Override
+    public void accept(Task task) {
+        handler.refresh();
+    }
+
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(30, ChronoUnit.SECONDS);
+    }
+}
@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.core.commands;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.PluginInfo;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
@@ -127,6 +128,16 @@ public class InfoCommand extends AbstractCommand<CommandSource> {
             disabled.stream().sorted().forEach(information::add);
         }
 
+        information.add(separator);
+        information.add("Nucleus: User Data");
+        information.add(separator);
+
+        UserDataManager userDataManager = plugin.getUserDataManager();
+        information.add("Saves written: " + userDataManager.getSavesWritten());
+        information.add("Saves skipped (unchanged): " + userDataManager.getSavesSkipped());
+        information.add("Login prefetch hits: " + userDataManager.getPrefetchHits());
+        information.add("Login prefetch misses: " + userDataManager.getPrefetchMisses());
+
 
         String fileName = "nucleus-info-" + DateTimeFormatter.BASIC_ISO_DATE.format(LocalDateTime.now()) + "-" + DateTimeFormatter.ofPattern("HHmmss").format(LocalDateTime.now()) + ".txt";
         try (BufferedWriter fw = new BufferedWriter(new FileWriter(fileName, false))) {
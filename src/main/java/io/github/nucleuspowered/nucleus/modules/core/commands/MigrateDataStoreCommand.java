@@ -0,0 +1,41 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands;
+
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
+import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+/**
+ * Imports the user and world JSON files into the single file data stores.
+ */
+@Permissions(prefix = "nucleus", suggestedLevel = SuggestedLevel.NONE)
+@RunAsync
+@NoModifiers
+@RegisterCommand(value = "migratedatastore", subcommandOf = NucleusCommand.class)
+@NonnullByDefault
+public class MigrateDataStoreCommand extends AbstractCommand<CommandSource> {
+
+    @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+        DataProviders dataProviders = getServiceUnchecked(DataProviders.class);
+        if (!dataProviders.isUsingSingleFileStore()) {
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.migratedatastore.disabled"));
+            return CommandResult.empty();
+        }
+
+        src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.migratedatastore.start"));
+        int count = dataProviders.importJsonFilesToStores();
+        src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.migratedatastore.end", String.valueOf(count)));
+        return CommandResult.success();
+    }
+}
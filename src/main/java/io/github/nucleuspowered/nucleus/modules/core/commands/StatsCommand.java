@@ -0,0 +1,73 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.DataManager;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTokenServiceImpl;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Displays statistics about the user and world data caches, reused token values and warmups.
+ */
+@Permissions(prefix = "nucleus", suggestedLevel = SuggestedLevel.NONE)
+@NoModifiers
+@RegisterCommand(value = "stats", subcommandOf = NucleusCommand.class)
+@NonnullByDefault
+public class StatsCommand extends AbstractCommand<CommandSource> {
+
+    @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+        MessageProvider mp = plugin.getMessageProvider();
+        src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.stats.title"));
+        sendStats(src, mp, mp.getMessageWithFormat("command.nucleus.stats.users"), plugin.getUserDataManager());
+        sendStats(src, mp, mp.getMessageWithFormat("command.nucleus.stats.worlds"), plugin.getWorldDataManager());
+        src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.stats.prefetch",
+                String.valueOf(plugin.getUserDataManager().getPrefetchHits()),
+                String.valueOf(plugin.getUserDataManager().getPrefetchMisses())));
+
+        NucleusTokenServiceImpl tokenService = getServiceUnchecked(NucleusTokenServiceImpl.class);
+        long hits = tokenService.getValueHits();
+        long misses = tokenService.getValueMisses();
+        src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.stats.tokens",
+                String.format("%.1f", hits + misses == 0 ? 0d : hits * 100d / (hits + misses)),
+                String.valueOf(hits),
+                String.valueOf(misses)));
+
+        WarmupManager warmupManager = plugin.getWarmupManager();
+        src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.stats.warmups",
+                String.valueOf(warmupManager.getPendingWarmups()),
+                String.format("%.2f", warmupManager.getAverageLatency().toNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1))));
+        return CommandResult.success();
+    }
+
+    private void sendStats(CommandSource src, MessageProvider mp, String name, DataManager<?, ?, ?> manager) {
+        CacheStats stats = manager.getCacheStats();
+        src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.stats.cache",
+                name,
+                String.valueOf(manager.getCacheSize()),
+                String.valueOf(manager.getCacheWeight() / 1024)));
+        src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.stats.hits",
+                String.format("%.1f", stats.hitRate() * 100),
+                String.valueOf(stats.hitCount()),
+                String.valueOf(stats.missCount()),
+                String.valueOf(stats.evictionCount()),
+                String.format("%.2f", stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1))));
+        src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.stats.saves",
+                String.valueOf(manager.getSavesWritten()),
+                String.valueOf(manager.getSavesSkipped())));
+    }
+}
@@ -55,6 +55,18 @@ public class CoreConfig {
     @Setting(value = "track-world-uuids", comment = "config.core.track")
     private boolean trackWorldUUIDs = true;
 
+    @Setting(value = "single-file-data-store", comment = "config.core.singlefiledatastore")
+    private boolean singleFileDataStore = false;
+
+    @Setting(value = "user-data-cache", comment = "config.core.userdatacache")
+    private DataCacheConfig userDataCache = new DataCacheConfig(4096, 30);
+
+    @Setting(value = "world-data-cache", comment = "config.core.worlddatacache")
+    private DataCacheConfig worldDataCache = new DataCacheConfig(1024, 0);
+
+    @Setting(value = "persist-cooldowns-longer-than-seconds", comment = "config.core.persistcooldowns")
+    private long persistCooldowns = 300;
+
     public boolean isDebugmode() {
         return debugmode;
     }
@@ -114,4 +126,20 @@ public class CoreConfig {
     public boolean isTrackWorldUUIDs() {
         return trackWorldUUIDs;
     }
+
+    public boolean isSingleFileDataStore() {
+        return singleFileDataStore;
+    }
+
+    public DataCacheConfig getUserDataCache() {
+        return userDataCache;
+    }
+
+    public DataCacheConfig getWorldDataCache() {
+        return worldDataCache;
+    }
+
+    public long getPersistCooldownsThreshold() {
+        return this.persistCooldowns;
+    }
 }
@@ -0,0 +1,35 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.config;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class DataCacheConfig {
+
+    @Setting(value = "maximum-size-kb", comment = "config.core.datacache.maxsize")
+    private long maximumSizeKb = 4096;
+
+    @Setting(value = "expire-after-access-minutes", comment = "config.core.datacache.expire")
+    private long expireAfterAccessMinutes = 0;
+
+    public DataCacheConfig() {
+        // ignored - for Configurate
+    }
+
+    DataCacheConfig(long maximumSizeKb, long expireAfterAccessMinutes) {
+        this.maximumSizeKb = maximumSizeKb;
+        this.expireAfterAccessMinutes = expireAfterAccessMinutes;
+    }
+
+    public long getMaximumSizeKb() {
+        return Math.max(64, this.maximumSizeKb);
+    }
+
+    public long getExpireAfterAccessMinutes() {
+        return Math.max(0, this.expireAfterAccessMinutes);
+    }
+}
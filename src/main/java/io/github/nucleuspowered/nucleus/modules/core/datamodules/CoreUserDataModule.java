@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.modules.core.datamodules;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.api.exceptions.NoSuchWorldException;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.LocationNode;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
@@ -15,6 +16,7 @@ import org.spongepowered.api.world.World;
 
 import java.net.InetAddress;
 import java.time.Instant;
+import java.util.Map;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
@@ -26,35 +28,39 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
     private boolean firstPlay;
 
     @DataKey("lastKnownName")
-    private String lastKnownName;
+    String lastKnownName;
 
     @DataKey("locationOnLogin")
     @Nullable
-    private LocationNode locationOnLogin;
+    LocationNode locationOnLogin;
 
     @DataKey("lastLocation")
     @Nullable
-    private LocationNode lastLocation;
+    LocationNode lastLocation;
 
     @DataKey("lastLogin")
-    private long login;
+    long login;
 
     @DataKey("lastLogout")
-    private long logout;
+    long logout;
 
     @DataKey("lastIP")
     @Nullable
-    private String ipaddress;
+    String ipaddress;
 
     @DataKey("firstJoin")
-    private long firstJoin = 0;
+    long firstJoin = 0;
 
     // This is required as if a player joins during whitelist, Sponge logs it as a first join.
     // This means they lose out on all first join stuff, like first join kits.
     // We log a first join during a Login event that is cancelled, and then read if this
     // is true later (along with the last logout).
     @DataKey("startedFirstJoin")
-    private boolean startedFirstJoin = false;
+    boolean startedFirstJoin = false;
+
+    // Cooldown ID -> when it expires, in milliseconds.
+    @DataKey("cooldowns")
+    Map<String, Long> cooldowns = Maps.newHashMap();
 
     public Optional<Instant> getLastLogin() {
         if (login == 0) {
@@ -66,6 +72,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setLastLogin(Instant login) {
         this.login = login.toEpochMilli();
+        markDirty();
     }
 
     public Optional<Instant> getLastLogout() {
@@ -79,6 +86,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
     public void setLastLogout(Location<World> location) {
         this.logout = System.currentTimeMillis();
         this.lastLocation = new LocationNode(location);
+        markDirty();
     }
 
     public Optional<LocationNode> getLogoutLocationSafe() {
@@ -112,10 +120,12 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
     public void sendToLocationOnLogin(@Nonnull Location<World> worldLocation) {
         Preconditions.checkNotNull(worldLocation);
         this.locationOnLogin = new LocationNode(worldLocation);
+        markDirty();
     }
 
     public void removeLocationOnLogin() {
         this.locationOnLogin = null;
+        markDirty();
     }
 
     public Optional<String> getLastIp() {
@@ -124,6 +134,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setLastIp(InetAddress address) {
         this.ipaddress = address.toString();
+        markDirty();
     }
 
     public Optional<String> getLastKnownName() {
@@ -132,6 +143,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setLastKnownName(String lastKnownName) {
         this.lastKnownName = lastKnownName;
+        markDirty();
     }
 
     public boolean isFirstPlay() {
@@ -152,6 +164,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setFirstJoin(Instant firstJoin) {
         this.firstJoin = firstJoin.toEpochMilli();
+        markDirty();
     }
 
     public boolean isStartedFirstJoin() {
@@ -160,5 +173,23 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setStartedFirstJoin(boolean startedFirstJoin) {
         this.startedFirstJoin = startedFirstJoin;
+        markDirty();
+    }
+
+    public Map<String, Instant> getCooldowns() {
+        final Map<String, Instant> r = Maps.newHashMap();
+        this.cooldowns.forEach((k, v) -> r.put(k, Instant.ofEpochMilli(v)));
+        return r;
+    }
+
+    public void setCooldown(String id, Instant expiry) {
+        this.cooldowns.put(id, expiry.toEpochMilli());
+        markDirty();
+    }
+
+    public void removeCooldown(String id) {
+        if (this.cooldowns.remove(id) != null) {
+            markDirty();
+        }
     }
 }
@@ -11,6 +11,7 @@ import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTokenServiceImpl;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.CoreUserDataModule;
@@ -41,6 +42,7 @@ import java.net.InetAddress;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.UUID;
 
 import javax.annotation.Nullable;
 
@@ -48,9 +50,21 @@ public class CoreListener extends ListenerBase implements Reloadable {
 
     @Nullable private NucleusTextTemplate getKickOnStopMessage = null;
 
+    /* (non-Javadoc)
+     * Start loading the player's data as soon as they are authenticated, off the server thread, so that it is ready
+     * by the time the login events need it.
+     */
+    @Listener(order = Order.LAST)
+    public void onPlayerAuth(final ClientConnectionEvent.Auth event, @Getter("getProfile") GameProfile profile) {
+        final UUID uuid = profile.getUniqueId();
+        Task.builder().async().execute(() -> this.plugin.getUserDataManager().prefetch(uuid)).submit(this.plugin);
+    }
+
     @IsCancelled(Tristate.UNDEFINED)
     @Listener(order = Order.FIRST)
     public void onPlayerLoginFirst(final ClientConnectionEvent.Login event, @Getter("getTargetUser") User user) {
+        this.plugin.getUserDataManager().recordPrefetchResult(user.getUniqueId());
+
         // This works here. Not complaining.
         if (Util.isFirstPlay(user)) {
             Nucleus.getNucleus().getUserDataManager().get(user).ifPresent(qsu -> {
@@ -103,8 +117,11 @@ public class CoreListener extends ListenerBase implements Reloadable {
     public void onPlayerJoinFirst(final ClientConnectionEvent.Join event, @Getter("getTargetEntity") final Player player) {
         try {
             ModularUserService qsu = Nucleus.getNucleus().getUserDataManager().getUnchecked(player);
+            Nucleus.getNucleus().getUserDataManager().updatePinned(player.getUniqueId());
+            Nucleus.getNucleus().getUserDataManager().getPlayerStates().add(qsu);
             CoreUserDataModule c = qsu.get(CoreUserDataModule.class);
             c.setLastLogin(Instant.now());
+            Nucleus.getNucleus().getCooldownService().load(player.getUniqueId(), c);
 
             // If in the cache, unset it too.
             c.setFirstPlay(c.isStartedFirstJoin() && !c.getLastLogout().isPresent());
@@ -151,6 +168,16 @@ public class CoreListener extends ListenerBase implements Reloadable {
         }
 
         this.plugin.getUserDataManager().get(player).ifPresent(x -> onPlayerQuit(x, player));
+
+        // The player is still online at this point, so unpin their data (and forget their token values) once they have gone.
+        final UUID uuid = player.getUniqueId();
+        Task.builder().execute(() -> {
+            this.plugin.getUserDataManager().updatePinned(uuid);
+            if (!Sponge.getServer().getPlayer(uuid).isPresent()) {
+                this.plugin.getUserDataManager().getPlayerStates().remove(uuid);
+            }
+            getServiceUnchecked(NucleusTokenServiceImpl.class).invalidate(player);
+        }).submit(this.plugin);
     }
 
     private void onPlayerQuit(ModularUserService x, Player player) {
@@ -161,7 +188,7 @@ public class CoreListener extends ListenerBase implements Reloadable {
             CoreUserDataModule coreUserDataModule = x.get(CoreUserDataModule.class);
             coreUserDataModule.setLastIp(address);
             coreUserDataModule.setLastLogout(location);
-            x.save();
+            this.plugin.getUserDataManager().queueSave(x.getUniqueId());
             plugin.getUserCacheService().updateCacheForPlayer(x);
         } catch (Exception e) {
             Nucleus.getNucleus().printStackTraceIfDebugMode(e);
@@ -43,7 +43,6 @@ public class WarmupListener extends ListenerBase implements Reloadable {
     }
 
     private void cancelWarmup(Player player) {
-        service.cleanup();
         if (service.removeWarmup(player.getUniqueId()) && player.isOnline()) {
             player.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("warmup.cancel"));
         }
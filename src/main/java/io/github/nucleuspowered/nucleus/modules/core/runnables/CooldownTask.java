@@ -0,0 +1,46 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.runnables;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.modules.core.CoreModule;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Turns the wheel in the cooldown service, removing expired cooldowns.
+ */
+@NonnullByDefault
+public class CooldownTask extends TaskBase implements Reloadable {
+
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(1, ChronoUnit.SECONDS);
+    }
+
+    @Override
+    public void accept(Task task) {
+        Nucleus.getNucleus().getCooldownService().tick();
+    }
+
+    @Override
+    public void onReload() throws Exception {
+        Nucleus.getNucleus().getCooldownService().setPersistThreshold(
+                Nucleus.getNucleus().getConfigValue(CoreModule.ID, CoreConfigAdapter.class, CoreConfig::getPersistCooldownsThreshold)
+                        .orElse(300L));
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.runnables;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Runs the warmups that are due, every tick.
+ */
+@NonnullByDefault
+public class WarmupTask extends TaskBase {
+
+    private final WarmupManager warmupManager = Nucleus.getNucleus().getWarmupManager();
+
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(50, ChronoUnit.MILLIS);
+    }
+
+    @Override
+    public void accept(Task task) {
+        this.warmupManager.tick(task);
+    }
+}
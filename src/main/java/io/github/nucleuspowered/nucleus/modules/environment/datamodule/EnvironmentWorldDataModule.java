@@ -11,7 +11,7 @@ import io.github.nucleuspowered.nucleus.dataservices.modular.ModularWorldService
 public class EnvironmentWorldDataModule extends DataModule<ModularWorldService> {
 
     @DataKey("lock-weather")
-    private boolean lockWeather = false;
+    boolean lockWeather = false;
 
     public boolean isLockWeather() {
         return lockWeather;
@@ -19,5 +19,6 @@ public class EnvironmentWorldDataModule extends DataModule<ModularWorldService>
 
     public void setLockWeather(boolean lockWeather) {
         this.lockWeather = lockWeather;
+        markDirty();
     }
 }
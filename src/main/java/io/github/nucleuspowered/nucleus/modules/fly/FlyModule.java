@@ -6,9 +6,11 @@ package io.github.nucleuspowered.nucleus.modules.fly;
 
 import com.google.common.collect.ImmutableMap;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.internal.text.Tokens;
 import io.github.nucleuspowered.nucleus.modules.fly.config.FlyConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.fly.datamodules.FlyUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.mute.handler.MuteHandler;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.data.key.Keys;
@@ -27,6 +29,10 @@ public class FlyModule extends ConfigurableModule<FlyConfigAdapter> {
         return new FlyConfigAdapter();
     }
 
+    @Override protected void performEnableTasks() throws Exception {
+        plugin.getUserDataManager().getPlayerStates().registerSeeder(PlayerStateTable.State.FLYING, FlyUserDataModule.class, FlyUserDataModule::isFlyingSafe);
+    }
+
     @Override protected Map<String, Tokens.Translator> tokensToRegister() {
         return ImmutableMap.<String, Tokens.Translator>builder()
                 .put("flying", new Tokens.TrueFalseVariableTranslator() {
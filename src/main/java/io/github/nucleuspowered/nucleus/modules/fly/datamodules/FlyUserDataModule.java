@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.modules.fly.datamodules;
 
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
@@ -12,14 +13,22 @@ import org.spongepowered.api.data.key.Keys;
 public class FlyUserDataModule extends DataModule.ReferenceService<ModularUserService> {
 
     @DataKey("fly")
-    private boolean fly = false;
+    boolean fly = false;
 
     public FlyUserDataModule(ModularUserService modularDataService) {
         super(modularDataService);
     }
 
     public boolean isFlying() {
-        getService().getPlayer().ifPresent(player -> this.fly = player.get(Keys.CAN_FLY).orElse(false));
+        getService().getPlayer().ifPresent(player -> {
+            boolean canFly = player.get(Keys.CAN_FLY).orElse(false);
+            if (canFly != this.fly) {
+                this.fly = canFly;
+                markDirty();
+                getService().setPlayerState(PlayerStateTable.State.FLYING, canFly);
+            }
+        });
+
         return fly;
     }
 
@@ -29,5 +38,7 @@ public class FlyUserDataModule extends DataModule.ReferenceService<ModularUserSe
 
     public void setFlying(boolean fly) {
         this.fly = fly;
+        markDirty();
+        getService().setPlayerState(PlayerStateTable.State.FLYING, fly);
     }
 }
@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.modules.fly.listeners;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
@@ -33,6 +34,7 @@ import java.util.Optional;
 
 public class FlyListener extends ListenerBase implements Reloadable {
 
+    private final PlayerStateTable playerStates = Nucleus.getNucleus().getUserDataManager().getPlayerStates();
     private FlyConfig flyConfig = new FlyConfig();
     private CommandPermissionHandler flyCommandHandler =
             Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(FlyCommand.class);
@@ -77,9 +79,14 @@ public class FlyListener extends ListenerBase implements Reloadable {
             return;
         }
 
+        // Only touch the data if the state has changed since it was last stored.
+        boolean canFly = pl.get(Keys.CAN_FLY).orElse(false);
+        if (this.playerStates.is(pl.getUniqueId(), PlayerStateTable.State.FLYING) == canFly) {
+            return;
+        }
+
         try {
-            Nucleus.getNucleus().getUserDataManager().getUnchecked(pl)
-                    .get(FlyUserDataModule.class).setFlying(pl.get(Keys.CAN_FLY).orElse(false));
+            Nucleus.getNucleus().getUserDataManager().get(pl).ifPresent(x -> x.get(FlyUserDataModule.class).setFlying(canFly));
         } catch (Exception e) {
             Nucleus.getNucleus().printStackTraceIfDebugMode(e);
         }
@@ -101,15 +108,7 @@ public class FlyListener extends ListenerBase implements Reloadable {
             return;
         }
 
-        ModularUserService uc;
-        try {
-            uc = Nucleus.getNucleus().getUserDataManager().getUnchecked(pl);
-            if (!uc.get(FlyUserDataModule.class).isFlying()) {
-                return;
-            }
-        } catch (Exception e) {
-            Nucleus.getNucleus().printStackTraceIfDebugMode(e);
-
+        if (!this.playerStates.is(pl.getUniqueId(), PlayerStateTable.State.FLYING)) {
             return;
         }
 
@@ -126,7 +125,7 @@ public class FlyListener extends ListenerBase implements Reloadable {
                         target.offer(Keys.IS_FLYING, true);
                     }
                 } else {
-                    uc.get(FlyUserDataModule.class).setFlying(false);
+                    Nucleus.getNucleus().getUserDataManager().get(pl).ifPresent(x -> x.get(FlyUserDataModule.class).setFlying(false));
                     target.offer(Keys.CAN_FLY, false);
                     target.offer(Keys.IS_FLYING, false);
                 }
@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.freezeplayer;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.StandardModule;
 import io.github.nucleuspowered.nucleus.internal.text.Tokens;
@@ -15,7 +16,6 @@ import io.github.nucleuspowered.nucleus.modules.freezeplayer.datamodules.FreezeP
 import io.github.nucleuspowered.nucleus.modules.mute.handler.MuteHandler;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
-import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.format.TextColors;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
@@ -27,6 +27,7 @@ import java.util.Optional;
 public class FreezePlayerModule extends StandardModule {
 
     @Override public void performEnableTasks() {
+        plugin.getUserDataManager().getPlayerStates().registerSeeder(PlayerStateTable.State.FROZEN, FreezePlayerUserDataModule.class, FreezePlayerUserDataModule::isFrozen);
         createSeenModule(FreezePlayerCommand.class, (c, u) -> {
             Optional<ModularUserService> us = plugin.getUserDataManager().get(u);
             if (us.isPresent() && us.get().get(FreezePlayerUserDataModule.class).isFrozen()) {
@@ -48,9 +49,8 @@ public class FreezePlayerModule extends StandardModule {
                     }
 
                     @Override protected boolean condition(CommandSource commandSource) {
-                        return commandSource instanceof Player &&
-                                Nucleus.getNucleus().getUserDataManager().get((User) commandSource).map(x -> x.get(FreezePlayerUserDataModule.class).isFrozen())
-                                        .orElse(false);
+                        return commandSource instanceof Player && Nucleus.getNucleus().getUserDataManager().getPlayerStates()
+                                .is(((Player) commandSource).getUniqueId(), PlayerStateTable.State.FROZEN);
                     }
                 })
                 .build();
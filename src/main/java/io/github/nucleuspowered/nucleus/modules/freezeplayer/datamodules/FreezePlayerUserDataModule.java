@@ -4,14 +4,19 @@
  */
 package io.github.nucleuspowered.nucleus.modules.freezeplayer.datamodules;
 
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 
-public class FreezePlayerUserDataModule extends DataModule<ModularUserService> {
+public class FreezePlayerUserDataModule extends DataModule.ReferenceService<ModularUserService> {
 
     @DataKey("isFrozen")
-    private boolean isFrozen = false;
+    boolean isFrozen = false;
+
+    public FreezePlayerUserDataModule(ModularUserService modularDataService) {
+        super(modularDataService);
+    }
 
     public boolean isFrozen() {
         return isFrozen;
@@ -19,6 +24,8 @@ public class FreezePlayerUserDataModule extends DataModule<ModularUserService> {
 
     public void setFrozen(boolean value) {
         isFrozen = value;
+        markDirty();
+        getService().setPlayerState(PlayerStateTable.State.FROZEN, value);
     }
 
 }
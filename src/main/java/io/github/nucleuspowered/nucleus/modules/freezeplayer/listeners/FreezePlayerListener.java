@@ -6,8 +6,8 @@ package io.github.nucleuspowered.nucleus.modules.freezeplayer.listeners;
 
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
-import io.github.nucleuspowered.nucleus.modules.freezeplayer.datamodules.FreezePlayerUserDataModule;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.action.InteractEvent;
@@ -23,6 +23,7 @@ import java.util.UUID;
 public class FreezePlayerListener extends ListenerBase {
 
     private final Map<UUID, Instant> lastFreezeNotification = Maps.newHashMap();
+    private final PlayerStateTable playerStates = Nucleus.getNucleus().getUserDataManager().getPlayerStates();
 
     @Listener
     public void onPlayerMovement(MoveEntityEvent event, @Root Player player) {
@@ -40,7 +41,7 @@ public class FreezePlayerListener extends ListenerBase {
     }
 
     private boolean checkForFrozen(Player player, String message) {
-        if (Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(FreezePlayerUserDataModule.class).isFrozen()) {
+        if (this.playerStates.is(player.getUniqueId(), PlayerStateTable.State.FROZEN)) {
             Instant now = Instant.now();
             if (lastFreezeNotification.getOrDefault(player.getUniqueId(), now).isBefore(now)) {
                 player.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat(message));
@@ -25,7 +25,7 @@ import java.util.stream.Collectors;
 public class HomeUserDataModule extends DataModule.ReferenceService<ModularUserService> {
 
     @DataKey("homes")
-    private Map<String, LocationNode> homeData = Maps.newHashMap();
+    Map<String, LocationNode> homeData = Maps.newHashMap();
 
     public HomeUserDataModule(ModularUserService modularDataService) {
         super(modularDataService);
@@ -74,6 +74,7 @@ public class HomeUserDataModule extends DataModule.ReferenceService<ModularUserS
         }
 
         homeData.put(home, new LocationNode(location, rotation));
+        markDirty();
         return true;
     }
 
@@ -85,6 +86,7 @@ public class HomeUserDataModule extends DataModule.ReferenceService<ModularUserS
         Optional<String> os = Util.getKeyIgnoreCase(homeData, home);
         if (os.isPresent()) {
             homeData.remove(os.get());
+            markDirty();
             return true;
         }
 
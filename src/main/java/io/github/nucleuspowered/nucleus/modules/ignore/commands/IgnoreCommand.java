@@ -14,7 +14,7 @@ import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
 import io.github.nucleuspowered.nucleus.internal.docgen.annotations.EssentialsEquivalent;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
-import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.handlers.IgnoreHandler;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
@@ -34,6 +34,7 @@ import java.util.Map;
 @NonnullByDefault
 public class IgnoreCommand extends AbstractCommand<Player> {
 
+    private final IgnoreHandler handler = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(IgnoreHandler.class);
 
     private final String userKey = "user";
     private final String toggleKey = "toggle";
@@ -61,23 +62,21 @@ public class IgnoreCommand extends AbstractCommand<Player> {
             return CommandResult.empty();
         }
 
-        IgnoreUserDataModule inu = Nucleus.getNucleus().getUserDataManager().getUnchecked(src).get(IgnoreUserDataModule.class);
-
         if (permissions.testSuffix(target, "exempt.chat")) {
             // Make sure they are removed.
-            inu.removeFromIgnoreList(target.getUniqueId());
+            handler.unignore(src, target.getUniqueId());
             src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.ignore.exempt", target.getName()));
             return CommandResult.empty();
         }
 
         // Ok, we can ignore or unignore them.
-        boolean ignore = args.<Boolean>getOne(toggleKey).orElse(!inu.getIgnoreList().contains(target.getUniqueId()));
+        boolean ignore = args.<Boolean>getOne(toggleKey).orElse(!handler.isIgnoring(src, target.getUniqueId()));
 
         if (ignore) {
-            inu.addToIgnoreList(target.getUniqueId());
+            handler.ignore(src, target.getUniqueId());
             src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.ignore.added", target.getName()));
         } else {
-            inu.removeFromIgnoreList(target.getUniqueId());
+            handler.unignore(src, target.getUniqueId());
             src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.ignore.remove", target.getName()));
         }
 
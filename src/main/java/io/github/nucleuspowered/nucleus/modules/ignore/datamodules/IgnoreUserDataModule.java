@@ -16,7 +16,7 @@ import java.util.UUID;
 public class IgnoreUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("ignoreList")
-    private List<UUID> ignoreList = Lists.newArrayList();
+    List<UUID> ignoreList = Lists.newArrayList();
 
     public List<UUID> getIgnoreList() {
         return ImmutableList.copyOf(ignoreList);
@@ -25,6 +25,7 @@ public class IgnoreUserDataModule extends DataModule<ModularUserService> {
     public boolean addToIgnoreList(UUID uuid) {
         if (!ignoreList.contains(uuid)) {
             ignoreList.add(uuid);
+            markDirty();
             return true;
         }
 
@@ -32,7 +33,12 @@ public class IgnoreUserDataModule extends DataModule<ModularUserService> {
     }
 
     public boolean removeFromIgnoreList(UUID uuid) {
-        return ignoreList.remove(uuid);
+        if (ignoreList.remove(uuid)) {
+            markDirty();
+            return true;
+        }
+
+        return false;
     }
 
 }
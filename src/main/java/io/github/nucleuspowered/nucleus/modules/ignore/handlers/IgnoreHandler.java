@@ -0,0 +1,123 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.ignore.handlers;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.living.player.User;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of which online players are ignoring each player, so that chat can be filtered without looking up the
+ * ignore list of every receiver.
+ *
+ * <p>All changes to a player's ignore list should go through this handler so that the index stays in step with the
+ * stored list.</p>
+ */
+public class IgnoreHandler {
+
+    // Ignored player -> online players ignoring them.
+    private final Map<UUID, Set<UUID>> ignoredBy = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the online players that are ignoring the specified player.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @return The {@link UUID}s of the online players ignoring them.
+     */
+    public Set<UUID> getOnlineIgnorers(UUID uuid) {
+        Set<UUID> ignorers = this.ignoredBy.get(uuid);
+        return ignorers == null ? Collections.emptySet() : Collections.unmodifiableSet(ignorers);
+    }
+
+    /**
+     * Gets whether a user is ignoring another.
+     *
+     * @param user The user who might be ignoring the target.
+     * @param target The {@link UUID} of the target.
+     * @return <code>true</code> if so.
+     */
+    public boolean isIgnoring(User user, UUID target) {
+        if (user.isOnline()) {
+            return getOnlineIgnorers(target).contains(user.getUniqueId());
+        }
+
+        return getModule(user).getIgnoreList().contains(target);
+    }
+
+    /**
+     * Adds a player to a user's ignore list.
+     *
+     * @param user The user.
+     * @param target The {@link UUID} of the player to ignore.
+     */
+    public void ignore(User user, UUID target) {
+        getModule(user).addToIgnoreList(target);
+        if (user.isOnline()) {
+            add(user.getUniqueId(), target);
+        }
+    }
+
+    /**
+     * Removes a player from a user's ignore list.
+     *
+     * @param user The user.
+     * @param target The {@link UUID} of the player to stop ignoring.
+     */
+    public void unignore(User user, UUID target) {
+        getModule(user).removeFromIgnoreList(target);
+        remove(user.getUniqueId(), target);
+    }
+
+    /**
+     * Adds the player's ignore list to the index.
+     *
+     * @param player The {@link Player} who has joined.
+     */
+    public void onJoin(Player player) {
+        UUID uuid = player.getUniqueId();
+        getModule(player).getIgnoreList().forEach(x -> add(uuid, x));
+    }
+
+    /**
+     * Removes the player from the index.
+     *
+     * @param player The {@link Player} who is leaving.
+     */
+    public void onQuit(Player player) {
+        UUID uuid = player.getUniqueId();
+        Collection<UUID> ignored;
+        try {
+            ignored = getModule(player).getIgnoreList();
+        } catch (Exception e) {
+            // Fall back to checking everything.
+            ignored = this.ignoredBy.keySet();
+        }
+
+        ignored.forEach(x -> remove(uuid, x));
+    }
+
+    private void add(UUID ignorer, UUID target) {
+        this.ignoredBy.computeIfAbsent(target, k -> ConcurrentHashMap.newKeySet()).add(ignorer);
+    }
+
+    private void remove(UUID ignorer, UUID target) {
+        this.ignoredBy.computeIfPresent(target, (k, v) -> {
+            v.remove(ignorer);
+            return v.isEmpty() ? null : v;
+        });
+    }
+
+    private IgnoreUserDataModule getModule(User user) {
+        return Nucleus.getNucleus().getUserDataManager().getUnchecked(user).get(IgnoreUserDataModule.class);
+    }
+}
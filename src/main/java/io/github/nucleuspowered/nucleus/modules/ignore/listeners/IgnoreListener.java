@@ -10,29 +10,48 @@ import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.chat.NucleusNoIgnoreChannel;
 import io.github.nucleuspowered.nucleus.api.events.NucleusMailEvent;
 import io.github.nucleuspowered.nucleus.api.events.NucleusMessageEvent;
-import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.modules.ignore.commands.IgnoreCommand;
-import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.handlers.IgnoreHandler;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.message.MessageChannelEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.channel.MutableMessageChannel;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 public class IgnoreListener extends ListenerBase {
 
-    private final UserDataManager loader = Nucleus.getNucleus().getUserDataManager();
+    private final IgnoreHandler handler = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(IgnoreHandler.class);
     private CommandPermissionHandler ignoreHandler = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(IgnoreCommand.class);
 
+    @Listener(order = Order.LATE)
+    public void onJoin(ClientConnectionEvent.Join event, @Root Player player) {
+        try {
+            handler.onJoin(player);
+        } catch (Exception e) {
+            if (plugin.isDebugMode()) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Listener
+    public void onQuit(ClientConnectionEvent.Disconnect event, @Root Player player) {
+        handler.onQuit(player);
+    }
+
     @Listener(order = Order.LATE)
     public void onChat(MessageChannelEvent.Chat event) {
         if (event.getChannel().orElseGet(event::getOriginalChannel) instanceof NucleusNoIgnoreChannel) {
@@ -55,9 +74,7 @@ public class IgnoreListener extends ListenerBase {
     public void onMessage(NucleusMessageEvent event, @Root Player player) {
         if (event.getRecipient() instanceof User) {
             try {
-                event.setCancelled(loader.getUnchecked((User) event.getRecipient())
-                        .get(IgnoreUserDataModule.class)
-                        .getIgnoreList().contains(player.getUniqueId()));
+                event.setCancelled(handler.isIgnoring((User) event.getRecipient(), player.getUniqueId()));
             } catch (Exception e) {
                 if (plugin.isDebugMode()) {
                     e.printStackTrace();
@@ -69,9 +86,7 @@ public class IgnoreListener extends ListenerBase {
     @Listener(order = Order.FIRST)
     public void onMail(NucleusMailEvent event, @Root Player player) {
         try {
-            event.setCancelled(loader.getUnchecked(event.getRecipient())
-                    .get(IgnoreUserDataModule.class)
-                    .getIgnoreList().contains(player.getUniqueId()));
+            event.setCancelled(handler.isIgnoring(event.getRecipient(), player.getUniqueId()));
         } catch (Exception e) {
             if (plugin.isDebugMode()) {
                 e.printStackTrace();
@@ -87,35 +102,16 @@ public class IgnoreListener extends ListenerBase {
      * @return {@link Optional} if unchanged, otherwise a {@link Collection} of {@link MessageReceiver}s to remove
      */
     private Optional<Collection<MessageReceiver>> checkCancels(Collection<MessageReceiver> collection, Player player) {
-        if (ignoreHandler.testSuffix(player, "exempt.chat")) {
+        // Only the players ignoring the sender need to be looked at, which is usually nobody.
+        Set<UUID> ignorers = handler.getOnlineIgnorers(player.getUniqueId());
+        if (ignorers.isEmpty() || ignoreHandler.testSuffix(player, "exempt.chat")) {
             return Optional.empty();
         }
 
-        List<MessageReceiver> list = Lists.newArrayList(collection);
-        list.removeIf(x -> {
-            try {
-                if (!(x instanceof Player)) {
-                    // Remove if not a player.
-                    return true;
-                }
-
-                if (x.equals(player)) {
-                    // Remove if the same player.
-                    return true;
-                }
-
-                // Don't remove if they are in the list.
-                return !loader.get((Player) x).map(y ->
-                        y.get(IgnoreUserDataModule.class).getIgnoreList().contains(player.getUniqueId())).orElse(false);
-            } catch (Exception e) {
-                if (plugin.isDebugMode()) {
-                    e.printStackTrace();
-                }
-
-                // Remove them.
-                return true;
-            }
-        });
+        List<MessageReceiver> list = Lists.newArrayList();
+        for (UUID uuid : ignorers) {
+            Sponge.getServer().getPlayer(uuid).filter(x -> !x.equals(player) && collection.contains(x)).ifPresent(list::add);
+        }
 
         // We do this so we don't have to recreate a channel if nothing changes.
         if (list.isEmpty()) {
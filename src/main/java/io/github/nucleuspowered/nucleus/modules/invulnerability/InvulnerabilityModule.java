@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.modules.invulnerability;
 
 import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.api.service.NucleusInvulnerabilityService;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.modules.invulnerability.commands.GodCommand;
@@ -34,6 +35,7 @@ public class InvulnerabilityModule extends ConfigurableModule<InvulnerabilityCon
         final InvulnerabilityService service = new InvulnerabilityService();
         register(NucleusInvulnerabilityService.class, InvulnerabilityService.class, service);
         Sponge.getServiceManager().provide(PermissionService.class).ifPresent(x -> x.registerContextCalculator(service));
+        plugin.getUserDataManager().getPlayerStates().registerSeeder(PlayerStateTable.State.GOD, InvulnerabilityUserDataModule.class, InvulnerabilityUserDataModule::isInvulnerable);
 
         createSeenModule(GodCommand.class, GodCommand.OTHER_SUFFIX, (cs, user) -> {
             boolean godMode = service.isInvulnerable(user);
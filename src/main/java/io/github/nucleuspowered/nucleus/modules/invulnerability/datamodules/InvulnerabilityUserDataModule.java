@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.modules.invulnerability.datamodules;
 
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
@@ -15,7 +16,7 @@ public class InvulnerabilityUserDataModule extends DataModule.ReferenceService<M
     private int previousHungerValue = 20;
 
     @DataKey("invulnerable")
-    private boolean invulnerable = false;
+    boolean invulnerable = false;
 
     public InvulnerabilityUserDataModule(ModularUserService modularDataService) {
         super(modularDataService);
@@ -27,6 +28,8 @@ public class InvulnerabilityUserDataModule extends DataModule.ReferenceService<M
 
     public void setInvulnerable(boolean invulnerable) {
         this.invulnerable = invulnerable;
+        markDirty();
+        getService().setPlayerState(PlayerStateTable.State.GOD, invulnerable);
 
         if (invulnerable) {
             getService().getPlayer().ifPresent(x -> previousHungerValue = x.get(Keys.FOOD_LEVEL).orElse(20));
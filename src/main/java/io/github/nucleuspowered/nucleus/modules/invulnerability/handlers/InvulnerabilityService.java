@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.invulnerability.handlers;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
 import io.github.nucleuspowered.nucleus.api.service.NucleusInvulnerabilityService;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.modules.invulnerability.datamodules.InvulnerabilityUserDataModule;
 import org.spongepowered.api.entity.living.player.Player;
@@ -17,16 +18,11 @@ import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
 
 @NonnullByDefault
 public class InvulnerabilityService implements NucleusInvulnerabilityService, ContextCalculator<Subject> {
 
-    private final Map<UUID, Boolean> invulnerabilityCache = new HashMap<>();
     private final Context context = new Context(NucleusInvulnerabilityService.INVULNERABLE_CONTEXT, "true");
 
     @Override
@@ -43,16 +39,7 @@ public class InvulnerabilityService implements NucleusInvulnerabilityService, Co
 
     @Override
     public boolean isInvulnerable(User user) {
-        Optional<Player> op = user.getPlayer();
-        if (op.isPresent()) {
-            return this.invulnerabilityCache.computeIfAbsent(
-                    user.getUniqueId(),
-                    uuid -> Nucleus.getNucleus().getUserDataManager().get(user)
-                            .map(x -> x.get(InvulnerabilityUserDataModule.class).isInvulnerable()).orElse(false)
-            );
-        }
-
-        return Nucleus.getNucleus().getUserDataManager().get(user).map(x -> x.get(InvulnerabilityUserDataModule.class).isInvulnerable()).orElse(false);
+        return Nucleus.getNucleus().getUserDataManager().getPlayerStates().is(user.getUniqueId(), PlayerStateTable.State.GOD);
     }
 
     @Override
@@ -62,14 +49,7 @@ public class InvulnerabilityService implements NucleusInvulnerabilityService, Co
                         Text.of("User does not have a data file available"), NucleusException.ExceptionType.DOES_NOT_EXIST));
 
         mus.get(InvulnerabilityUserDataModule.class).setInvulnerable(invulnerable);
-        user.getPlayer().ifPresent(x -> this.invulnerabilityCache.put(user.getUniqueId(), invulnerable));
-
-        if (!mus.save()) {
-            throw new NucleusException(Text.of("Could not save data"), NucleusException.ExceptionType.UNKNOWN_ERROR);
-        }
-    }
 
-    public void removeFromCache(UUID uuid) {
-        this.invulnerabilityCache.remove(uuid);
+        Nucleus.getNucleus().getUserDataManager().queueSave(mus.getUniqueId());
     }
 }
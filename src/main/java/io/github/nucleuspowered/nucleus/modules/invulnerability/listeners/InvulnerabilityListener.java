@@ -13,7 +13,6 @@ import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.entity.DamageEntityEvent;
 import org.spongepowered.api.event.entity.ai.SetAITargetEvent;
 import org.spongepowered.api.event.filter.Getter;
-import org.spongepowered.api.event.network.ClientConnectionEvent;
 
 public class InvulnerabilityListener extends ListenerBase {
 
@@ -34,9 +33,4 @@ public class InvulnerabilityListener extends ListenerBase {
             event.setCancelled(true);
         }
     }
-
-    @Listener
-    public void onPlayerQuit(ClientConnectionEvent.Disconnect event) {
-        this.service.removeFromCache(event.getTargetEntity().getUniqueId());
-    }
 }
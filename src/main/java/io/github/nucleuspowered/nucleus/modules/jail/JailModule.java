@@ -10,12 +10,14 @@ import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.service.NucleusJailService;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.internal.text.Tokens;
 import io.github.nucleuspowered.nucleus.modules.freezeplayer.datamodules.FreezePlayerUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.jail.commands.CheckJailCommand;
 import io.github.nucleuspowered.nucleus.modules.jail.config.JailConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.jail.data.JailData;
+import io.github.nucleuspowered.nucleus.modules.jail.datamodules.JailUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.jail.handlers.JailHandler;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
@@ -59,6 +61,9 @@ public class JailModule extends ConfigurableModule<JailConfigAdapter> {
 
     @Override
     public void performEnableTasks() {
+        plugin.getUserDataManager().registerPrefetchModule(JailUserDataModule.class);
+        plugin.getUserDataManager().getPlayerStates().registerSeeder(PlayerStateTable.State.JAILED, JailUserDataModule.class, x -> x.getJailData().isPresent());
+
         createSeenModule(CheckJailCommand.class, (c, u) -> {
 
             // If we have a ban service, then check for a ban.
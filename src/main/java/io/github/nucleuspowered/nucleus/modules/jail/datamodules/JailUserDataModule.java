@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.modules.jail.datamodules;
 
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
@@ -17,10 +18,10 @@ public class JailUserDataModule extends DataModule.ReferenceService<ModularUserS
 
     @DataKey("jailData")
     @Nullable
-    private JailData jailData;
+    JailData jailData;
 
     @DataKey("jailOnNextLogin")
-    private boolean jailOnNextLogin = false;
+    boolean jailOnNextLogin = false;
 
     public JailUserDataModule(ModularUserService modularDataService) {
         super(modularDataService);
@@ -32,6 +33,8 @@ public class JailUserDataModule extends DataModule.ReferenceService<ModularUserS
 
     public void setJailData(@Nullable JailData jailData) {
         this.jailData = jailData;
+        markDirty();
+        getService().setPlayerState(PlayerStateTable.State.JAILED, jailData != null);
     }
 
     public boolean jailOnNextLogin() {
@@ -40,6 +43,7 @@ public class JailUserDataModule extends DataModule.ReferenceService<ModularUserS
 
     public void setJailOnNextLogin(boolean set) {
         jailOnNextLogin = set && !getService().getPlayer().isPresent();
+        markDirty();
     }
 
     public void removeJailData() {
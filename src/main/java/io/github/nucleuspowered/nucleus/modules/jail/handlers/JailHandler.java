@@ -14,6 +14,7 @@ import io.github.nucleuspowered.nucleus.api.exceptions.NoSuchLocationException;
 import io.github.nucleuspowered.nucleus.api.nucleusdata.Inmate;
 import io.github.nucleuspowered.nucleus.api.nucleusdata.NamedLocation;
 import io.github.nucleuspowered.nucleus.api.service.NucleusJailService;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
@@ -34,6 +35,7 @@ import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.context.ContextCalculator;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.text.serializer.TextSerializers;
+import org.spongepowered.api.util.Tristate;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.api.world.Locatable;
 import org.spongepowered.api.world.Location;
@@ -101,6 +103,12 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
     }
 
     public Optional<JailData> getPlayerJailDataInternal(User user) {
+        if (plugin.getUserDataManager().getPlayerStates().get(user.getUniqueId(), PlayerStateTable.State.JAILED) == Tristate.FALSE) {
+            // Online and not jailed, no need to look at their data.
+            jailDataCache.put(user.getUniqueId(), null);
+            return Optional.empty();
+        }
+
         try {
             Optional<JailData> data = plugin.getUserDataManager().get(user, false)
                     .map(y -> y.get(JailUserDataModule.class).getJailData().orElse(null));
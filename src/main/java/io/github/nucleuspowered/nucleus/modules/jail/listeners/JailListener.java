@@ -122,6 +122,7 @@ public class JailListener extends ListenerBase implements Reloadable {
             if (omd.isPresent()) {
                 JailData md = omd.get();
                 md.nextLoginToTimestamp();
+                qs.markDirty();
 
                 omd = Util.testForEndTimestamp(qs.getJailData(), () -> handler.unjailPlayer(user));
                 if (omd.isPresent()) {
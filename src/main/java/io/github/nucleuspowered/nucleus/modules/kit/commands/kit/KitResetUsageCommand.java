@@ -16,6 +16,7 @@ import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
 import io.github.nucleuspowered.nucleus.internal.command.ReturnMessageException;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.modules.kit.datamodules.KitUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.kit.handlers.KitHandler;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.CommandContext;
@@ -52,6 +53,7 @@ public class KitResetUsageCommand extends AbstractCommand<CommandSource> {
         if (Util.getKeyIgnoreCase(inu.getKitLastUsedTime(), kitInfo.getName()).isPresent()) {
             // Remove the key.
             inu.removeKitLastUsedTime(kitInfo.getName().toLowerCase());
+            Nucleus.getNucleus().getCooldownService().removeCooldown(u.getUniqueId(), KitHandler.getCooldownId(kitInfo.getName()));
 
             player.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.kit.resetuser.success", u.getName(), kitInfo.getName()));
             return CommandResult.success();
@@ -15,7 +15,7 @@ import java.util.Map;
 public class KitUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("kitLastUsedTime")
-    private Map<String, Long> kitLastUsedTime = Maps.newHashMap();
+    Map<String, Long> kitLastUsedTime = Maps.newHashMap();
 
     public Map<String, Instant> getKitLastUsedTime() {
         final Map<String, Instant> r = Maps.newHashMap();
@@ -25,9 +25,12 @@ public class KitUserDataModule extends DataModule<ModularUserService> {
 
     public void addKitLastUsedTime(String kitName, Instant lastTime) {
         kitLastUsedTime.put(kitName.toLowerCase(), lastTime.getEpochSecond());
+        markDirty();
     }
 
     public void removeKitLastUsedTime(String kitName) {
-        kitLastUsedTime.remove(kitName.toLowerCase());
+        if (kitLastUsedTime.remove(kitName.toLowerCase()) != null) {
+            markDirty();
+        }
     }
 }
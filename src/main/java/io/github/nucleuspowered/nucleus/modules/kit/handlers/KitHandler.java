@@ -62,6 +62,10 @@ public class KitHandler implements NucleusKitService {
         return PermissionRegistry.PERMISSIONS_PREFIX + "kits." + kitName.toLowerCase();
     }
 
+    public static String getCooldownId(String kitName) {
+        return "kit." + kitName.toLowerCase();
+    }
+
     private boolean isProcessTokens = false;
     private boolean isMustGetAll = false;
 
@@ -128,9 +132,9 @@ public class KitHandler implements NucleusKitService {
                 if (!cph.testCooldownExempt(player) && kit.getCooldown().map(Duration::getSeconds).orElse(0L) > 0) {
 
                     // ...and we haven't reached the cooldown point yet...
-                    Instant timeForNextUse = oi.get().plus(kit.getCooldown().get());
-                    if (timeForNextUse.isAfter(now)) {
-                        throw new KitRedeemException.Cooldown("Cooldown not expired", Duration.between(now, timeForNextUse));
+                    Optional<Duration> remaining = getRemainingCooldown(player, kit, oi.get(), now);
+                    if (remaining.isPresent()) {
+                        throw new KitRedeemException.Cooldown("Cooldown not expired", remaining.get());
                     }
                 }
             }
@@ -176,6 +180,8 @@ public class KitHandler implements NucleusKitService {
             // permissions or cooldowns change later
             if (performChecks) {
                 user.addKitLastUsedTime(kit.getName(), now);
+                kit.getCooldown().ifPresent(x -> Nucleus.getNucleus().getCooldownService()
+                        .setCooldown(player.getUniqueId(), getCooldownId(kit.getName()), x, false));
             }
 
             Sponge.getEventManager().post(new KitEvent.PostRedeem(cause, oi.orElse(null), kit, player));
@@ -190,6 +196,24 @@ public class KitHandler implements NucleusKitService {
         }
     }
 
+    private Optional<Duration> getRemainingCooldown(Player player, Kit kit, Instant lastUsed, Instant now) {
+        Optional<Duration> remaining = Nucleus.getNucleus().getCooldownService().getRemaining(player.getUniqueId(), getCooldownId(kit.getName()));
+        if (remaining.isPresent()) {
+            return remaining;
+        }
+
+        // Not in the service, perhaps because the server restarted, so check the time the kit was last used, and put
+        // any cooldown that is left into the service for next time.
+        Instant timeForNextUse = lastUsed.plus(kit.getCooldown().get());
+        if (timeForNextUse.isAfter(now)) {
+            Duration left = Duration.between(now, timeForNextUse);
+            Nucleus.getNucleus().getCooldownService().setCooldown(player.getUniqueId(), getCooldownId(kit.getName()), left, false);
+            return Optional.of(left);
+        }
+
+        return Optional.empty();
+    }
+
     @Override
     public boolean removeKit(String kitName) {
         if (store.removeKit(kitName)) {
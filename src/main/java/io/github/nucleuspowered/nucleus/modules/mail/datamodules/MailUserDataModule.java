@@ -17,7 +17,7 @@ import java.util.List;
 public class MailUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("mail")
-    private List<MailData> mailDataList = Lists.newArrayList();
+    List<MailData> mailDataList = Lists.newArrayList();
 
     public List<MailData> getMail() {
         return ImmutableList.copyOf(mailDataList);
@@ -29,15 +29,22 @@ public class MailUserDataModule extends DataModule<ModularUserService> {
         }
 
         mailDataList.add(mailData);
+        markDirty();
     }
 
     public boolean removeMail(MailMessage mailData) {
-        return mailDataList.removeIf(x -> x.equals(mailData));
+        if (mailDataList.removeIf(x -> x.equals(mailData))) {
+            markDirty();
+            return true;
+        }
+
+        return false;
     }
 
     public boolean clearMail() {
         if (!mailDataList.isEmpty()) {
             mailDataList.clear();
+            markDirty();
             return true;
         } else {
             return false;
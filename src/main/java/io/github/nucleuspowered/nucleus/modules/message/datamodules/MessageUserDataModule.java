@@ -11,10 +11,10 @@ import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 public class MessageUserDataModule extends DataModule.ReferenceService<ModularUserService> {
 
     @DataKey("socialspy")
-    private boolean socialspy = false;
+    boolean socialspy = false;
 
     @DataKey("msgtoggle")
-    private boolean msgToggle = true;
+    boolean msgToggle = true;
 
     public MessageUserDataModule(ModularUserService modularDataService) {
         super(modularDataService);
@@ -26,6 +26,7 @@ public class MessageUserDataModule extends DataModule.ReferenceService<ModularUs
 
     public void setSocialSpy(boolean socialSpy) {
         this.socialspy = socialSpy;
+        markDirty();
     }
 
     public boolean isMsgToggle() {
@@ -34,6 +35,7 @@ public class MessageUserDataModule extends DataModule.ReferenceService<ModularUs
 
     public void setMsgToggle(boolean msgToggle) {
         this.msgToggle = msgToggle;
+        markDirty();
     }
 
 }
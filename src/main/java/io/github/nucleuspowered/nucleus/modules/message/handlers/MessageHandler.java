@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.message.handlers;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.service.NucleusPrivateMessagingService;
@@ -64,6 +65,9 @@ public class MessageHandler implements NucleusPrivateMessagingService {
     private final Map<UUID, UUID> messagesReceived = Maps.newHashMap();
     private final Map<UUID, CustomMessageTarget<? extends CommandSource>> targets = Maps.newHashMap();
     private final Map<String, UUID> targetNames = Maps.newHashMap();
+    // Online players with social spy on, and their levels. There is no event for permission or option changes, so
+    // this is also refreshed every so often.
+    private final Map<UUID, SocialSpy> socialSpies = Maps.newConcurrentMap();
     private final String msgToggleBypass = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(MsgToggleCommand.class)
             .getPermissionWithSuffix("bypass");
 
@@ -84,6 +88,34 @@ public class MessageHandler implements NucleusPrivateMessagingService {
         useLevels = messageConfig.isSocialSpyLevels();
         sameLevel = messageConfig.isSocialSpySameLevel();
         serverLevel = messageConfig.getServerLevel();
+        if (Sponge.isServerAvailable()) {
+            refreshSocialSpies();
+        }
+    }
+
+    /**
+     * Checks whether the player has social spy on, and their social spy level.
+     *
+     * @param player The {@link Player}.
+     */
+    public void updateSocialSpy(Player player) {
+        if (player.isOnline() && isSocialSpy(player)) {
+            socialSpies.put(player.getUniqueId(), new SocialSpy(player, getSocialSpyLevel(player)));
+        } else {
+            socialSpies.remove(player.getUniqueId());
+        }
+    }
+
+    public void removeSocialSpy(Player player) {
+        socialSpies.remove(player.getUniqueId());
+    }
+
+    /**
+     * Checks every online player for social spy.
+     */
+    public void refreshSocialSpies() {
+        Sponge.getServer().getOnlinePlayers().forEach(this::updateSocialSpy);
+        socialSpies.values().removeIf(x -> !x.player.isOnline());
     }
 
     @Override
@@ -134,10 +166,13 @@ public class MessageHandler implements NucleusPrivateMessagingService {
             return false;
         }
 
-        return ucl.get(user).map(x -> {
+        boolean result = ucl.get(user).map(x -> {
             x.get(MessageUserDataModule.class).setSocialSpy(isSocialSpy);
             return true;
         }).orElse(false);
+
+        user.getPlayer().ifPresent(this::updateSocialSpy);
+        return result;
     }
 
     @Override
@@ -178,26 +213,18 @@ public class MessageHandler implements NucleusPrivateMessagingService {
         Set<UUID> uuidsToSpyOn = toSpyOn.stream().map(x -> x instanceof User ? ((User)x).getUniqueId() : Util.consoleFakeUUID)
                 .collect(Collectors.toSet());
 
-        // Get those who aren't the subjects and have social spy on.
-        Set<CommandSource> sources = Sponge.getServer().getOnlinePlayers().stream()
-                .filter(x -> !uuidsToSpyOn.contains(x.getUniqueId()))
-                .filter(this::isSocialSpy)
-                .collect(Collectors.toSet());
-
-        if (!useLevels) {
-            if (includeConsole) {
-                sources.add(Sponge.getServer().getConsole());
+        // Get the highest level from the sources to spy on.
+        int highestLevel = useLevels ? toSpyOn.stream().mapToInt(this::getSocialSpyLevelForSource).max().orElse(0) : 0;
+
+        // Get those who aren't the subjects, have social spy on, and can see the sources.
+        Set<CommandSource> sources = Sets.newHashSet();
+        for (SocialSpy spy : socialSpies.values()) {
+            if (spy.player.isOnline() && !uuidsToSpyOn.contains(spy.player.getUniqueId())
+                    && (!useLevels || (sameLevel ? spy.level >= highestLevel : spy.level > highestLevel))) {
+                sources.add(spy.player);
             }
-
-            return sources;
         }
 
-        // Get the highest level from the sources to spy on.
-        int highestLevel = toSpyOn.stream().mapToInt(this::getSocialSpyLevelForSource).max().orElse(0);
-        sources = sources.stream()
-            .filter(x -> sameLevel ? getSocialSpyLevelForSource(x) >= highestLevel : getSocialSpyLevelForSource(x) > highestLevel)
-            .collect(Collectors.toSet());
-
         if (includeConsole) {
             sources.add(Sponge.getServer().getConsole());
         }
@@ -477,4 +504,15 @@ public class MessageHandler implements NucleusPrivateMessagingService {
             return this.uuid;
         }
     }
+
+    private static final class SocialSpy {
+
+        private final Player player;
+        private final int level;
+
+        private SocialSpy(Player player, int level) {
+            this.player = player;
+            this.level = level;
+        }
+    }
 }
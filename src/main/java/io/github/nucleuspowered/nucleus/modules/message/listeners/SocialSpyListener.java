@@ -0,0 +1,29 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.message.listeners;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.modules.message.handlers.MessageHandler;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+public class SocialSpyListener extends ListenerBase {
+
+    private final MessageHandler handler = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(MessageHandler.class);
+
+    @Listener(order = Order.LATE)
+    public void onJoin(ClientConnectionEvent.Join event, @Root Player player) {
+        handler.updateSocialSpy(player);
+    }
+
+    @Listener
+    public void onQuit(ClientConnectionEvent.Disconnect event, @Root Player player) {
+        handler.removeSocialSpy(player);
+    }
+}
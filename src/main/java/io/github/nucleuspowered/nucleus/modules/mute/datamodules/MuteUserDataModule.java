@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.modules.mute.datamodules;
 
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
@@ -13,11 +14,15 @@ import java.util.Optional;
 
 import javax.annotation.Nullable;
 
-public class MuteUserDataModule extends DataModule<ModularUserService> {
+public class MuteUserDataModule extends DataModule.ReferenceService<ModularUserService> {
 
     @DataKey("muteData")
     @Nullable
-    private MuteData muteData;
+    MuteData muteData;
+
+    public MuteUserDataModule(ModularUserService modularDataService) {
+        super(modularDataService);
+    }
 
     public Optional<MuteData> getMuteData() {
         return Optional.ofNullable(muteData);
@@ -25,9 +30,13 @@ public class MuteUserDataModule extends DataModule<ModularUserService> {
 
     public void setMuteData(@Nullable MuteData mData) {
         this.muteData = mData;
+        markDirty();
+        getService().setPlayerState(PlayerStateTable.State.MUTED, mData != null);
     }
 
     public void removeMuteData() {
         this.muteData = null;
+        markDirty();
+        getService().setPlayerState(PlayerStateTable.State.MUTED, false);
     }
 }
@@ -12,6 +12,7 @@ import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.nucleusdata.MuteInfo;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMuteService;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
@@ -28,6 +29,7 @@ import org.spongepowered.api.service.context.ContextCalculator;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.util.Identifiable;
+import org.spongepowered.api.util.Tristate;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -74,6 +76,12 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
 
     // Internal
     public Optional<MuteData> getPlayerMuteData(User user) {
+        if (ucl.getPlayerStates().get(user.getUniqueId(), PlayerStateTable.State.MUTED) == Tristate.FALSE) {
+            // Online and not muted, no need to look at their data.
+            this.muteContextCache.put(user.getUniqueId(), false);
+            return Optional.empty();
+        }
+
         Optional<MuteData> nu = ucl.get(user, false).map(x -> x.get(MuteUserDataModule.class).getMuteData().orElse(null));
         this.muteContextCache.put(user.getUniqueId(), nu.isPresent());
         return nu;
@@ -14,6 +14,7 @@ import io.github.nucleuspowered.nucleus.modules.mute.commands.VoiceCommand;
 import io.github.nucleuspowered.nucleus.modules.mute.config.MuteConfig;
 import io.github.nucleuspowered.nucleus.modules.mute.config.MuteConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.mute.data.MuteData;
+import io.github.nucleuspowered.nucleus.modules.mute.datamodules.MuteUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.mute.handler.MuteHandler;
 import io.github.nucleuspowered.nucleus.util.PermissionMessageChannel;
 import org.spongepowered.api.Sponge;
@@ -51,6 +52,7 @@ public class MuteListener extends ListenerBase implements Reloadable {
             if (omd.isPresent()) {
                 MuteData md = omd.get();
                 md.nextLoginToTimestamp();
+                plugin.getUserDataManager().get(user).ifPresent(x -> x.get(MuteUserDataModule.class).markDirty());
 
                 omd = Util.testForEndTimestamp(handler.getPlayerMuteData(user), () -> handler.unmutePlayer(user));
                 if (omd.isPresent()) {
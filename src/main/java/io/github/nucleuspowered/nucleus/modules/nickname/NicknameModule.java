@@ -8,6 +8,7 @@ import io.github.nucleuspowered.nucleus.api.service.NucleusNicknameService;
 import io.github.nucleuspowered.nucleus.internal.annotations.RegisterService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.modules.nickname.config.NicknameConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.nickname.datamodules.NicknameUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.nickname.services.NicknameService;
 import org.spongepowered.api.Sponge;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
@@ -20,6 +21,7 @@ public class NicknameModule extends ConfigurableModule<NicknameConfigAdapter> {
 
     @Override
     public void performPostTasks() {
+        this.plugin.getUserDataManager().registerPrefetchModule(NicknameUserDataModule.class);
         this.plugin.getInternalServiceManager().getServiceUnchecked(NicknameService.class).register();
     }
 
@@ -66,6 +66,7 @@ public class NicknameUserDataModule extends DataModule.ReferenceService<ModularU
 
     public void setNickname(Text nickname) {
         this.nickname = Preconditions.checkNotNull(nickname);
+        markDirty();
 
         getService().getPlayer().ifPresent(x -> {
             Optional<Text> p = getNickPrefix();
@@ -79,6 +80,7 @@ public class NicknameUserDataModule extends DataModule.ReferenceService<ModularU
 
     public void removeNickname() {
         this.nickname = null;
+        markDirty();
         getService().getPlayer().ifPresent(x -> x.remove(Keys.DISPLAY_NAME));
     }
 
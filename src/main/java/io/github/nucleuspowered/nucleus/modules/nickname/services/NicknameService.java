@@ -13,6 +13,7 @@ import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.text.FormattingCodeFilter;
 import io.github.nucleuspowered.nucleus.modules.nickname.NicknameModule;
 import io.github.nucleuspowered.nucleus.modules.nickname.commands.NicknameCommand;
 import io.github.nucleuspowered.nucleus.modules.nickname.config.NicknameConfig;
@@ -29,12 +30,9 @@ import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.text.serializer.TextSerializers;
-import org.spongepowered.api.util.Tuple;
 
-import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
@@ -44,7 +42,8 @@ public class NicknameService implements NucleusNicknameService, Reloadable {
     private Pattern pattern;
     private int min = 3;
     private int max = 16;
-    private final Map<String[], Tuple<Matcher, Text>> replacements = Maps.newHashMap();
+    private final Map<Character, Text> noPermissionMessages = Maps.newHashMap();
+    private FormattingCodeFilter filter;
     private boolean registered = false;
 
     public void register() {
@@ -54,22 +53,25 @@ public class NicknameService implements NucleusNicknameService, Reloadable {
 
         MessageProvider mp = Nucleus.getNucleus().getMessageProvider();
         CommandPermissionHandler permissions = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(NicknameCommand.class);
+        Map<Character, String[]> codePermissions = Maps.newHashMap();
 
         String colPerm = permissions.getPermissionWithSuffix("colour.");
         String colPerm2 = permissions.getPermissionWithSuffix("color.");
 
-        NameUtil.getColours().forEach((key, value) -> replacements.put(new String[]{colPerm + value.getName(), colPerm2 + value.getName()},
-                Tuple.of(Pattern.compile("[&]+" + key.toString().toLowerCase(), Pattern.CASE_INSENSITIVE).matcher(""),
-                        mp.getTextMessageWithFormat("command.nick.colour.nopermswith", value.getName()))));
+        NameUtil.getColours().forEach((key, value) -> {
+            codePermissions.put(key, new String[]{colPerm + value.getName(), colPerm2 + value.getName()});
+            this.noPermissionMessages.put(key, mp.getTextMessageWithFormat("command.nick.colour.nopermswith", value.getName()));
+        });
 
         String stylePerm = permissions.getPermissionWithSuffix("style.");
-        NameUtil.getStyleKeys().entrySet().stream().filter(x -> x.getKey() != 'k').forEach((k) -> replacements.put(new String[] { stylePerm + k.getValue().toLowerCase() },
-                Tuple.of(Pattern.compile("[&]+" + k.getKey().toString().toLowerCase(), Pattern.CASE_INSENSITIVE).matcher(""),
-                        mp.getTextMessageWithFormat("command.nick.style.nopermswith", k.getValue().toLowerCase()))));
-
-        this.replacements.put(new String[] { permissions.getPermissionWithSuffix("magic") },
-                Tuple.of(Pattern.compile("[&]+k", Pattern.CASE_INSENSITIVE).matcher(""),
-                        mp.getTextMessageWithFormat("command.nick.style.nopermswith", "magic")));
+        NameUtil.getStyleKeys().entrySet().stream().filter(x -> x.getKey() != 'k').forEach((k) -> {
+            codePermissions.put(k.getKey(), new String[] { stylePerm + k.getValue().toLowerCase() });
+            this.noPermissionMessages.put(k.getKey(), mp.getTextMessageWithFormat("command.nick.style.nopermswith", k.getValue().toLowerCase()));
+        });
+
+        codePermissions.put('k', new String[] { permissions.getPermissionWithSuffix("magic") });
+        this.noPermissionMessages.put('k', mp.getTextMessageWithFormat("command.nick.style.nopermswith", "magic"));
+        this.filter = new FormattingCodeFilter(c -> codePermissions.getOrDefault(c, new String[0]));
         this.registered = true;
     }
 
@@ -192,7 +194,7 @@ public class NicknameService implements NucleusNicknameService, Reloadable {
         NicknameUserDataModule nicknameUserDataModule = mus.get(NicknameUserDataModule.class);
         nicknameUserDataModule.setNickname(nickname);
         mus.set(nicknameUserDataModule);
-        mus.save();
+        Nucleus.getNucleus().getUserDataManager().queueSave(mus.getUniqueId());
         Text set = nicknameUserDataModule.getNicknameAsText().get();
 
         if (pl.isOnline()) {
@@ -208,18 +210,19 @@ public class NicknameService implements NucleusNicknameService, Reloadable {
         pattern = nc.getPattern();
         min = nc.getMinNicknameLength();
         max = nc.getMaxNicknameLength();
+        if (this.filter != null) {
+            this.filter.invalidateAll();
+        }
     }
 
     private void stripPermissionless(Subject source, Text message) throws NicknameException {
-        String m = TextSerializers.FORMATTING_CODE.serialize(message);
-        if (m.contains("&")) {
-            for (Map.Entry<String[], Tuple<Matcher, Text>> r : replacements.entrySet()) {
-                // If we don't have the required permission...
-                if (r.getValue().getFirst().reset(m).find() && Arrays.stream(r.getKey()).noneMatch(source::hasPermission)) {
-                    // throw
-                    throw new NicknameException(r.getValue().getSecond(), NicknameException.Type.INVALID_STYLE_OR_COLOUR);
-                }
-            }
+        if (this.filter == null) {
+            return;
+        }
+
+        char disallowed = this.filter.findDisallowed(source, TextSerializers.FORMATTING_CODE.serialize(message));
+        if (disallowed != 0) {
+            throw new NicknameException(this.noPermissionMessages.get(disallowed), NicknameException.Type.INVALID_STYLE_OR_COLOUR);
         }
     }
 }
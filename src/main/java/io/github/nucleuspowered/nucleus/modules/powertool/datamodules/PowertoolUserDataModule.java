@@ -19,10 +19,10 @@ import java.util.Optional;
 public class PowertoolUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("powertoolToggle")
-    private boolean powertoolToggle = true;
+    boolean powertoolToggle = true;
 
     @DataKey("powertools")
-    private Map<String, List<String>> powertools = Maps.newHashMap();
+    Map<String, List<String>> powertools = Maps.newHashMap();
 
     public Map<String, List<String>> getPowertools() {
         return ImmutableMap.copyOf(powertools);
@@ -39,14 +39,17 @@ public class PowertoolUserDataModule extends DataModule<ModularUserService> {
 
     public void setPowertool(ItemType type, List<String> commands) {
         powertools.put(type.getId(), commands);
+        markDirty();
     }
 
     public void clearPowertool(ItemType type) {
         powertools.remove(type.getId());
+        markDirty();
     }
 
     public void clearPowertool(String type) {
         powertools.remove(type);
+        markDirty();
     }
 
     public boolean isPowertoolToggled() {
@@ -55,6 +58,7 @@ public class PowertoolUserDataModule extends DataModule<ModularUserService> {
 
     public void setPowertoolToggle(boolean set) {
         this.powertoolToggle = set;
+        markDirty();
     }
 
 }
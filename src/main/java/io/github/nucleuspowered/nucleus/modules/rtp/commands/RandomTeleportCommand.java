@@ -5,7 +5,6 @@
 package io.github.nucleuspowered.nucleus.modules.rtp.commands;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
@@ -26,23 +25,19 @@ import io.github.nucleuspowered.nucleus.modules.rtp.RTPModule;
 import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfig;
 import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.rtp.events.RTPSelectedLocationEvent;
+import io.github.nucleuspowered.nucleus.modules.rtp.handlers.RTPLocationFinder;
 import io.github.nucleuspowered.nucleus.util.CauseStackHelper;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.block.BlockType;
-import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
 import org.spongepowered.api.command.args.GenericArguments;
-import org.spongepowered.api.data.property.block.MatterProperty;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.text.Text;
-import org.spongepowered.api.util.PositionOutOfBoundsException;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
-import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.WorldBorder;
@@ -52,11 +47,9 @@ import uk.co.drnaylor.quickstart.config.TypedAbstractConfigAdapter;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
-
-import javax.annotation.Nullable;
+import java.util.concurrent.Executor;
 
 @NonnullByDefault
 @Permissions(supportsOthers = true)
@@ -68,7 +61,6 @@ public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlay
 
     private final String worldKey = "world";
 
-    @Nullable private Set<BlockType> prohibitedTypes = null;
     private Set<String> prohibitedBiomeTypes = Sets.newHashSet(
         BiomeTypes.OCEAN.getId(), BiomeTypes.DEEP_OCEAN.getId(), BiomeTypes.FROZEN_OCEAN.getId()
     );
@@ -153,17 +145,13 @@ public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlay
     /*
      * (non-Javadoc)
      *
-     * The RTPTask class encapsulates the logic for the /rtp. Because TeleportHelper#getSafeLocation(Location) can be slow, particularly if there is a
-     * large area to check, we opt for smaller areas, but to try multiple times. We separate each check by a couple of ticks so that the server
-     * still gets to keep ticking, avoiding timeouts and too much lag.
+     * The RTPTask class encapsulates the logic for the /rtp. Each attempt picks a random column, and hands it to the
+     * RTPLocationFinder, which loads the chunk and checks the column without holding up the main thread. Only the event
+     * and the teleport itself happen on the main thread.
      */
     private class RTPTask extends CostCancellableTask {
 
-        private final NucleusTeleportHandler.TeleportMode mode;
-
         private final Cause cause;
-        private final int minY;
-        private final int maxY;
         private final CommandSource source;
         private final Player target;
         private int count;
@@ -172,8 +160,8 @@ public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlay
         private final int diameter;
         private final Vector3d centre;
         private final World currentWorld;
-        private final boolean onSurface;
-        private final boolean aroundPlayer;
+        private final RTPLocationFinder finder;
+        private final Executor syncExecutor;
         private boolean isSelf = false;
 
         private RTPTask(Nucleus plugin, Vector3d centre, int minDiameter, int diameter, double cost, Player target,
@@ -189,26 +177,29 @@ public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlay
             this.maxCount = this.count;
             this.minDiameter = Math.max(0, minDiameter);
             this.diameter = diameter;
-            this.centre = centre;
             this.currentWorld = currentWorld;
 
             String name = this.currentWorld.getName();
-            this.onSurface = config.isMustSeeSky(name);
-            this.minY = config.getMinY(name);
-            this.maxY = config.getMaxY(name);
+            this.centre = config.isAroundPlayer(name) ? target.getLocation().getPosition() : centre;
             this.target = target;
             this.source = source;
             this.cause = CauseStackHelper.createCause(source);
-            this.aroundPlayer = config.isAroundPlayer(name);
-            if (this.onSurface) {
-                this.mode = NucleusTeleportHandler.StandardTeleportMode.FLYING_THEN_SAFE_TELEPORT_SURFACE;
-            } else {
-                this.mode = plugin.getTeleportHandler().getTeleportModeForPlayer(this.target);
-            }
+            this.syncExecutor = Sponge.getScheduler().createSyncExecutor(plugin);
+
+            // We remove the safe teleport height to avoid getting a location too high up, as we did when the safe location
+            // teleporter was used.
+            int maxY = config.isMustSeeSky(name) ? config.getMaxY(name) :
+                    Math.min(this.currentWorld.getBlockMax().getY() - RandomTeleportCommand.this.height - 1, config.getMaxY(name));
+            this.finder = new RTPLocationFinder(this.currentWorld, prohibitedBiomeTypes, config.getMinY(name), maxY,
+                    config.isMustSeeSky(name), this.syncExecutor, Sponge.getScheduler().createAsyncExecutor(plugin));
         }
 
         @Override
         public void accept(Task task) {
+            attempt();
+        }
+
+        private void attempt() {
             count--;
             if (!target.isOnline()) {
                 onCancel();
@@ -217,7 +208,7 @@ public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlay
 
             plugin.getLogger().debug(String.format("RTP of %s, attempt %s of %s", target.getName(), maxCount - count, maxCount));
 
-            // Generate random co-ords.
+            // Generate random co-ords, within the world border.
             int x;
             int z;
 
@@ -235,92 +226,64 @@ public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlay
                     z += (z / Math.abs(z)) * this.minDiameter;
                 }
 
-                if (this.aroundPlayer) {
-                    x += this.target.getLocation().getBlockX();
-                    z += this.target.getLocation().getBlockZ();
-                    if (!Util.isLocationInWorldBorder(new Location<>(this.currentWorld, x, 0, z))) {
-                        continue;
-                    }
-                }
+                x += this.centre.getFloorX();
+                z += this.centre.getFloorZ();
+            } while (!Util.isLocationInWorldBorder(new Location<>(this.currentWorld, x, 0, z)));
 
-                // Load the chunk before continuing with /rtp. Sponge issue means we have to load the chunk first.
-                Optional<Chunk> oc = this.currentWorld.loadChunk(new Vector3i(x / 16, 0, z / 16), true);
-                if (!oc.isPresent()) {
-                    Sponge.getTeleportHelper().getSafeLocation(new Location<>(this.currentWorld, x, 1, z));
+            this.finder.find(x, z).handleAsync((position, throwable) -> {
+                // Anything thrown here would be swallowed by the future, leaving the player waiting and out of pocket.
+                try {
+                    if (throwable != null) {
+                        plugin.printStackTraceIfDebugMode(throwable);
+                        onUnsuccesfulAttempt();
+                    } else if (position.isPresent()) {
+                        onFound(new Location<>(this.currentWorld, position.get().toDouble().add(0.5, 0, 0.5)));
+                    } else {
+                        onUnsuccesfulAttempt();
+                    }
+                } catch (Exception e) {
+                    plugin.getLogger().error("Random teleport of " + this.target.getName() + " failed.", e);
+                    onCancel();
                 }
 
-                // If this is a prohibited type, loop again.
-            } while (prohibitedBiomeTypes.contains(this.currentWorld.getBiome(x, 0, z).getId()));
+                return null;
+            }, this.syncExecutor);
+        }
 
-            int y;
-            if (this.onSurface && this.currentWorld.getDimension().hasSky()) {
-                y = this.currentWorld.getHighestYAt(x, z) + 1;
-                if (y < this.minY || y > this.maxY) {
-                    onUnsuccesfulAttempt();
-                    return;
-                }
-            } else {
-                // We remove 11 to avoid getting a location too high up for the safe location teleporter to handle.
-                y = Math.min(this.currentWorld.getBlockMax().getY() - RandomTeleportCommand.this.height - 1,
-                        random.nextInt(maxY - minY + 1) + minY);
+        // Main thread.
+        private void onFound(Location<World> tpTarget) {
+            if (!target.isOnline()) {
+                onCancel();
+                return;
             }
 
-            // To get within the world border, add the centre on.
-            final Location<World> test = new Location<>(this.currentWorld, new Vector3d(x + centre.getX(), y, z + centre.getZ()));
-            Optional<Location<World>> oSafeLocation =
-                    Nucleus.getNucleus().getTeleportHandler().getSafeLocation(this.target, test, this.mode);
-
-            // getSafeLocation might have put us out of the world border. Best to check.
-            // We also check to see that it's not in water or lava, and if enabled, we see if the subject would end up on the surface.
-            try {
-                if (oSafeLocation.isPresent()
-                    && oSafeLocation.get().getPosition().getY() >= minY
-                    && oSafeLocation.get().getPosition().getY() <= maxY
-                    && !isProhibitedBlockType(oSafeLocation.get().sub(Vector3d.UNIT_Y))
-                    && !isProhibitedBlockType(oSafeLocation.get().sub(Vector3d.UNIT_Y).sub(Vector3d.UNIT_Y))
-                    && Util.isLocationInWorldBorder(oSafeLocation.get())) {
-
-                    if (Sponge.getEventManager().post(new RTPSelectedLocationEvent(
-                            oSafeLocation.get(),
-                            this.target,
-                            this.cause
-                    ))) {
-                        onUnsuccesfulAttempt();
-                        return;
-                    }
+            if (Sponge.getEventManager().post(new RTPSelectedLocationEvent(tpTarget, this.target, this.cause))) {
+                onUnsuccesfulAttempt();
+                return;
+            }
 
-                    Location<World> tpTarget = oSafeLocation.get();
-
-                    plugin.getLogger().debug(String.format("RTP of %s, found location %s, %s, %s", target.getName(),
-                            String.valueOf(tpTarget.getBlockX()),
-                            String.valueOf(tpTarget.getBlockY()),
-                            String.valueOf(tpTarget.getBlockZ())));
-                    if (NucleusTeleportHandler.setLocation(this.target, tpTarget)) {
-                        if (!isSelf) {
-                            target.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("command.rtp.other"));
-                            source.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("command.rtp.successother",
-                                target.getName(),
-                                String.valueOf(tpTarget.getBlockX()),
-                                String.valueOf(tpTarget.getBlockY()),
-                                String.valueOf(tpTarget.getBlockZ())));
-                        }
-
-                        target.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("command.rtp.success",
-                                String.valueOf(tpTarget.getBlockX()),
-                                String.valueOf(tpTarget.getBlockY()),
-                                String.valueOf(tpTarget.getBlockZ())));
-                        return;
-                    } else {
-                        source.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("command.rtp.cancelled"));
-                        onCancel();
-                        return;
-                    }
+            plugin.getLogger().debug(String.format("RTP of %s, found location %s, %s, %s", target.getName(),
+                    String.valueOf(tpTarget.getBlockX()),
+                    String.valueOf(tpTarget.getBlockY()),
+                    String.valueOf(tpTarget.getBlockZ())));
+            if (NucleusTeleportHandler.setLocation(this.target, tpTarget)) {
+                if (!isSelf) {
+                    target.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("command.rtp.other"));
+                    source.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("command.rtp.successother",
+                        target.getName(),
+                        String.valueOf(tpTarget.getBlockX()),
+                        String.valueOf(tpTarget.getBlockY()),
+                        String.valueOf(tpTarget.getBlockZ())));
                 }
-            } catch (PositionOutOfBoundsException e) {
-                // Swallow - we treat it as a fail.
-            }
 
-            onUnsuccesfulAttempt();
+                target.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("command.rtp.success",
+                        String.valueOf(tpTarget.getBlockX()),
+                        String.valueOf(tpTarget.getBlockY()),
+                        String.valueOf(tpTarget.getBlockZ())));
+            } else {
+                source.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("command.rtp.cancelled"));
+                onCancel();
+            }
         }
 
         private void onUnsuccesfulAttempt() {
@@ -329,34 +292,11 @@ public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlay
                 subject.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("command.rtp.error"));
                 onCancel();
             } else {
-                // We're using a scheduler to allow some ticks to go by between attempts to find a
-                // safe place.
-                Sponge.getScheduler().createTaskBuilder().delayTicks(2).execute(this).submit(plugin);
+                // The search is off the main thread, so there's no need to wait between attempts.
+                attempt();
             }
         }
 
-        private boolean isProhibitedBlockType(Location<World> location) {
-            return getProhibitedTypes().contains(location.getBlockType());
-        }
-
-        private Set<BlockType> getProhibitedTypes() {
-            if (prohibitedTypes == null) {
-                prohibitedTypes = Sets.newHashSet(
-                    BlockTypes.WATER,
-                    BlockTypes.LAVA,
-                    BlockTypes.FLOWING_WATER,
-                    BlockTypes.FLOWING_LAVA
-                );
-            }
-
-            return prohibitedTypes;
-        }
-
-        private boolean isSolid(Location<World> location) {
-            Optional<MatterProperty> pp = location.getBlockType().getProperty(MatterProperty.class);
-            return pp.isPresent() && pp.get().getValue() == MatterProperty.Matter.SOLID;
-        }
-
         @Override
         public void onCancel() {
             super.onCancel();
@@ -0,0 +1,150 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.handlers;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableSet;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.data.property.block.MatterProperty;
+import org.spongepowered.api.data.property.block.PassableProperty;
+import org.spongepowered.api.world.Chunk;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.Extent;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Checks whether a random column of a world has somewhere safe to stand, without holding up the main thread.
+ *
+ * <p>The chunk is loaded (or generated) asynchronously. Once it is loaded, the column is copied into immutable block
+ * and biome volumes on the main thread, which is cheap, and the copies are checked off the main thread.</p>
+ */
+public class RTPLocationFinder {
+
+    private static final Set<BlockType> prohibitedTypes = ImmutableSet.of(
+            BlockTypes.WATER,
+            BlockTypes.LAVA,
+            BlockTypes.FLOWING_WATER,
+            BlockTypes.FLOWING_LAVA
+    );
+
+    private final World world;
+    private final Set<String> prohibitedBiomes;
+    private final int minY;
+    private final int maxY;
+    private final boolean onSurface;
+    private final Executor syncExecutor;
+    private final Executor asyncExecutor;
+
+    /**
+     * Creates a finder for a world.
+     *
+     * @param world The {@link World} to search.
+     * @param prohibitedBiomes The IDs of the biomes that players must not be sent to.
+     * @param minY The lowest Y co-ordinate to stand at.
+     * @param maxY The highest Y co-ordinate to stand at.
+     * @param onSurface Whether players must be able to see the sky, in worlds that have one.
+     * @param syncExecutor Runs tasks on the main thread.
+     * @param asyncExecutor Runs tasks off the main thread.
+     */
+    public RTPLocationFinder(World world, Set<String> prohibitedBiomes, int minY, int maxY, boolean onSurface, Executor syncExecutor,
+            Executor asyncExecutor) {
+        this.syncExecutor = syncExecutor;
+        this.asyncExecutor = asyncExecutor;
+        this.world = world;
+        this.prohibitedBiomes = ImmutableSet.copyOf(prohibitedBiomes);
+        this.minY = Math.max(1, minY);
+        this.maxY = Math.min(world.getBlockMax().getY() - 1, maxY);
+        this.onSurface = onSurface && world.getDimension().hasSky();
+    }
+
+    /**
+     * Looks for a safe place to stand in a column. The future does not complete on the main thread.
+     *
+     * @param x The X co-ordinate of the column.
+     * @param z The Z co-ordinate of the column.
+     * @return The position of the block to stand in, if one was found.
+     */
+    public CompletableFuture<Optional<Vector3i>> find(int x, int z) {
+        return this.world.loadChunkAsync(new Vector3i(x >> 4, 0, z >> 4), true)
+                .thenApplyAsync(chunk -> chunk.map(c -> snapshot(c, x, z)), this.syncExecutor)
+                .thenApplyAsync(column -> column.flatMap(c -> check(c, x, z)), this.asyncExecutor);
+    }
+
+    // Main thread.
+    private Column snapshot(Chunk chunk, int x, int z) {
+        Extent view = chunk.getExtentView(new Vector3i(x, 0, z), new Vector3i(x, chunk.getBlockMax().getY(), z));
+        return new Column(view.getImmutableBlockCopy(), view.getImmutableBiomeCopy());
+    }
+
+    // Off the main thread.
+    private Optional<Vector3i> check(Column column, int x, int z) {
+        if (this.prohibitedBiomes.contains(column.biomes.getBiome(x, 0, z).getId()) || this.minY > this.maxY) {
+            return Optional.empty();
+        }
+
+        if (this.onSurface) {
+            // The first block above the highest block that is not air.
+            int y = column.blocks.getBlockMax().getY();
+            while (y >= 0 && column.blocks.getBlockType(x, y, z) == BlockTypes.AIR) {
+                y--;
+            }
+
+            y++;
+            if (y < this.minY || y > this.maxY || !isSafe(column.blocks, x, y, z)) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new Vector3i(x, y, z));
+        }
+
+        // Start somewhere random, and work down.
+        for (int y = ThreadLocalRandom.current().nextInt(this.minY, this.maxY + 1); y >= this.minY; y--) {
+            if (isSafe(column.blocks, x, y, z)) {
+                return Optional.of(new Vector3i(x, y, z));
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    // Somewhere to stand at y, with room for a player's head, that is not in or on water or lava.
+    private static boolean isSafe(ImmutableBlockVolume blocks, int x, int y, int z) {
+        if (y < 2 || y + 1 > blocks.getBlockMax().getY()) {
+            return false;
+        }
+
+        BlockState floor = blocks.getBlock(x, y - 1, z);
+        return isPassable(blocks.getBlock(x, y, z))
+                && isPassable(blocks.getBlock(x, y + 1, z))
+                && !prohibitedTypes.contains(floor.getType())
+                && !prohibitedTypes.contains(blocks.getBlockType(x, y - 2, z))
+                && floor.getProperty(MatterProperty.class).map(p -> p.getValue() == MatterProperty.Matter.SOLID).orElse(false);
+    }
+
+    private static boolean isPassable(BlockState state) {
+        return !prohibitedTypes.contains(state.getType())
+                && state.getProperty(PassableProperty.class).map(p -> Boolean.TRUE.equals(p.getValue())).orElse(false);
+    }
+
+    private static final class Column {
+
+        private final ImmutableBlockVolume blocks;
+        private final ImmutableBiomeVolume biomes;
+
+        private Column(ImmutableBlockVolume blocks, ImmutableBiomeVolume biomes) {
+            this.blocks = blocks;
+            this.biomes = biomes;
+        }
+    }
+}
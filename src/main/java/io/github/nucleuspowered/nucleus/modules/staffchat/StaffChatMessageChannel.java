@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.modules.staffchat;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.chat.NucleusChatChannel;
 import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
@@ -13,6 +14,7 @@ import io.github.nucleuspowered.nucleus.modules.staffchat.config.StaffChatConfig
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.source.ProxySource;
+import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.SubjectCollection;
 import org.spongepowered.api.service.permission.SubjectData;
@@ -27,9 +29,11 @@ import org.spongepowered.api.util.annotation.NonnullByDefault;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -50,11 +54,17 @@ public class StaffChatMessageChannel implements NucleusChatChannel.StaffChat {
     private NucleusTextTemplateImpl template;
     private TextColor colour;
 
+    // The online players that can see staff chat. There is no event for permission changes, so this is also refreshed
+    // every so often.
+    private final Map<UUID, Player> members = new ConcurrentHashMap<>();
+    private volatile long refreshIntervalMillis = 30000;
+    private volatile long nextRefresh = 0;
+
     StaffChatMessageChannel() {
         this.plugin = Nucleus.getNucleus();
+        this.basePerm = plugin.getPermissionRegistry().getPermissionsForNucleusCommand(StaffChatCommand.class).getBase();
         plugin.registerReloadable(this::onReload);
         this.onReload();
-        this.basePerm = plugin.getPermissionRegistry().getPermissionsForNucleusCommand(StaffChatCommand.class).getBase();
         INSTANCE = this;
     }
 
@@ -78,11 +88,51 @@ public class StaffChatMessageChannel implements NucleusChatChannel.StaffChat {
     @Override
     @Nonnull
     public Collection<MessageReceiver> getMembers() {
-        List<MessageReceiver> c = Sponge.getServer().getOnlinePlayers().stream().filter(x -> x.hasPermission(basePerm)).collect(Collectors.toList());
+        List<MessageReceiver> c = Lists.newArrayListWithCapacity(this.members.size() + 1);
+        this.members.values().stream().filter(Player::isOnline).forEach(c::add);
         c.add(Sponge.getServer().getConsole());
         return c;
     }
 
+    /**
+     * Adds the player to the channel if they have permission to see it.
+     *
+     * @param player The {@link Player}.
+     */
+    public void updateMember(Player player) {
+        if (player.isOnline() && player.hasPermission(this.basePerm)) {
+            this.members.put(player.getUniqueId(), player);
+        } else {
+            this.members.remove(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Removes the player from the channel.
+     *
+     * @param player The {@link Player}.
+     */
+    public void removeMember(Player player) {
+        this.members.remove(player.getUniqueId());
+    }
+
+    /**
+     * Checks the permissions of every online player, if it is time to do so.
+     */
+    public void onTick() {
+        long now = System.currentTimeMillis();
+        if (now >= this.nextRefresh) {
+            this.nextRefresh = now + this.refreshIntervalMillis;
+            refreshMembers();
+        }
+    }
+
+    private void refreshMembers() {
+        Collection<Player> online = Sponge.getServer().getOnlinePlayers();
+        online.forEach(this::updateMember);
+        this.members.values().removeIf(x -> !x.isOnline());
+    }
+
     @Override
     public boolean formatMessages() {
         return this.formatting;
@@ -94,7 +144,11 @@ public class StaffChatMessageChannel implements NucleusChatChannel.StaffChat {
                     this.formatting = x.getNodeOrDefault().isIncludeStandardChatFormatting();
                     this.template = x.getNodeOrDefault().getMessageTemplate();
                     this.colour = x.getNodeOrDefault().getColour();
+                    this.refreshIntervalMillis = x.getNodeOrDefault().getMemberRefreshInterval().toMillis();
                 });
+
+        // Permissions may have been changed as part of the reload.
+        this.nextRefresh = 0;
     }
 
     @NonnullByDefault
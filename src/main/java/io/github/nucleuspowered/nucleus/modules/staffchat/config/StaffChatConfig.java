@@ -11,6 +11,8 @@ import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 import org.spongepowered.api.text.format.TextColor;
 
+import java.time.Duration;
+
 @ConfigSerializable
 public class StaffChatConfig {
 
@@ -24,6 +26,9 @@ public class StaffChatConfig {
     @Setting(value = "message-colour", comment = "config.staffchat.colour")
     private String messageColour = "b";
 
+    @Setting(value = "member-refresh-interval-seconds", comment = "config.staffchat.memberrefresh")
+    private int memberRefreshInterval = 30;
+
     public NucleusTextTemplateImpl getMessageTemplate() {
         return messageTemplate;
     }
@@ -43,4 +48,8 @@ public class StaffChatConfig {
     public boolean isIncludeStandardChatFormatting() {
         return includeStandardChatFormatting;
     }
+
+    public Duration getMemberRefreshInterval() {
+        return Duration.ofSeconds(Math.max(1, memberRefreshInterval));
+    }
 }
@@ -0,0 +1,26 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.staffchat.listeners;
+
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.modules.staffchat.StaffChatMessageChannel;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+public class StaffChatListener extends ListenerBase {
+
+    @Listener(order = Order.LATE)
+    public void onJoin(ClientConnectionEvent.Join event, @Root Player player) {
+        StaffChatMessageChannel.getInstance().updateMember(player);
+    }
+
+    @Listener
+    public void onQuit(ClientConnectionEvent.Disconnect event, @Root Player player) {
+        StaffChatMessageChannel.getInstance().removeMember(player);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.staffchat.runnables;
+
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.modules.staffchat.StaffChatMessageChannel;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@NonnullByDefault
+public class StaffChatMembersTask extends TaskBase {
+
+    @Override
+    public void accept(Task task) {
+        StaffChatMessageChannel.getInstance().onTick();
+    }
+
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(1, ChronoUnit.SECONDS);
+    }
+}
@@ -86,7 +86,7 @@ public class TeleportHereCommand extends AbstractCommand<Player> implements Relo
             ModularUserService mus = plugin.getUserDataManager().get(target)
                     .orElseThrow(() -> ReturnMessageException.fromKey("command.tphere.couldnotset", target.getName()));
             mus.get(CoreUserDataModule.class).sendToLocationOnLogin(src.getLocation());
-            mus.save();
+            plugin.getUserDataManager().queueSave(mus.getUniqueId());
 
             src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.tphere.offlinesuccess", target.getName()));
         }
@@ -11,7 +11,7 @@ import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 public class TeleportUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("tptoggle")
-    private boolean isTeleportToggled = true;
+    boolean isTeleportToggled = true;
 
     public boolean isTeleportToggled() {
         return isTeleportToggled;
@@ -19,5 +19,6 @@ public class TeleportUserDataModule extends DataModule<ModularUserService> {
 
     public void setTeleportToggled(boolean teleportToggled) {
         isTeleportToggled = teleportToggled;
+        markDirty();
     }
 }
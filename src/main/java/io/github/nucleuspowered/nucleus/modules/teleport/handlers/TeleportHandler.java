@@ -16,7 +16,6 @@ import io.github.nucleuspowered.nucleus.modules.jail.datamodules.JailUserDataMod
 import io.github.nucleuspowered.nucleus.modules.teleport.config.TeleportConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.teleport.datamodules.TeleportUserDataModule;
 import io.github.nucleuspowered.nucleus.util.CauseStackHelper;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
@@ -28,12 +27,12 @@ import org.spongepowered.api.text.format.TextStyles;
 import uk.co.drnaylor.quickstart.exceptions.IncorrectAdapterTypeException;
 import uk.co.drnaylor.quickstart.exceptions.NoModuleException;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -317,8 +316,7 @@ public class TeleportHandler {
 
             if (warmupTime > 0) {
                 from.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("teleport.warmup", String.valueOf(warmupTime)));
-                plugin.getWarmupManager().addWarmup(from.getUniqueId(), Sponge.getScheduler().createTaskBuilder().delay(warmupTime, TimeUnit.SECONDS)
-                        .execute(tt).name("NucleusPlugin - Teleport Waiter").submit(plugin));
+                plugin.getWarmupManager().addWarmup(from.getUniqueId(), tt, Duration.ofSeconds(warmupTime), false);
             } else {
                 tt.run();
             }
@@ -6,11 +6,13 @@ package io.github.nucleuspowered.nucleus.modules.vanish;
 
 import com.google.common.collect.ImmutableMap;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.internal.annotations.RegisterService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.internal.text.Tokens;
 import io.github.nucleuspowered.nucleus.modules.jail.handlers.JailHandler;
 import io.github.nucleuspowered.nucleus.modules.vanish.config.VanishConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.vanish.datamodules.VanishUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.vanish.service.VanishService;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
@@ -30,6 +32,10 @@ public class VanishModule extends ConfigurableModule<VanishConfigAdapter> {
         return new VanishConfigAdapter();
     }
 
+    @Override protected void performEnableTasks() throws Exception {
+        plugin.getUserDataManager().getPlayerStates().registerSeeder(PlayerStateTable.State.VANISHED, VanishUserDataModule.class, VanishUserDataModule::isVanished);
+    }
+
     @Override protected Map<String, Tokens.Translator> tokensToRegister() {
         return ImmutableMap.<String, Tokens.Translator>builder()
                 .put("vanished", new Tokens.TrueFalseVariableTranslator() {
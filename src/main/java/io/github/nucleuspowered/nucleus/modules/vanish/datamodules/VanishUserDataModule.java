@@ -4,14 +4,19 @@
  */
 package io.github.nucleuspowered.nucleus.modules.vanish.datamodules;
 
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 
-public class VanishUserDataModule extends DataModule<ModularUserService> {
+public class VanishUserDataModule extends DataModule.ReferenceService<ModularUserService> {
 
     @DataKey("vanish")
-    private boolean vanish = false;
+    boolean vanish = false;
+
+    public VanishUserDataModule(ModularUserService modularDataService) {
+        super(modularDataService);
+    }
 
     public boolean isVanished() {
         return vanish;
@@ -19,5 +24,7 @@ public class VanishUserDataModule extends DataModule<ModularUserService> {
 
     public void setVanished(boolean vanished) {
         this.vanish = vanished;
+        markDirty();
+        getService().setPlayerState(PlayerStateTable.State.VANISHED, vanished);
     }
 }
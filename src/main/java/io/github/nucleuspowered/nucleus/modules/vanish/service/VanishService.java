@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.vanish.service;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.PlayerStateTable;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.modules.vanish.commands.VanishCommand;
 import io.github.nucleuspowered.nucleus.modules.vanish.config.VanishConfigAdapter;
@@ -36,7 +37,7 @@ public class VanishService implements Reloadable {
     }
 
     public boolean isVanished(Player player) {
-        return Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(VanishUserDataModule.class).isVanished();
+        return Nucleus.getNucleus().getUserDataManager().getPlayerStates().is(player.getUniqueId(), PlayerStateTable.State.VANISHED);
     }
 
     public void vanishPlayer(Player player) {
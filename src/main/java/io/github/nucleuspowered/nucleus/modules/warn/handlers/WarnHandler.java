@@ -161,6 +161,8 @@ public class WarnHandler implements NucleusWarningService, Reloadable {
                 removeWarning(user, warning);
             }
         }
+
+        userService.get().get(WarnUserDataModule.class).markDirty();
         return true;
     }
 
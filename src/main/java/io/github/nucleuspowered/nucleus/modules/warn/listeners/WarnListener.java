@@ -13,6 +13,7 @@ import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformati
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.modules.warn.config.WarnConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.warn.data.WarnData;
+import io.github.nucleuspowered.nucleus.modules.warn.datamodules.WarnUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.warn.handlers.WarnHandler;
 import io.github.nucleuspowered.nucleus.util.PermissionMessageChannel;
 import org.spongepowered.api.Sponge;
@@ -63,6 +64,9 @@ public class WarnListener extends ListenerBase implements Reloadable {
                     }
                 }
 
+                // The warnings were updated in place.
+                plugin.getUserDataManager().get(player).ifPresent(x -> x.get(WarnUserDataModule.class).markDirty());
+
                 // Now, let's check again
                 if (this.isShowOnLogin) {
                     List<WarnData> lwd = warnings.stream().filter(x -> !x.isExpired()).collect(Collectors.toList());
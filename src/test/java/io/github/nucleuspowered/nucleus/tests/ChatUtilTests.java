@@ -4,49 +4,26 @@
  */
 package io.github.nucleuspowered.nucleus.tests;
 
-import com.google.inject.Guice;
-import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.internal.text.LinkLexer;
 import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
-import io.github.nucleuspowered.nucleus.tests.util.TestModule;
 import org.junit.Assert;
-import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
-import java.lang.reflect.Field;
 import java.util.Arrays;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * Tests elements of the {@link TextParsingUtils}
+ * Tests elements of the {@link TextParsingUtils}, through the {@link LinkLexer} it uses to find URLs in chat.
  */
 public class ChatUtilTests extends TestBase {
 
-    private static Pattern patternToTest;
-
-    @BeforeClass
-    public static void setup() throws Exception {
-        TestBase.testSetup();
-
-        NucleusPlugin plugin = Guice.createInjector(new TestModule()).getInstance(NucleusPlugin.class);
-
-        Field parserToTest = TextParsingUtils.class.getDeclaredField("urlParser");
-        parserToTest.setAccessible(true);
-        patternToTest = (Pattern)parserToTest.get(new TextParsingUtils(plugin));
-    }
-
     /**
      * Tests that the specified permissions are in the permission list.
      */
     @SuppressWarnings("CanBeFinal")
     @RunWith(Parameterized.class)
     public static class URLtests {
-        @BeforeClass
-        public static void setup() throws Exception {
-            ChatUtilTests.setup();
-        }
 
         @Parameterized.Parameters(name = "{index}: Message {0}, expecting {1}")
         public static Iterable<Object[]> data() {
@@ -78,22 +55,17 @@ public class ChatUtilTests extends TestBase {
         public String codes;
 
         @Test
-        public void testRegexIsValid() throws IllegalAccessException, InstantiationException {
-            Matcher m = patternToTest.matcher(message);
+        public void testUrlIsFound() {
+            LinkLexer.Link link = LinkLexer.next(message, 0, false);
 
             // Do we match?
-            boolean actual = m.find();
-            String r = "";
-            if (actual) {
-                r = m.group();
-            }
-
-            Assert.assertEquals(r, result, actual);
+            Assert.assertEquals(message, result, link != null);
 
             // More tests for those that do match
             if (result) {
-                Assert.assertEquals(url, m.group("url"));
-                Assert.assertEquals(codes, m.group("colour"));
+                Assert.assertEquals(LinkLexer.Type.URL, link.type);
+                Assert.assertEquals(url, link.target);
+                Assert.assertEquals(codes, link.colour);
             }
         }
     }
@@ -0,0 +1,69 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.internal.text.FormattingCodeFilter;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.mockito.Mockito;
+import org.spongepowered.api.service.permission.Subject;
+
+import java.util.Arrays;
+
+/**
+ * Tests the {@link FormattingCodeFilter} against a subject that may only use red and bold.
+ */
+@RunWith(Parameterized.class)
+public class FormattingCodeFilterTests {
+
+    @Parameterized.Parameters(name = "{index}: Message {0}, expecting {1}")
+    public static Iterable<Object[]> data() {
+        return Arrays.asList(new Object[][] {
+                {"hello", "hello", (char) 0},
+                {"&chello", "&chello", (char) 0},
+                {"&Chello &lthere", "&Chello &lthere", (char) 0},
+                {"&ahello", "hello", 'a'},
+                {"&&&ahello", "hello", 'a'},
+                {"&c&ahel&Alo", "&chello", 'a'},
+                {"&khello &cthere", "hello &cthere", 'k'},
+                {"hello &", "hello &", (char) 0},
+                {"hello & goodbye &z", "hello & goodbye &z", (char) 0}
+        });
+    }
+
+    @Parameterized.Parameter()
+    public String message;
+
+    @Parameterized.Parameter(1)
+    public String expected;
+
+    @Parameterized.Parameter(2)
+    public char disallowed;
+
+    private FormattingCodeFilter getFilter() {
+        return new FormattingCodeFilter(c -> new String[] { "test." + c });
+    }
+
+    private Subject getSubject() {
+        Subject subject = Mockito.mock(Subject.class);
+        Mockito.when(subject.getIdentifier()).thenReturn("test");
+        Mockito.when(subject.hasPermission(Mockito.anyString())).thenReturn(false);
+        Mockito.when(subject.hasPermission("test.c")).thenReturn(true);
+        Mockito.when(subject.hasPermission("test.l")).thenReturn(true);
+        return subject;
+    }
+
+    @Test
+    public void testStrip() {
+        Assert.assertEquals(this.expected, getFilter().strip(getSubject(), this.message));
+    }
+
+    @Test
+    public void testFindDisallowed() {
+        Assert.assertEquals(this.disallowed, getFilter().findDisallowed(getSubject(), this.message));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.internal.text.LinkLexer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks that the {@link LinkLexer} finds the same links as the patterns it replaced, for messages that are randomly
+ * built from fragments of URLs, links and formatting codes.
+ */
+public class LinkLexerTests {
+
+    private static final String[] fragments = {
+            " ", "  ", "\t", "\n", "&r", "&R", "&c", "&k", "&z", "&", "http://", "https://", "HTTP://", "www", "a", "b-", "-", ".",
+            "..", "com", "x", "1", "[", "]", "(", ")", "/", "{h}", "{s}", "{", "}", "{1}", ":", "\u2028", "\u00e9"
+    };
+
+    // The patterns that TextParsingUtils used before the lexer, for chat messages and for templates.
+    private static final Pattern urlParser =
+            Pattern.compile("(?<first>(^|\\s))(?<reset>&r)?(?<colour>(&[0-9a-flmnrok])+)?"
+                            + "(?<options>\\{[a-z]+?})?(?<url>(http(s)?://)?([A-Za-z0-9-]+\\.)+[A-Za-z0-9]{2,}\\S*)",
+                    Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern enhancedUrlParser =
+            Pattern.compile("(?<first>(^|\\s))(?<reset>&r)?(?<colour>(&[0-9a-flmnrok])+)?"
+                + "((?<options>\\{[a-z]+?})?(?<url>(http(s)?://)?([A-Za-z0-9]+\\.)+[A-Za-z0-9-]{2,}\\S*)|"
+                + "(?<specialUrl>(\\[(?<msg>.+?)](?<optionssurl>\\{[a-z]+})?\\((?<sUrl>(http(s)?://)?([A-Za-z0-9-]+\\.)+[A-Za-z0-9]{2,}[^\\s)]*)\\)))|"
+                + "(?<specialCmd>(\\[(?<sMsg>.+?)](?<optionsscmd>\\{[a-z]+})?\\((?<sCmd>/.+?)\\))))",
+                Pattern.CASE_INSENSITIVE);
+
+    @Test
+    public void testKnownMessages() {
+        String[] messages = {
+                "hello, please visit &k&chttp://nucleuspowered.org/docs &otoday",
+                "&rhttp://nucleuspowered.org and [the docs]{h}(https://nucleuspowered.org/docs)",
+                "[click] here](/warp {{subject}}) or [there](/spawn)",
+                "[a](/b)c.com d.com",
+                "test:nucleuspowered.org"
+        };
+
+        for (String message : messages) {
+            Assert.assertEquals(message, fromPattern(urlParser, message, false), fromLexer(message, false));
+            Assert.assertEquals(message, fromPattern(enhancedUrlParser, message, true), fromLexer(message, true));
+        }
+    }
+
+    @Test
+    public void testRandomChatMessages() {
+        check(1L, false);
+    }
+
+    @Test
+    public void testRandomTemplates() {
+        check(2L, true);
+    }
+
+    private void check(long seed, boolean withLinks) {
+        Random random = new Random(seed);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int j = 0; j < length; j++) {
+                sb.append(fragments[random.nextInt(fragments.length)]);
+            }
+
+            String message = sb.toString();
+            Assert.assertEquals(message, fromPattern(withLinks ? enhancedUrlParser : urlParser, message, withLinks),
+                    fromLexer(message, withLinks));
+        }
+    }
+
+    private static String fromPattern(Pattern pattern, String message, boolean withLinks) {
+        StringBuilder sb = new StringBuilder();
+        Matcher m = pattern.matcher(message);
+        while (m.find()) {
+            if (!withLinks || m.group("url") != null) {
+                append(sb, LinkLexer.Type.URL, m.start(), m.end(), m.group("first"), m.group("reset"), m.group("colour"),
+                        m.group("options"), m.group("url"), null);
+            } else if (m.group("specialUrl") != null) {
+                append(sb, LinkLexer.Type.SPECIAL_URL, m.start(), m.end(), m.group("first"), m.group("reset"), m.group("colour"),
+                        m.group("optionssurl"), m.group("sUrl"), m.group("msg"));
+            } else {
+                append(sb, LinkLexer.Type.COMMAND, m.start(), m.end(), m.group("first"), m.group("reset"), m.group("colour"),
+                        m.group("optionsscmd"), m.group("sCmd"), m.group("sMsg"));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static String fromLexer(String message, boolean withLinks) {
+        StringBuilder sb = new StringBuilder();
+        int from = 0;
+        LinkLexer.Link link;
+        while ((link = LinkLexer.next(message, from, withLinks)) != null) {
+            append(sb, link.type, link.start, link.end, link.whitespace, link.reset, link.colour, link.options, link.target, link.message);
+            from = link.end;
+        }
+
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, LinkLexer.Type type, int start, int end, String whitespace, String reset,
+            String colour, String options, String target, String message) {
+        sb.append(type).append('|').append(start).append('|').append(end).append('|').append(whitespace).append('|').append(reset)
+                .append('|').append(colour).append('|').append(options).append('|').append(target).append('|').append(message)
+                .append('\n');
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
+import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.modules.nickname.datamodules.NicknameUserDataModule;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.serializer.TextSerializer;
+import org.spongepowered.api.text.serializer.TextSerializers;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+
+/**
+ * Checks that nicknames are read from and written to the <code>nickname-text</code> key as JSON, as they always have been.
+ */
+public class NicknameUserDataModuleTests extends TestBase {
+
+    private static final String JSON = "{\"text\":\"Nick\",\"color\":\"red\"}";
+    private static final Text NICKNAME = Text.of("Nick");
+
+    @BeforeClass
+    public static void setupJson() throws Exception {
+        Field field = TextSerializers.class.getField("JSON");
+        field.setAccessible(true);
+
+        Field modifiersField = Field.class.getDeclaredField("modifiers");
+        modifiersField.setAccessible(true);
+        modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
+
+        TextSerializer json = Mockito.mock(TextSerializer.class);
+        Mockito.when(json.deserialize(JSON)).thenReturn(NICKNAME);
+        Mockito.when(json.serialize(NICKNAME)).thenReturn(JSON);
+        field.set(null, json);
+    }
+
+    @Test
+    public void testStoredJsonNicknameIsLoaded() throws Exception {
+        ConfigurationNode node = SimpleConfigurationNode.root();
+        node.getNode("nickname-text").setValue(JSON);
+
+        NicknameUserDataModule module = load(node);
+        Assert.assertEquals(Optional.of(NICKNAME), module.getNicknameAsText());
+    }
+
+    @Test
+    public void testLoadedNicknameIsSavedAsJson() throws Exception {
+        ConfigurationNode node = SimpleConfigurationNode.root();
+        node.getNode("nickname-text").setValue(JSON);
+
+        NicknameUserDataModule module = load(node);
+        ConfigurationNode saved = SimpleConfigurationNode.root();
+        Method saveTo = DataModule.class.getDeclaredMethod("saveTo", ConfigurationNode.class);
+        saveTo.setAccessible(true);
+        saveTo.invoke(module, saved);
+
+        Assert.assertEquals(JSON, saved.getNode("nickname-text").getString());
+    }
+
+    private static NicknameUserDataModule load(ConfigurationNode node) throws Exception {
+        NicknameUserDataModule module = new NicknameUserDataModule(Mockito.mock(ModularUserService.class));
+        Method loadFrom = DataModule.class.getDeclaredMethod("loadFrom", ConfigurationNode.class);
+        loadFrom.setAccessible(true);
+        loadFrom.invoke(module, node);
+        return module;
+    }
+}
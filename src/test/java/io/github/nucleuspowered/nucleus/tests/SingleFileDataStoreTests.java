@@ -0,0 +1,169 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.SingleFileDataStore;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Tests the on-disk format of the {@link SingleFileDataStore}, including how it recovers from a damaged file.
+ */
+public class SingleFileDataStoreTests {
+
+    private static final UUID FIRST = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+
+    @Before
+    public void setup() throws IOException {
+        this.file = this.folder.getRoot().toPath().resolve("data").resolve("store.dat");
+    }
+
+    private SingleFileDataStore open() throws IOException {
+        return new SingleFileDataStore(this.file, Mockito.mock(Logger.class));
+    }
+
+    @Test
+    public void testValuesAreReadBackAfterReopening() throws IOException {
+        try (SingleFileDataStore store = open()) {
+            store.put(FIRST, "one");
+            store.put(SECOND, "two");
+            store.put(FIRST, "three");
+        }
+
+        try (SingleFileDataStore store = open()) {
+            Assert.assertEquals(ImmutableSet.of(FIRST, SECOND), store.keys());
+            Assert.assertEquals(Optional.of("three"), store.get(FIRST));
+            Assert.assertEquals(Optional.of("two"), store.get(SECOND));
+        }
+    }
+
+    @Test
+    public void testTruncatedRecordAtTheEndIsDiscarded() throws IOException {
+        try (SingleFileDataStore store = open()) {
+            store.put(FIRST, "one");
+            store.put(SECOND, "two");
+        }
+
+        long size = Files.size(this.file);
+        try (RandomAccessFile raf = new RandomAccessFile(this.file.toFile(), "rw")) {
+            raf.setLength(size - 3);
+        }
+
+        try (SingleFileDataStore store = open()) {
+            Assert.assertEquals(Optional.of("one"), store.get(FIRST));
+            Assert.assertFalse(store.contains(SECOND));
+
+            // The partial record is removed, so new records are readable after it.
+            store.put(SECOND, "four");
+        }
+
+        try (SingleFileDataStore store = open()) {
+            Assert.assertEquals(Optional.of("one"), store.get(FIRST));
+            Assert.assertEquals(Optional.of("four"), store.get(SECOND));
+        }
+    }
+
+    @Test
+    public void testRecordWithABadChecksumIsDiscarded() throws IOException {
+        try (SingleFileDataStore store = open()) {
+            store.put(FIRST, "one");
+            store.put(SECOND, "two");
+        }
+
+        // The last byte of the payload of the last record, just before its checksum.
+        long size = Files.size(this.file);
+        try (RandomAccessFile raf = new RandomAccessFile(this.file.toFile(), "rw")) {
+            raf.seek(size - 5);
+            raf.write('x');
+        }
+
+        try (SingleFileDataStore store = open()) {
+            Assert.assertEquals(Optional.of("one"), store.get(FIRST));
+            Assert.assertFalse(store.contains(SECOND));
+        }
+    }
+
+    @Test
+    public void testDeletedKeysStayDeletedAfterReopening() throws IOException {
+        try (SingleFileDataStore store = open()) {
+            store.put(FIRST, "one");
+            store.put(SECOND, "two");
+            store.delete(FIRST);
+            Assert.assertFalse(store.contains(FIRST));
+            Assert.assertEquals(Optional.empty(), store.get(FIRST));
+        }
+
+        try (SingleFileDataStore store = open()) {
+            Assert.assertEquals(ImmutableSet.of(SECOND), store.keys());
+            Assert.assertEquals(Optional.empty(), store.get(FIRST));
+
+            // A deleted key can be written again.
+            store.put(FIRST, "three");
+        }
+
+        try (SingleFileDataStore store = open()) {
+            Assert.assertEquals(Optional.of("three"), store.get(FIRST));
+        }
+    }
+
+    @Test
+    public void testPutIfAbsentDoesNotOverwrite() throws IOException {
+        try (SingleFileDataStore store = open()) {
+            Assert.assertTrue(store.putIfAbsent(FIRST, "one"));
+            Assert.assertFalse(store.putIfAbsent(FIRST, "two"));
+            Assert.assertEquals(Optional.of("one"), store.get(FIRST));
+
+            store.delete(FIRST);
+            Assert.assertTrue(store.putIfAbsent(FIRST, "three"));
+            Assert.assertEquals(Optional.of("three"), store.get(FIRST));
+        }
+    }
+
+    @Test
+    public void testSupersededRecordsAreCompactedAway() throws IOException {
+        String value = Strings.repeat("a", 1024 * 1024);
+        try (SingleFileDataStore store = open()) {
+            store.put(SECOND, "two");
+            store.put(FIRST, "deleted");
+            store.delete(FIRST);
+            for (int i = 0; i < 4; i++) {
+                store.put(FIRST, value + i);
+            }
+
+            // Only the latest value of each key is left.
+            Assert.assertTrue(Files.size(this.file) < 2 * 1024 * 1024);
+            Assert.assertFalse(Files.exists(this.file.resolveSibling("store.dat.compact")));
+            Assert.assertEquals(Optional.of(value + 3), store.get(FIRST));
+            Assert.assertEquals(Optional.of("two"), store.get(SECOND));
+
+            // The store can still be written to.
+            store.put(SECOND, "three");
+        }
+
+        try (SingleFileDataStore store = open()) {
+            Assert.assertEquals(Optional.of(value + 3), store.get(FIRST));
+            Assert.assertEquals(Optional.of("three"), store.get(SECOND));
+        }
+    }
+}
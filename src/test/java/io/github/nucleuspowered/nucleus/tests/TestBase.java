@@ -24,6 +24,7 @@ import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.messages.ResourceMessageProvider;
 import io.github.nucleuspowered.nucleus.internal.qsml.NucleusConfigAdapter;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownService;
 import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.internal.teleport.NucleusTeleportHandler;
 import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
@@ -96,6 +97,7 @@ public abstract class TestBase {
 
         private final MessageProvider mp = new ResourceMessageProvider(ResourceMessageProvider.messagesBundle);
         private final PermissionRegistry permissionRegistry = new PermissionRegistry();
+        private final CooldownService cooldownService = new CooldownService();
 
         @Override
         public void addX(List<Text> messages, int spacing) {
@@ -157,6 +159,11 @@ public abstract class TestBase {
             return null;
         }
 
+        @Override
+        public CooldownService getCooldownService() {
+            return this.cooldownService;
+        }
+
         @Override public WarmupConfig getWarmupConfig() {
             return null;
         }